@@ -0,0 +1,182 @@
+package com.gameoflife.config;
+
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.dto.BoardRequest;
+import com.gameoflife.model.dto.BoardResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes board states as {@code application/octet-stream}: a
+ * 16-byte header followed by the state as a row-major bitset, the format
+ * {@link PackedGrid#toBitset()} produces (one bit per cell).
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "GOLB"
+ *      4     1  version, 1
+ *      5     1  flags, bit 0 set if a state follows
+ *      6     2  reserved, 0
+ *      8     4  width, big-endian
+ *     12     4  height, big-endian
+ *     16     n  bitset of ceil(width * height / 8) bytes
+ * </pre>
+ *
+ * <p>A request body creates a board from its state. A response body carries
+ * the state; the rest of the board is sent in {@code X-Board-*} headers.
+ * Boards stored in segment files have no state in responses.</p>
+ *
+ * <p>A request body declaring more than {@code maxCells} cells is rejected
+ * from its header, before the state is read.</p>
+ */
+public class BinaryBoardHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    static final int MAGIC = 0x474F4C42;
+    static final int VERSION = 1;
+    static final int FLAG_STATE = 1;
+    static final int HEADER_SIZE = 16;
+
+    private final long maxCells;
+
+    public BinaryBoardHttpMessageConverter(long maxCells) {
+        super(MediaType.APPLICATION_OCTET_STREAM);
+        this.maxCells = maxCells;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BoardRequest.class == clazz || BoardResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return BoardRequest.class == clazz && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return BoardResponse.class == clazz && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        BoardRequest request = new BoardRequest();
+        request.setPackedState(read(inputMessage.getBody(), inputMessage));
+        return request;
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        BoardResponse response = (BoardResponse) object;
+        HttpHeaders headers = outputMessage.getHeaders();
+        setHeader(headers, "X-Board-Id", response.getId());
+        headers.set("X-Board-Generation", Integer.toString(response.getGeneration()));
+        headers.set("X-Board-Final-State", Boolean.toString(response.isFinalState()));
+        headers.set("X-Board-Live-Cells", Integer.toString(response.getLiveCellCount()));
+        setHeader(headers, "X-Board-Parent-Id", response.getParentId());
+        setHeader(headers, "X-Board-Root-Id", response.getRootId());
+        setHeader(headers, "X-Board-Period", response.getPeriod());
+        setHeader(headers, "X-Board-Transient-Length", response.getTransientLength());
+        setHeader(headers, "X-Board-Engine", response.getEngine());
+        setHeader(headers, "X-Board-From-Cache", response.getFromCache());
+
+        write(outputMessage.getBody(), response.getWidth(), response.getHeight(), response.getPackedState());
+    }
+
+    @Override
+    protected Long getContentLength(Object object, MediaType contentType) {
+        BoardResponse response = (BoardResponse) object;
+        if (response.getPackedState() == null) {
+            return (long) HEADER_SIZE;
+        }
+        return HEADER_SIZE + ((long) response.getWidth() * response.getHeight() + 7) / 8;
+    }
+
+    /**
+     * Writes the header and, if there is one, the state.
+     *
+     * @param out Output stream
+     * @param width Number of columns
+     * @param height Number of rows
+     * @param state The state, or null
+     */
+    static void write(OutputStream out, int width, int height, PackedGrid state) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeByte(state != null ? FLAG_STATE : 0);
+        data.writeShort(0);
+        data.writeInt(width);
+        data.writeInt(height);
+        if (state != null) {
+            data.write(state.toBitset());
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a header followed by a state.
+     */
+    private PackedGrid read(InputStream in, HttpInputMessage inputMessage) {
+        try {
+            DataInputStream data = new DataInputStream(in);
+            if (data.readInt() != MAGIC) {
+                throw new HttpMessageNotReadableException("Not a board: wrong magic number", inputMessage);
+            }
+            int version = data.readUnsignedByte();
+            if (version != VERSION) {
+                throw new HttpMessageNotReadableException("Unsupported board format version " + version,
+                        inputMessage);
+            }
+            int flags = data.readUnsignedByte();
+            data.readShort();
+            int width = data.readInt();
+            int height = data.readInt();
+            if ((flags & FLAG_STATE) == 0) {
+                throw new HttpMessageNotReadableException("Board has no state", inputMessage);
+            }
+            if (width <= 0 || height <= 0) {
+                throw new HttpMessageNotReadableException("Invalid board dimensions " + width + "x" + height,
+                        inputMessage);
+            }
+
+            if ((long) width * height > maxCells) {
+                throw new HttpMessageNotReadableException("Board of " + width + "x" + height
+                        + " cells is larger than the limit of " + maxCells + " cells", inputMessage);
+            }
+            long length = ((long) width * height + 7) / 8;
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new HttpMessageNotReadableException("Board of " + width + "x" + height
+                        + " cells is too large", inputMessage);
+            }
+            // Buffered as it arrives, so a header claiming a huge board does not allocate it up front
+            byte[] bits = data.readNBytes((int) length);
+            if (bits.length < length) {
+                throw new HttpMessageNotReadableException("State of " + bits.length + " bytes is shorter than "
+                        + width + "x" + height + " cells", inputMessage);
+            }
+            return PackedGrid.fromBitset(bits, width, height);
+        } catch (EOFException e) {
+            throw new HttpMessageNotReadableException("Board header is truncated", e, inputMessage);
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Could not read board: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    private static void setHeader(HttpHeaders headers, String name, Object value) {
+        if (value != null) {
+            headers.set(name, value.toString());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.gameoflife.config;
+
+import com.gameoflife.service.BoardCache;
+import com.gameoflife.service.CacheStats;
+import com.gameoflife.service.HashLifeGameServiceImpl;
+import com.gameoflife.service.HashLifeGameServiceImpl.HashLifeStats;
+import com.gameoflife.service.TransitionCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+/**
+ * Publishes the metrics of the board cache, the transition cache and the
+ * HashLife node cache through Micrometer, so operators can watch hit ratios
+ * and memory use on the actuator metrics endpoint. Every meter reads a fresh
+ * snapshot of its cache when it is polled.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(BoardCache boardCache, TransitionCache transitionCache) {
+        return registry -> {
+            bindCache(registry, "boards", boardCache::getStats);
+            bindCache(registry, "transitions", transitionCache::getStats);
+        };
+    }
+
+    @Bean
+    public MeterBinder hashLifeMetrics(HashLifeGameServiceImpl hashLife) {
+        Supplier<HashLifeStats> stats = hashLife::getStats;
+        return registry -> {
+            Gauge.builder("game.hashlife.nodes", stats, s -> s.get().getNodeCount())
+                    .description("Quadtree nodes in the HashLife cache")
+                    .register(registry);
+            Gauge.builder("game.hashlife.max-nodes", stats, s -> s.get().getMaxNodes())
+                    .description("Nodes from which the HashLife cache is collected")
+                    .register(registry);
+            FunctionCounter.builder("game.hashlife.requests", stats, s -> s.get().getCacheHits())
+                    .tag("result", "hit")
+                    .description("HashLife results found in the node cache")
+                    .register(registry);
+            FunctionCounter.builder("game.hashlife.requests", stats, s -> s.get().getCacheMisses())
+                    .tag("result", "miss")
+                    .description("HashLife results that had to be computed")
+                    .register(registry);
+            FunctionCounter.builder("game.hashlife.collections", stats, s -> s.get().getCollections())
+                    .description("Collections of the HashLife node cache")
+                    .register(registry);
+            FunctionCounter.builder("game.hashlife.evictions", stats, s -> s.get().getEvictedNodes())
+                    .description("Nodes removed from the HashLife cache by collections")
+                    .register(registry);
+        };
+    }
+
+    private static void bindCache(MeterRegistry registry, String cache, Supplier<CacheStats> stats) {
+        Gauge.builder("game.cache.entries", stats, s -> s.get().getEntries())
+                .tag("cache", cache)
+                .description("Entries in the cache")
+                .register(registry);
+        Gauge.builder("game.cache.size", stats, s -> s.get().getWeight())
+                .tag("cache", cache)
+                .baseUnit("bytes")
+                .description("Memory used by the cached entries")
+                .register(registry);
+        Gauge.builder("game.cache.max-size", stats, s -> s.get().getMaxWeight())
+                .tag("cache", cache)
+                .baseUnit("bytes")
+                .description("Memory budget of the cache")
+                .register(registry);
+        FunctionCounter.builder("game.cache.requests", stats, s -> s.get().getHits())
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .description("Lookups that found an entry")
+                .register(registry);
+        FunctionCounter.builder("game.cache.requests", stats, s -> s.get().getMisses())
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .description("Lookups that found no entry")
+                .register(registry);
+        FunctionCounter.builder("game.cache.evictions", stats, s -> s.get().getEvictions())
+                .tag("cache", cache)
+                .description("Entries evicted to stay within the memory budget")
+                .register(registry);
+    }
+}
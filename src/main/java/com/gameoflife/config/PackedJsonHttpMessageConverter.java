@@ -0,0 +1,47 @@
+package com.gameoflife.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.dto.BoardResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * Writes JSON in which a board's state is a base64 bitset ({@code stateBits})
+ * instead of an array of booleans, for {@value #MEDIA_TYPE_VALUE}. A bitset
+ * takes one bit per cell before base64, against 5 to 6 bytes per cell as booleans.
+ *
+ * <p>The default JSON converter also accepts this media type (it handles
+ * every {@code application/*+json}), so this converter is registered ahead
+ * of it. It only writes when the media type was explicitly negotiated, never
+ * for a wildcard, and so never becomes the default representation.</p>
+ */
+public class PackedJsonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.gameoflife.packed+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public PackedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper.copy().addMixIn(BoardResponse.class, PackedStateMixin.class), MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return mediaType != null && mediaType.isConcrete() && super.canWrite(mediaType);
+    }
+
+    /**
+     * Swaps {@code state} for {@code stateBits} in serialized responses.
+     */
+    abstract static class PackedStateMixin {
+
+        @JsonIgnore
+        abstract PackedGrid getPackedState();
+
+        @JsonIgnore(false)
+        @JsonProperty("stateBits")
+        abstract String getStateBits();
+    }
+}
@@ -0,0 +1,91 @@
+package com.gameoflife.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Web MVC configuration.
+ * Registers the packed board representations. Plain JSON stays the default;
+ * the packed ones are only used when a client asks for them with {@code Accept}
+ * or sends them with {@code Content-Type}.
+ *
+ * <p>Generation streams run on their own pool of at most
+ * {@code game.stream.max-streams} threads, one per open stream; a stream
+ * beyond that is rejected rather than queued behind streams that may run
+ * for minutes. The pool is injected by its name, {@value #STREAM_EXECUTOR}.</p>
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    public static final String STREAM_EXECUTOR = "streamExecutor";
+
+    private final ObjectMapper objectMapper;
+    private final int maxStreams;
+    private final long maxCells;
+
+    @Autowired
+    public WebConfig(ObjectMapper objectMapper, @Value("${game.stream.max-streams:16}") int maxStreams,
+                     @Value("${game.max-cells:268435456}") long maxCells) {
+        this.objectMapper = objectMapper;
+        this.maxStreams = maxStreams;
+        this.maxCells = maxCells;
+    }
+
+    @Bean(STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor streamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("generation-stream-");
+        executor.setCorePoolSize(maxStreams);
+        executor.setMaxPoolSize(maxStreams);
+        executor.setQueueCapacity(0);
+        return executor;
+    }
+
+    /**
+     * Boot's executor for asynchronous MVC requests and {@code @Async} methods.
+     * Boot only defines it when no other Executor bean exists, and the stream
+     * pool and the live board scheduler are Executors, so it is defined here
+     * the way Boot would.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Ends open streams as soon as the application is shutting down, before
+     * the web server waits for requests in progress to complete. Clients
+     * reconnect and resume from the last generation they received.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void stopStreams() {
+        streamExecutor().shutdown();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        converters.add(json, new PackedJsonHttpMessageConverter(objectMapper));
+        converters.add(new BinaryBoardHttpMessageConverter(maxCells));
+    }
+}
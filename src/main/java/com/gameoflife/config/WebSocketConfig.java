@@ -0,0 +1,71 @@
+package com.gameoflife.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameoflife.controller.LiveBoardWebSocketHandler;
+import com.gameoflife.service.BoardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * WebSocket configuration.
+ * Registers the live board endpoint, {@code /boards/{id}/live}. The
+ * generations of all live boards are stepped on one scheduler of
+ * {@code game.live.threads} threads; sending them to viewers does not take
+ * a thread.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final BoardService boardService;
+    private final ObjectMapper objectMapper;
+    private final int threads;
+    private final double defaultRate;
+    private final double maxRate;
+    private final int maxBacklog;
+    private final long sendTimeoutMs;
+
+    @Autowired
+    public WebSocketConfig(BoardService boardService, ObjectMapper objectMapper,
+                           @Value("${game.live.threads:2}") int threads,
+                           @Value("${game.live.default-rate:10}") double defaultRate,
+                           @Value("${game.live.max-rate:1000}") double maxRate,
+                           @Value("${game.live.max-backlog:64}") int maxBacklog,
+                           @Value("${game.live.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.boardService = boardService;
+        this.objectMapper = objectMapper;
+        this.threads = threads;
+        this.defaultRate = defaultRate;
+        this.maxRate = maxRate;
+        this.maxBacklog = maxBacklog;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService liveBoardScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(threads,
+                new CustomizableThreadFactory("live-board-"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @Bean
+    public LiveBoardWebSocketHandler liveBoardHandler() {
+        return new LiveBoardWebSocketHandler(boardService, objectMapper, liveBoardScheduler(), defaultRate, maxRate,
+                maxBacklog, sendTimeoutMs);
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(liveBoardHandler(), "/boards/*/live");
+    }
+}
@@ -1,15 +1,29 @@
 package com.gameoflife.controller;
 
+import com.gameoflife.config.WebConfig;
+import com.gameoflife.exception.BoardTooLargeException;
 import com.gameoflife.model.dto.BoardRequest;
 import com.gameoflife.model.dto.BoardResponse;
+import com.gameoflife.model.pattern.PatternFormat;
+import com.gameoflife.model.pattern.PatternSource;
 import com.gameoflife.service.BoardService;
+import com.gameoflife.service.LiveSimulation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.io.Reader;
 
 /**
  * REST controller for Game of Life operations.
@@ -20,10 +34,18 @@ import javax.validation.constraints.Min;
 public class GameController {
 
     private final BoardService boardService;
+    private final TaskExecutor streamExecutor;
+    private final long streamTimeoutMs;
+    private final long maxCells;
 
     @Autowired
-    public GameController(BoardService boardService) {
+    public GameController(BoardService boardService, @Qualifier(WebConfig.STREAM_EXECUTOR) TaskExecutor streamExecutor,
+                          @Value("${game.stream.timeout-ms:600000}") long streamTimeoutMs,
+                          @Value("${game.max-cells:268435456}") long maxCells) {
         this.boardService = boardService;
+        this.streamExecutor = streamExecutor;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxCells = maxCells;
     }
 
     /**
@@ -34,6 +56,11 @@ public class GameController {
      */
     @PostMapping
     public ResponseEntity<BoardResponse> createBoard(@Valid @RequestBody BoardRequest boardRequest) {
+        // A bitset is only decoded by the service, so its declared size is checked here first
+        if ((long) boardRequest.getWidth() * boardRequest.getHeight() > maxCells) {
+            throw new BoardTooLargeException("Board of " + boardRequest.getWidth() + "x" + boardRequest.getHeight()
+                    + " cells is larger than the limit of " + maxCells + " cells");
+        }
         BoardResponse createdBoard = boardService.createBoard(boardRequest);
         return new ResponseEntity<>(createdBoard, HttpStatus.CREATED);
     }
@@ -54,11 +81,14 @@ public class GameController {
      * Computes and returns the next state of a board.
      * 
      * @param id The board ID
+     * @param engine Optional engine name; selected automatically if absent
      * @return The next board state
      */
     @GetMapping("/{id}/next")
-    public ResponseEntity<BoardResponse> getNextState(@PathVariable Long id) {
-        BoardResponse nextState = boardService.getNextState(id);
+    public ResponseEntity<BoardResponse> getNextState(
+            @PathVariable Long id,
+            @RequestParam(required = false) String engine) {
+        BoardResponse nextState = boardService.getNextState(id, engine);
         return ResponseEntity.ok(nextState);
     }
 
@@ -67,13 +97,15 @@ public class GameController {
      * 
      * @param id The board ID
      * @param iterations Number of iterations to compute
+     * @param engine Optional engine name; selected automatically if absent
      * @return The board state after the specified number of iterations
      */
     @GetMapping("/{id}/iterate/{iterations}")
     public ResponseEntity<BoardResponse> getStateAfterIterations(
             @PathVariable Long id,
-            @PathVariable @Min(1) int iterations) {
-        BoardResponse futureState = boardService.getStateAfterIterations(id, iterations);
+            @PathVariable @Min(1) int iterations,
+            @RequestParam(required = false) String engine) {
+        BoardResponse futureState = boardService.getStateAfterIterations(id, iterations, engine);
         return ResponseEntity.ok(futureState);
     }
 
@@ -81,11 +113,74 @@ public class GameController {
      * Computes the final state of a board (if it exists).
      * 
      * @param id The board ID
+     * @param engine Optional engine name; selected automatically if absent
      * @return The final board state
      */
     @GetMapping("/{id}/final")
-    public ResponseEntity<BoardResponse> getFinalState(@PathVariable Long id) {
-        BoardResponse finalState = boardService.getFinalState(id);
+    public ResponseEntity<BoardResponse> getFinalState(
+            @PathVariable Long id,
+            @RequestParam(required = false) String engine) {
+        BoardResponse finalState = boardService.getFinalState(id, engine);
         return ResponseEntity.ok(finalState);
     }
+
+    /**
+     * Streams the generations of a board as server-sent events, computed on
+     * the server as the client reads them and not saved. The stream ends once
+     * a final state is reached.
+     *
+     * @param id The board ID
+     * @param rate Optional number of generations per second; as fast as the client reads if absent
+     * @param generations Optional maximum number of generations to stream
+     * @param engine Optional engine name; selected automatically if absent
+     * @param lastEventId Generation a reconnecting client received last, sent by {@code EventSource}
+     * @return The event stream
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGenerations(
+            @PathVariable Long id,
+            @RequestParam(required = false) Double rate,
+            @RequestParam(required = false) Integer generations,
+            @RequestParam(required = false) String engine,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        LiveSimulation simulation = boardService.startLiveSimulation(id, engine);
+        GenerationStream stream = new GenerationStream(simulation, rate, generations, lastEventId, streamTimeoutMs);
+        streamExecutor.execute(stream);
+        return stream;
+    }
+
+    /**
+     * Creates a new board from a pattern file (RLE, plaintext or Life 1.06).
+     * The pattern is parsed as it is read, straight into the packed state;
+     * a pattern of more than {@code game.max-cells} cells is rejected.
+     *
+     * @param format Pattern format: {@code rle}, {@code cells} or {@code lif}
+     * @param body The pattern text
+     * @return The created board with its ID
+     */
+    @PostMapping("/import/{format}")
+    public ResponseEntity<BoardResponse> importPattern(@PathVariable String format, Reader body) throws IOException {
+        BoardRequest boardRequest = new BoardRequest();
+        boardRequest.setPackedState(PatternFormat.fromName(format).codec().read(body, maxCells));
+        BoardResponse createdBoard = boardService.createBoard(boardRequest);
+        return new ResponseEntity<>(createdBoard, HttpStatus.CREATED);
+    }
+
+    /**
+     * Exports the state of a board as a pattern file, written a row at a time.
+     *
+     * @param id The board ID
+     * @param format Pattern format: {@code rle}, {@code cells} or {@code lif}
+     * @param response Response the pattern is written to
+     */
+    @GetMapping("/{id}/export/{format}")
+    public void exportPattern(@PathVariable Long id, @PathVariable String format,
+                              HttpServletResponse response) throws IOException {
+        PatternFormat patternFormat = PatternFormat.fromName(format);
+        PatternSource source = boardService.getPatternSource(id);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"board-" + id + "." + patternFormat.getExtension() + "\"");
+        source.write(patternFormat, response.getWriter());
+    }
 }
@@ -0,0 +1,150 @@
+package com.gameoflife.controller;
+
+import com.gameoflife.model.dto.GenerationEvent;
+import com.gameoflife.service.LiveSimulation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the generations of a live simulation as server-sent events, one
+ * {@code generation} event per generation with the generation number as its
+ * id, followed by an {@code end} event once the simulation is finished.
+ * Runs on a thread of its own until the simulation is finished, the client
+ * disconnects, the stream times out or the thread is interrupted.
+ *
+ * <p>The simulation only advances once the previous event has been written
+ * and flushed. Writes block while the client is not reading, so a slow
+ * client slows the simulation down instead of events piling up in memory.
+ * With a rate, events are paced against a schedule; a stream that falls
+ * behind it does not burst to catch up.</p>
+ */
+class GenerationStream extends SseEmitter implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationStream.class);
+
+    private final LiveSimulation simulation;
+    private final long intervalNanos;
+    private final long lastGeneration;
+    private final long resumeAfter;
+    private final CountDownLatch responseReady = new CountDownLatch(1);
+
+    /**
+     * Held while an event is written and while the container ends the
+     * request, so that nothing is written to a response the container has
+     * completed and may already be reusing for another request.
+     */
+    private final Object lock = new Object();
+    private boolean closed;
+
+    /**
+     * @param simulation Simulation at the board's generation
+     * @param rate Generations per second, or null or at most 0 for as fast as the client reads
+     * @param generations Number of generations to stream after the board's, or null for no limit
+     * @param lastEventId Id of the last event a reconnecting client received, or null;
+     *                    generations up to it are computed but not sent
+     * @param timeoutMs Time after which the stream is closed
+     */
+    GenerationStream(LiveSimulation simulation, Double rate, Integer generations, Long lastEventId,
+                     long timeoutMs) {
+        super(timeoutMs);
+        this.simulation = simulation;
+        this.intervalNanos = rate != null && rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        this.lastGeneration = generations != null
+                ? (long) simulation.getGeneration() + Math.max(generations, 0) : Long.MAX_VALUE;
+        this.resumeAfter = lastEventId != null ? lastEventId : Long.MIN_VALUE;
+        onTimeout(this::close);
+        onError(e -> close());
+        onCompletion(this::close);
+    }
+
+    /**
+     * Called while the response is set up. Events are only sent from then
+     * on, instead of being queued by the emitter while the request is still
+     * being processed.
+     */
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        responseReady.countDown();
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (responseReady.await(getTimeout(), TimeUnit.MILLISECONDS)) {
+                sendEvents();
+                end();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected or the stream timed out; the container completes the response
+            log.debug("Stream of board {} closed at generation {}", simulation.getBoardId(),
+                    simulation.getGeneration());
+        } catch (InterruptedException e) {
+            end();
+        }
+    }
+
+    private void sendEvents() throws IOException, InterruptedException {
+        long nextEvent = System.nanoTime();
+        boolean running = true;
+        while (running) {
+            if (simulation.getGeneration() > resumeAfter) {
+                if (intervalNanos > 0) {
+                    long now = System.nanoTime();
+                    if (nextEvent - now > 0) {
+                        TimeUnit.NANOSECONDS.sleep(nextEvent - now);
+                    }
+                    nextEvent = Math.max(nextEvent, now) + intervalNanos;
+                }
+                send("generation", new GenerationEvent(simulation.getBoardId(), simulation.getGeneration(),
+                        simulation.getState(), simulation.isFinalState(), simulation.getPeriod(),
+                        simulation.getEngineName()));
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            running = simulation.getGeneration() < lastGeneration && simulation.step();
+        }
+
+        Map<String, Object> end = new LinkedHashMap<>();
+        end.put("generation", simulation.getGeneration());
+        end.put("finalState", simulation.isFinalState());
+        end.put("period", simulation.getPeriod());
+        send("end", end);
+    }
+
+    private void send(String name, Object data) throws IOException {
+        SseEventBuilder event = event().name(name).id(Integer.toString(simulation.getGeneration()))
+                .data(data, MediaType.APPLICATION_JSON);
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Stream of board " + simulation.getBoardId() + " is closed");
+            }
+            send(event);
+        }
+    }
+
+    private void end() {
+        synchronized (lock) {
+            if (!closed) {
+                closed = true;
+                complete();
+            }
+        }
+    }
+
+    private void close() {
+        synchronized (lock) {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.gameoflife.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.dto.LiveStatus;
+import com.gameoflife.service.LiveSimulation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A board simulated live for all of its viewers. Each generation is stepped
+ * and encoded once, and the same frame is queued for every viewer: a delta
+ * of the cells that changed, or a keyframe for viewers that just connected
+ * or fell behind. Pausing, the rate and edited cells apply to all viewers.
+ *
+ * <p>Generations are stepped on a shared scheduler, one task per board at a
+ * time, at the rate of the board. A board that falls more than a generation
+ * behind its schedule does not burst to catch up. The board stops at a final
+ * state or at the generation limit and runs again when cells are edited.</p>
+ *
+ * <p>A board is closed for good once its last viewer leaves or a generation
+ * fails; a failure disconnects every viewer with a server error.</p>
+ */
+final class LiveBoard {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveBoard.class);
+
+    private final LiveSimulation simulation;
+    private final ScheduledExecutorService scheduler;
+    private final ObjectMapper objectMapper;
+    private final double maxRate;
+    private final Set<LiveViewer> viewers = new LinkedHashSet<>();
+
+    /**
+     * State of the last frame, which the next delta is computed against
+     */
+    private final PackedGrid shown;
+
+    /**
+     * Keyframe of {@link #shown}, encoded when first needed
+     */
+    private byte[] keyframe;
+
+    private boolean paused;
+    private double rate;
+    private long intervalNanos;
+    private long nextTick;
+    private ScheduledFuture<?> tick;
+    private boolean closed;
+
+    /**
+     * @param simulation Simulation at the board's generation
+     * @param scheduler Scheduler the generations are stepped on
+     * @param objectMapper Mapper for status messages
+     * @param rate Initial number of generations per second
+     * @param maxRate Highest rate viewers may set
+     */
+    LiveBoard(LiveSimulation simulation, ScheduledExecutorService scheduler, ObjectMapper objectMapper,
+              double rate, double maxRate) {
+        this.simulation = simulation;
+        this.scheduler = scheduler;
+        this.objectMapper = objectMapper;
+        this.maxRate = maxRate;
+        this.shown = simulation.getState().copy();
+        setInterval(Math.min(rate, maxRate));
+    }
+
+    /**
+     * Adds a viewer, sends it the current generation as a keyframe and
+     * starts the simulation if it is the first viewer.
+     *
+     * @return false if the board is closed; the viewer needs a new board
+     */
+    synchronized boolean join(LiveViewer viewer) {
+        if (closed) {
+            return false;
+        }
+        if (viewers.isEmpty()) {
+            nextTick = System.nanoTime() + intervalNanos;
+        }
+        viewers.add(viewer);
+        viewer.sendKeyframe(keyframe());
+        broadcastStatus();
+        schedule();
+        return true;
+    }
+
+    /**
+     * Removes a viewer. The last viewer leaving closes the board.
+     *
+     * @return true if the viewer was the last one
+     */
+    synchronized boolean leave(LiveViewer viewer) {
+        if (!viewers.remove(viewer)) {
+            return false;
+        }
+        if (!viewers.isEmpty()) {
+            broadcastStatus();
+            return false;
+        }
+        closed = true;
+        cancel();
+        return true;
+    }
+
+    synchronized void pause() {
+        paused = true;
+        cancel();
+        broadcastStatus();
+    }
+
+    synchronized void resume() {
+        if (paused) {
+            paused = false;
+            nextTick = System.nanoTime() + intervalNanos;
+        }
+        schedule();
+        broadcastStatus();
+    }
+
+    /**
+     * Changes the rate; the next generation follows one new interval after
+     * the previous one.
+     *
+     * @param rate Generations per second
+     * @throws IllegalArgumentException if the rate is not positive or above the maximum
+     */
+    synchronized void setRate(double rate) {
+        if (!(rate > 0 && rate <= maxRate)) {
+            throw new IllegalArgumentException("Rate must be greater than 0 and at most " + maxRate);
+        }
+        nextTick += (long) (TimeUnit.SECONDS.toNanos(1) / rate) - intervalNanos;
+        setInterval(rate);
+        cancel();
+        schedule();
+        broadcastStatus();
+    }
+
+    /**
+     * Sets cells of the current generation alive or dead and sends the
+     * change to every viewer. The edited generation is shown for a whole
+     * interval.
+     *
+     * @param cells Cells as {@code {row, column}} pairs
+     * @param alive Whether the cells become alive
+     * @throws IllegalArgumentException if a cell is outside the board
+     */
+    synchronized void setCells(int[][] cells, boolean alive) {
+        if (simulation.setCells(cells, alive) > 0) {
+            broadcastFrame();
+            nextTick = System.nanoTime() + intervalNanos;
+            cancel();
+            schedule();
+            broadcastStatus();
+        }
+    }
+
+    private void setInterval(double rate) {
+        this.rate = rate;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+
+    private void tick() {
+        synchronized (this) {
+            tick = null;
+            if (closed || paused) {
+                return;
+            }
+            try {
+                // Late wakeups are made up for; a board more than an interval behind starts a new schedule
+                long now = System.nanoTime();
+                nextTick = now - nextTick > intervalNanos ? now + intervalNanos : nextTick + intervalNanos;
+                simulation.step();
+                broadcastFrame();
+                if (simulation.isFinished()) {
+                    broadcastStatus();
+                }
+                schedule();
+            } catch (RuntimeException e) {
+                log.error("Live board {} stopped at generation {}", simulation.getBoardId(),
+                        simulation.getGeneration(), e);
+                closed = true;
+                CloseStatus status = CloseStatus.SERVER_ERROR.withReason(
+                        "Simulation failed at generation " + simulation.getGeneration());
+                for (LiveViewer viewer : viewers) {
+                    viewer.close(status);
+                }
+            }
+        }
+    }
+
+    private void schedule() {
+        if (tick != null || closed || paused || viewers.isEmpty() || simulation.isFinished()) {
+            return;
+        }
+        try {
+            tick = scheduler.schedule(this::tick, Math.max(nextTick - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            log.debug("Live board {} not scheduled: {}", simulation.getBoardId(), e.getMessage());
+        }
+    }
+
+    private void cancel() {
+        if (tick != null) {
+            tick.cancel(false);
+            tick = null;
+        }
+    }
+
+    /**
+     * Encodes the current generation once and queues it for every viewer.
+     */
+    private void broadcastFrame() {
+        PackedGrid state = simulation.getState();
+        byte[] delta = LiveFrames.delta(simulation.getGeneration(), simulation.isFinalState(), shown, state);
+        shown.copyFrom(state);
+        keyframe = null;
+
+        for (LiveViewer viewer : viewers) {
+            if (delta == null || viewer.needsKeyframe()) {
+                viewer.sendKeyframe(keyframe());
+            } else {
+                viewer.sendDelta(delta);
+            }
+        }
+    }
+
+    private byte[] keyframe() {
+        if (keyframe == null) {
+            keyframe = LiveFrames.keyframe(simulation.getGeneration(), simulation.isFinalState(), shown);
+        }
+        return keyframe;
+    }
+
+    private void broadcastStatus() {
+        LiveStatus status = new LiveStatus(simulation.getBoardId(), simulation.getGeneration(), paused, rate,
+                viewers.size(), simulation.isFinalState(), simulation.getPeriod(), simulation.getEngineName());
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(status);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (LiveViewer viewer : viewers) {
+            viewer.sendText(message);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.gameoflife.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameoflife.exception.BoardNotFoundException;
+import com.gameoflife.exception.UnknownEngineException;
+import com.gameoflife.model.dto.LiveCommand;
+import com.gameoflife.service.BoardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * WebSocket endpoint of live boards, {@code /boards/{id}/live}. Every
+ * connection to the same board is a viewer of one shared {@link LiveBoard},
+ * started by the first viewer and stopped when the last one disconnects.
+ *
+ * <p>The server sends generations as binary frames (see {@link LiveFrames})
+ * and status and error messages as JSON text. Viewers send commands as JSON
+ * text, see {@link LiveCommand}. A connection to a board that does not
+ * exist is closed with code 4404, one naming an unknown engine with 4400.
+ * The viewers of a board whose simulation fails are disconnected with 1011.</p>
+ */
+public class LiveBoardWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveBoardWebSocketHandler.class);
+
+    private static final String BOARD_ID = "boardId";
+    private static final String BOARD = "board";
+    private static final String VIEWER = "viewer";
+
+    private final BoardService boardService;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final double defaultRate;
+    private final double maxRate;
+    private final int maxBacklog;
+    private final long sendTimeoutMs;
+    private final ConcurrentMap<Long, LiveBoard> boards = new ConcurrentHashMap<>();
+
+    /**
+     * @param boardService Service the boards are loaded from
+     * @param objectMapper Mapper for text messages
+     * @param scheduler Scheduler the generations of all boards are stepped on
+     * @param defaultRate Generations per second of a board until a viewer changes it
+     * @param maxRate Highest rate viewers may set
+     * @param maxBacklog Number of frames a viewer may fall behind before it skips to a keyframe
+     * @param sendTimeoutMs Time after which a viewer whose send did not complete is disconnected
+     */
+    public LiveBoardWebSocketHandler(BoardService boardService, ObjectMapper objectMapper,
+                                     ScheduledExecutorService scheduler, double defaultRate, double maxRate,
+                                     int maxBacklog, long sendTimeoutMs) {
+        this.boardService = boardService;
+        this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+        this.defaultRate = defaultRate;
+        this.maxRate = maxRate;
+        this.maxBacklog = maxBacklog;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        UriComponents uri = UriComponentsBuilder.fromUri(session.getUri()).build();
+        List<String> segments = uri.getPathSegments();
+        Long id;
+        try {
+            id = Long.valueOf(segments.get(segments.size() - 2));
+        } catch (NumberFormatException e) {
+            session.close(new CloseStatus(4400, "Invalid board id"));
+            return;
+        }
+        String engine = uri.getQueryParams().getFirst("engine");
+
+        LiveViewer viewer = new LiveViewer(session, maxBacklog, sendTimeoutMs, scheduler);
+        LiveBoard board;
+        try {
+            board = join(id, engine, viewer);
+        } catch (BoardNotFoundException e) {
+            session.close(new CloseStatus(4404, e.getMessage()));
+            return;
+        } catch (UnknownEngineException e) {
+            session.close(new CloseStatus(4400, e.getMessage()));
+            return;
+        }
+        session.getAttributes().put(BOARD_ID, id);
+        session.getAttributes().put(BOARD, board);
+        session.getAttributes().put(VIEWER, viewer);
+        // A viewer whose first frame failed may have been disconnected before it was recorded
+        if (!session.isOpen()) {
+            afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    /**
+     * Adds a viewer to the live board, loading the board if it has no viewers.
+     * The board is loaded outside of the map, so that loading one board does
+     * not hold up viewers of others; when two viewers load a board at once,
+     * the first one put in the map is used.
+     */
+    private LiveBoard join(Long id, String engine, LiveViewer viewer) {
+        LiveBoard board = boards.get(id);
+        // A board whose last viewer just left is closed and replaced
+        while (board == null || !board.join(viewer)) {
+            if (board != null) {
+                boards.remove(id, board);
+            }
+            // The engine is only chosen by the viewer that loads the board
+            LiveBoard loaded = new LiveBoard(boardService.startLiveSimulation(id, engine), scheduler, objectMapper,
+                    defaultRate, maxRate);
+            LiveBoard existing = boards.putIfAbsent(id, loaded);
+            board = existing != null ? existing : loaded;
+        }
+        return board;
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        LiveViewer viewer = (LiveViewer) session.getAttributes().get(VIEWER);
+        LiveBoard board = (LiveBoard) session.getAttributes().get(BOARD);
+        if (viewer == null || board == null) {
+            return;
+        }
+
+        try {
+            LiveCommand command = objectMapper.readValue(message.getPayload(), LiveCommand.class);
+            String type = command.getType() != null ? command.getType() : "";
+            switch (type) {
+                case "pause":
+                    board.pause();
+                    break;
+                case "resume":
+                    board.resume();
+                    break;
+                case "speed":
+                    if (command.getRate() == null) {
+                        throw new IllegalArgumentException("Command speed requires a rate");
+                    }
+                    board.setRate(command.getRate());
+                    break;
+                case "set":
+                    if (command.getCells() == null) {
+                        throw new IllegalArgumentException("Command set requires cells");
+                    }
+                    board.setCells(command.getCells(), command.getAlive() == null || command.getAlive());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown command type: " + command.getType());
+            }
+        } catch (JsonProcessingException e) {
+            sendError(viewer, "Malformed command: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(viewer, e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        LiveViewer viewer = (LiveViewer) session.getAttributes().get(VIEWER);
+        LiveBoard board = (LiveBoard) session.getAttributes().get(BOARD);
+        Long id = (Long) session.getAttributes().get(BOARD_ID);
+        if (viewer == null) {
+            return;
+        }
+        if (board.leave(viewer)) {
+            boards.remove(id, board);
+        }
+        log.debug("Viewer {} of board {} disconnected: {}", session.getId(), id, status);
+    }
+
+    private void sendError(LiveViewer viewer, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("type", "error");
+        error.put("message", message);
+        try {
+            viewer.sendText(objectMapper.writeValueAsString(error));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not send error message", e);
+        }
+    }
+}
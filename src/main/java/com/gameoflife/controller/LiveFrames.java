@@ -0,0 +1,134 @@
+package com.gameoflife.controller;
+
+import com.gameoflife.model.PackedGrid;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes the binary frames of a live board. Every frame starts with a
+ * 6-byte header; integers are big-endian.
+ *
+ * <pre>
+ * offset  size  field
+ *      0     1  type, 1 = keyframe, 2 = delta
+ *      1     1  flags, bit 0 set if the generation is a final state
+ *      2     4  generation
+ * keyframe:
+ *      6     4  width
+ *     10     4  height
+ *     14     n  state as a row-major bitset of ceil(width * height / 8) bytes
+ * delta:
+ *      6     v  number of changed cells, varint
+ *      ...   v  per changed cell in ascending order, the number of unchanged
+ *               cells before it since the previous changed cell, varint
+ * </pre>
+ *
+ * <p>A delta lists the cells that flipped since the previous frame, by
+ * row-major index ({@code row * width + column}). Varints are unsigned
+ * LEB128: 7 bits per byte, least significant first, high bit set on all but
+ * the last byte. A delta that would be larger than a keyframe is not
+ * encoded; a keyframe is sent instead.</p>
+ */
+final class LiveFrames {
+
+    static final int KEYFRAME = 1;
+    static final int DELTA = 2;
+    static final int FLAG_FINAL_STATE = 1;
+    static final int HEADER_SIZE = 6;
+    static final int KEYFRAME_HEADER_SIZE = HEADER_SIZE + 8;
+
+    private LiveFrames() {
+    }
+
+    /**
+     * Encodes a keyframe carrying the whole state.
+     */
+    static byte[] keyframe(int generation, boolean finalState, PackedGrid state) {
+        byte[] bits = state.toBitset();
+        ByteBuffer frame = ByteBuffer.allocate(KEYFRAME_HEADER_SIZE + bits.length);
+        frame.put((byte) KEYFRAME);
+        frame.put((byte) (finalState ? FLAG_FINAL_STATE : 0));
+        frame.putInt(generation);
+        frame.putInt(state.getWidth());
+        frame.putInt(state.getHeight());
+        frame.put(bits);
+        return frame.array();
+    }
+
+    /**
+     * Encodes the cells that differ between two states of the same board.
+     *
+     * @param generation Generation of {@code state}
+     * @param finalState Whether {@code state} is a final state
+     * @param previous State of the previous frame
+     * @param state State to encode
+     * @return The delta frame, or null if a keyframe is smaller
+     */
+    static byte[] delta(int generation, boolean finalState, PackedGrid previous, PackedGrid state) {
+        long[] before = previous.getWords();
+        long[] after = state.getWords();
+        int width = state.getWidth();
+        int wordsPerRow = state.getWordsPerRow();
+        int limit = KEYFRAME_HEADER_SIZE + (int) (((long) width * state.getHeight() + 7) / 8);
+
+        // The first pass sizes the frame exactly, so the second writes it without copying
+        long changed = 0;
+        long gaps = 0;
+        long next = 0;
+        for (int i = 0; i < after.length; i++) {
+            long diff = before[i] ^ after[i];
+            long base = (long) (i / wordsPerRow) * width + (long) (i % wordsPerRow) * Long.SIZE;
+            while (diff != 0) {
+                long cell = base + Long.numberOfTrailingZeros(diff);
+                gaps += varIntSize(cell - next);
+                if (HEADER_SIZE + 1 + gaps >= limit) {
+                    return null;
+                }
+                next = cell + 1;
+                changed++;
+                diff &= diff - 1;
+            }
+        }
+        long size = HEADER_SIZE + varIntSize(changed) + gaps;
+        if (size >= limit) {
+            return null;
+        }
+
+        byte[] frame = new byte[(int) size];
+        frame[0] = (byte) DELTA;
+        frame[1] = (byte) (finalState ? FLAG_FINAL_STATE : 0);
+        ByteBuffer.wrap(frame, 2, 4).putInt(generation);
+        int position = writeVarInt(frame, HEADER_SIZE, changed);
+
+        next = 0;
+        for (int i = 0; i < after.length; i++) {
+            long diff = before[i] ^ after[i];
+            long base = (long) (i / wordsPerRow) * width + (long) (i % wordsPerRow) * Long.SIZE;
+            while (diff != 0) {
+                long cell = base + Long.numberOfTrailingZeros(diff);
+                position = writeVarInt(frame, position, cell - next);
+                next = cell + 1;
+                diff &= diff - 1;
+            }
+        }
+        return frame;
+    }
+
+    private static int writeVarInt(byte[] out, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    private static int varIntSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
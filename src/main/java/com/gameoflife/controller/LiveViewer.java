@@ -0,0 +1,175 @@
+package com.gameoflife.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+
+/**
+ * One WebSocket connection to a live board. Messages are queued and sent
+ * asynchronously, one at a time, so a slow viewer never holds up the
+ * simulation or the other viewers of the board.
+ *
+ * <p>A viewer more than {@code maxBacklog} frames behind drops its queued
+ * frames and the deltas that follow, and catches up with the next keyframe.
+ * A viewer whose send does not complete within the send timeout is
+ * disconnected.</p>
+ */
+final class LiveViewer implements SendHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveViewer.class);
+
+    private final WebSocketSession session;
+    private final RemoteEndpoint.Async remote;
+    private final Executor closer;
+    private final int maxBacklog;
+
+    /**
+     * Frames ({@code byte[]}) and text messages ({@code String}) not sent yet
+     */
+    private final Deque<Object> queue = new ArrayDeque<>();
+    private int frames;
+    private boolean sending;
+    private boolean needsKeyframe = true;
+    private boolean closed;
+
+    /**
+     * @param session Session of the viewer; must be backed by a standard WebSocket session
+     * @param maxBacklog Number of frames that may wait to be sent
+     * @param sendTimeoutMs Time after which a send that did not complete disconnects the viewer
+     * @param closer Executor the session of a disconnected viewer is closed on
+     */
+    LiveViewer(WebSocketSession session, int maxBacklog, long sendTimeoutMs, Executor closer) {
+        this.session = session;
+        this.remote = ((NativeWebSocketSession) session).getNativeSession(Session.class).getAsyncRemote();
+        this.remote.setSendTimeout(sendTimeoutMs);
+        this.closer = closer;
+        this.maxBacklog = maxBacklog;
+    }
+
+    /**
+     * Whether the viewer has no keyframe to apply the next delta to, because
+     * it just connected or fell behind.
+     */
+    synchronized boolean needsKeyframe() {
+        return needsKeyframe;
+    }
+
+    /**
+     * Queues a keyframe, dropping queued frames if the backlog is full.
+     */
+    synchronized void sendKeyframe(byte[] frame) {
+        if (frames >= maxBacklog) {
+            dropFrames();
+        }
+        needsKeyframe = false;
+        queue(frame);
+    }
+
+    /**
+     * Queues a delta, unless the viewer needs a keyframe. If the backlog is
+     * full, queued frames are dropped instead and the viewer waits for a
+     * keyframe.
+     */
+    synchronized void sendDelta(byte[] frame) {
+        if (needsKeyframe) {
+            return;
+        }
+        if (frames >= maxBacklog) {
+            log.debug("Viewer {} fell {} frames behind, skipping to the next keyframe", session.getId(), frames);
+            dropFrames();
+            needsKeyframe = true;
+            return;
+        }
+        queue(frame);
+    }
+
+    /**
+     * Queues a text message.
+     */
+    synchronized void sendText(String message) {
+        queue(message);
+    }
+
+    private void dropFrames() {
+        queue.removeIf(byte[].class::isInstance);
+        frames = 0;
+    }
+
+    private void queue(Object message) {
+        if (closed) {
+            return;
+        }
+        if (message instanceof byte[]) {
+            frames++;
+        }
+        queue.add(message);
+        if (!sending) {
+            sendNext();
+        }
+    }
+
+    /**
+     * Starts sending the next queued message. The container calls
+     * {@link #onResult(SendResult)} once it was written, possibly before
+     * this method returns.
+     */
+    private void sendNext() {
+        Object message = queue.poll();
+        sending = message != null;
+        if (message == null) {
+            return;
+        }
+        try {
+            if (message instanceof byte[]) {
+                frames--;
+                remote.sendBinary(ByteBuffer.wrap((byte[]) message), this);
+            } else {
+                remote.sendText((String) message, this);
+            }
+        } catch (IllegalStateException e) {
+            // The session was closed
+            closed = true;
+            queue.clear();
+        }
+    }
+
+    @Override
+    public synchronized void onResult(SendResult result) {
+        if (result.isOK()) {
+            sendNext();
+            return;
+        }
+
+        log.debug("Disconnecting viewer {}: {}", session.getId(), result.getException().toString());
+        close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    /**
+     * Drops the queued messages and closes the session on the closer, since
+     * closing removes the viewer from its board, which may be sending to its
+     * viewers right now.
+     */
+    synchronized void close(CloseStatus status) {
+        closed = true;
+        queue.clear();
+        closer.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Could not close viewer {}", session.getId(), e);
+            }
+        });
+    }
+}
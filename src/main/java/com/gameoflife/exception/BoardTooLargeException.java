@@ -0,0 +1,12 @@
+package com.gameoflife.exception;
+
+/**
+ * Exception thrown when a request declares a board with more cells than
+ * the configured maximum.
+ */
+public class BoardTooLargeException extends RuntimeException {
+
+    public BoardTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,12 @@
 package com.gameoflife.exception;
 
+import org.apache.catalina.connector.ClientAbortException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -19,6 +24,12 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Errors are JSON even for requests that only accept another type, such
+     * as binary boards or event streams.
+     */
+    private static final HttpHeaders JSON = jsonHeaders();
+
     /**
      * Handles board not found exceptions.
      */
@@ -32,7 +43,7 @@ public class GlobalExceptionHandler {
                 LocalDateTime.now()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.NOT_FOUND);
     }
 
     /**
@@ -48,7 +59,95 @@ public class GlobalExceptionHandler {
                 LocalDateTime.now()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Handles requests for an engine that does not exist.
+     */
+    @ExceptionHandler(UnknownEngineException.class)
+    public ResponseEntity<ErrorResponse> handleUnknownEngineException(
+            UnknownEngineException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles patterns that cannot be imported and unknown pattern formats.
+     */
+    @ExceptionHandler(InvalidPatternException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPatternException(
+            InvalidPatternException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles boards with more cells than the configured maximum.
+     */
+    @ExceptionHandler(BoardTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBoardTooLargeException(
+            BoardTooLargeException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles request bodies that cannot be read, such as malformed binary boards.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles generation streams opened while the maximum number of streams is open.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(
+            TaskRejectedException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Too many open streams, try again later",
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles clients that disconnected while a response was written, which is
+     * how clients stop generation streams. There is no one left to respond to.
+     */
+    @ExceptionHandler(ClientAbortException.class)
+    public void handleClientAbortException(ClientAbortException ex) {
     }
 
     /**
@@ -72,7 +171,7 @@ public class GlobalExceptionHandler {
                 errors
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.BAD_REQUEST);
     }
 
     /**
@@ -88,7 +187,13 @@ public class GlobalExceptionHandler {
                 LocalDateTime.now()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(errorResponse, JSON, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
     }
 
     /**
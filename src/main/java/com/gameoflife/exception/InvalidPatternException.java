@@ -0,0 +1,12 @@
+package com.gameoflife.exception;
+
+/**
+ * Exception thrown when an imported pattern cannot be parsed, or a request
+ * names a pattern format that does not exist.
+ */
+public class InvalidPatternException extends RuntimeException {
+
+    public InvalidPatternException(String message) {
+        super(message);
+    }
+}
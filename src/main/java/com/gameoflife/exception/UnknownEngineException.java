@@ -0,0 +1,12 @@
+package com.gameoflife.exception;
+
+/**
+ * Exception thrown when a request or the configuration names an engine
+ * that does not exist.
+ */
+public class UnknownEngineException extends RuntimeException {
+
+    public UnknownEngineException(String name) {
+        super("Unknown engine: " + name);
+    }
+}
@@ -1,6 +1,9 @@
 package com.gameoflife.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.gameoflife.model.codec.CodecType;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -8,22 +11,120 @@ import java.time.LocalDateTime;
 /**
  * Represents a Game of Life board state stored in the database.
  * The actual board state is serialized to a byte array for storage.
+ *
+ * <p>Boards computed from another board record their lineage. To keep the
+ * database small, most of them are not stored in full: the persisted payload
+ * then is a delta against the keyframe board. Either way the payload is
+ * compressed with a {@link CodecType} chosen for its content and stored once per distinct
+ * content as a {@link StateBlob} that the board refers to by hash, and {@link #getStateData()}
+ * stays empty until the state is resolved, see
+ * {@link com.gameoflife.service.BoardStateStore}.</p>
+ *
+ * <p>Large boards are not stored in the database at all: their state lives in
+ * a memory-mapped segment file and the row only records where, see
+ * {@link com.gameoflife.service.SegmentStore}.</p>
  */
 @Entity
-@Table(name = "boards")
+@Table(name = "boards", indexes = @Index(name = "idx_board_state_hash", columnList = "state_hash"))
 public class Board {
 
+    public static final String ID_SEQUENCE = "board_ids";
+    public static final int ID_BLOCK_SIZE = 50;
+
+    /**
+     * Drawn from the {@value #ID_SEQUENCE} sequence in blocks of {@value #ID_BLOCK_SIZE}:
+     * a block starts at the value the sequence returns (pooled-lo), so ids can
+     * also be reserved outside of Hibernate, see {@link com.gameoflife.service.BoardWriter}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = ID_SEQUENCE)
+    @GenericGenerator(name = ID_SEQUENCE, strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = ID_SEQUENCE),
+                    @Parameter(name = "increment_size", value = "" + ID_BLOCK_SIZE),
+                    @Parameter(name = "optimizer", value = "pooled-lo")
+            })
     private Long id;
 
     private int width;
     private int height;
 
+    /**
+     * Persisted state: the full state for keyframes, a delta otherwise, encoded with {@link #codec}.
+     * Only set for rows written before payloads moved to {@link StateBlob}s.
+     */
     @Lob
     @Column(name = "state")
+    private byte[] storedData;
+
+    /**
+     * Hash of the {@link StateBlob} holding the persisted state, null for older rows and mapped boards
+     */
+    @Column(name = "state_hash", length = 64)
+    private String stateHash;
+
+    /**
+     * Codec of {@link #storedData}; null for rows written before codecs existed
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "codec", length = 16)
+    private CodecType codec;
+
+    /**
+     * Full (decoded) state, one bit per cell
+     */
+    @Transient
     private byte[] stateData;
 
+    /**
+     * Board this board was computed from, null for boards created by a client
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /**
+     * First board of the lineage, null for boards created by a client
+     */
+    @Column(name = "root_id")
+    private Long rootId;
+
+    /**
+     * Board whose full state {@link #storedData} is a delta against, null if stored in full
+     */
+    @Column(name = "keyframe_id")
+    private Long keyframeId;
+
+    /**
+     * Number of boards along the lineage since the last keyframe, 0 or null for keyframes
+     */
+    @Column(name = "keyframe_distance")
+    private Integer keyframeDistance;
+
+    /**
+     * Generations between checkpoints of this board's lineage; null for the
+     * configured default, 0 for no checkpoints
+     */
+    @Column(name = "checkpoint_interval")
+    private Integer checkpointInterval;
+
+    /**
+     * Segment file holding the state of a large board, null if the state is stored in {@link #storedData}
+     */
+    @Column(name = "segment_id")
+    private Integer segmentId;
+
+    /**
+     * Offset of the state in the segment file
+     */
+    @Column(name = "segment_offset")
+    private Long segmentOffset;
+
+    /**
+     * Mapped state of a board stored in a segment file
+     */
+    @Transient
+    private MappedGrid mappedState;
+
     private int generation;
 
     @Column(name = "created_at")
@@ -64,6 +165,49 @@ public class Board {
     public byte[] getStateData() { return stateData; }
     public void setStateData(byte[] stateData) { this.stateData = stateData; }
 
+    public byte[] getStoredData() { return storedData; }
+    public void setStoredData(byte[] storedData) { this.storedData = storedData; }
+
+    public String getStateHash() { return stateHash; }
+    public void setStateHash(String stateHash) { this.stateHash = stateHash; }
+
+    public CodecType getCodec() { return codec; }
+    public void setCodec(CodecType codec) { this.codec = codec; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public Long getRootId() { return rootId; }
+    public void setRootId(Long rootId) { this.rootId = rootId; }
+
+    public Long getKeyframeId() { return keyframeId; }
+    public void setKeyframeId(Long keyframeId) { this.keyframeId = keyframeId; }
+
+    public int getKeyframeDistance() { return keyframeDistance == null ? 0 : keyframeDistance; }
+    public void setKeyframeDistance(int keyframeDistance) { this.keyframeDistance = keyframeDistance; }
+
+    public Integer getCheckpointInterval() { return checkpointInterval; }
+    public void setCheckpointInterval(Integer checkpointInterval) { this.checkpointInterval = checkpointInterval; }
+
+    public Integer getSegmentId() { return segmentId; }
+    public void setSegmentId(Integer segmentId) { this.segmentId = segmentId; }
+
+    public Long getSegmentOffset() { return segmentOffset; }
+    public void setSegmentOffset(Long segmentOffset) { this.segmentOffset = segmentOffset; }
+
+    public MappedGrid getMappedState() { return mappedState; }
+    public void setMappedState(MappedGrid mappedState) { this.mappedState = mappedState; }
+
+    /**
+     * Whether the state is stored in a segment file rather than in the database.
+     */
+    public boolean isMapped() { return segmentId != null; }
+
+    /**
+     * Whether the persisted data is the full state rather than a delta.
+     */
+    public boolean isKeyframe() { return keyframeId == null; }
+
     public int getGeneration() { return generation; }
     public void setGeneration(int generation) { this.generation = generation; }
 
@@ -76,10 +220,34 @@ public class Board {
     public boolean isFinalState() { return finalState; }
     public void setFinalState(boolean finalState) { this.finalState = finalState; }
 
+    /**
+     * Shallow copy of all fields. State arrays are shared; they are replaced,
+     * never modified in place.
+     */
+    public Board copy() {
+        Board copy = new Board(id, width, height, stateData, generation, createdAt, updatedAt, finalState);
+        copy.storedData = storedData;
+        copy.stateHash = stateHash;
+        copy.codec = codec;
+        copy.parentId = parentId;
+        copy.rootId = rootId;
+        copy.keyframeId = keyframeId;
+        copy.keyframeDistance = keyframeDistance;
+        copy.checkpointInterval = checkpointInterval;
+        copy.segmentId = segmentId;
+        copy.segmentOffset = segmentOffset;
+        copy.mappedState = mappedState;
+        return copy;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        if (storedData == null && stateHash == null && isKeyframe()) {
+            this.storedData = stateData;
+            this.codec = CodecType.RAW;
+        }
     }
 
     @PreUpdate
@@ -87,48 +255,40 @@ public class Board {
         this.updatedAt = LocalDateTime.now();
     }
 
-    // Keep your getGrid() and setGrid() methods
+    /**
+     * Unpacks the state into the boolean grid used by the API.
+     */
     @JsonIgnore
     public boolean[][] getGrid() {
-        // Existing implementation
-        boolean[][] grid = new boolean[height][width];
-
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                int index = row * width + col;
-                int byteIndex = index / 8;
-                int bitIndex = index % 8;
-
-                if (byteIndex < stateData.length) {
-                    grid[row][col] = ((stateData[byteIndex] >> bitIndex) & 1) == 1;
-                }
-            }
-        }
-
-        return grid;
+        return getPackedGrid().toGrid();
     }
 
     public void setGrid(boolean[][] grid) {
-        // Existing implementation
-        this.height = grid.length;
-        this.width = grid[0].length;
-
-        int totalCells = height * width;
-        int byteSize = (totalCells + 7) / 8; // Ceiling division
-
-        byte[] data = new byte[byteSize];
-
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                if (grid[row][col]) {
-                    int index = row * width + col;
-                    int byteIndex = index / 8;
-                    int bitIndex = index % 8;
-                    data[byteIndex] |= (1 << bitIndex);
-                }
-            }
+        setPackedGrid(PackedGrid.fromGrid(grid));
+    }
+
+    /**
+     * Unpacks the state into the row-aligned words the engines step, a word
+     * at a time and without going through a boolean grid. The state of a
+     * mapped board is copied onto the heap.
+     */
+    @JsonIgnore
+    public PackedGrid getPackedGrid() {
+        if (stateData == null && mappedState != null) {
+            return mappedState.toPackedGrid();
         }
+        if (stateData == null) {
+            throw new IllegalStateException("State of board " + id + " has not been resolved");
+        }
+        return PackedGrid.fromBitset(stateData, width, height);
+    }
 
-        this.stateData = data;
+    /**
+     * Sets the state, width and height from a packed grid.
+     */
+    public void setPackedGrid(PackedGrid grid) {
+        this.height = grid.getHeight();
+        this.width = grid.getWidth();
+        this.stateData = grid.toBitset();
     }
 }
@@ -0,0 +1,105 @@
+package com.gameoflife.model;
+
+import javax.persistence.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+
+/**
+ * Result of the final state search for a starting board, stored so that the
+ * evolution is only ever computed once per board. The state of the starting
+ * board {@code n} generations later is the state of generation
+ * {@link #cycleGeneration(long)}, so generations past the transient can be
+ * answered from the final board by modular arithmetic on the period.
+ */
+@Entity
+@Table(name = "board_analysis")
+public class BoardAnalysis {
+
+    /**
+     * Board the search started from
+     */
+    @Id
+    @Column(name = "board_id")
+    private Long boardId;
+
+    /**
+     * Board holding the final state, {@code transientLength + period} generations later
+     */
+    @Column(name = "final_board_id")
+    private Long finalBoardId;
+
+    private int period;
+
+    @Column(name = "transient_length")
+    private int transientLength;
+
+    /**
+     * Population of each generation of the transient and one period, 4 bytes each (little-endian)
+     */
+    @Lob
+    @Column(name = "populations")
+    private byte[] populationData;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public BoardAnalysis() {
+    }
+
+    public BoardAnalysis(Long boardId, Long finalBoardId, int period, int transientLength, int[] populations) {
+        this.boardId = boardId;
+        this.finalBoardId = finalBoardId;
+        this.period = period;
+        this.transientLength = transientLength;
+        setPopulations(populations);
+    }
+
+    /**
+     * Maps a number of generations after the starting board to the earliest
+     * generation with the same state.
+     *
+     * @param generations Generations after the starting board (non-negative)
+     * @return The same number if it is within the transient, otherwise a
+     *         generation in {@code [transientLength, transientLength + period)}
+     */
+    public int cycleGeneration(long generations) {
+        if (generations < transientLength) {
+            return (int) generations;
+        }
+        return transientLength + (int) ((generations - transientLength) % period);
+    }
+
+    public int[] getPopulations() {
+        int[] populations = new int[populationData.length / 4];
+        ByteBuffer.wrap(populationData).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(populations);
+        return populations;
+    }
+
+    public void setPopulations(int[] populations) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * populations.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(populations);
+        this.populationData = buffer.array();
+    }
+
+    public Long getBoardId() { return boardId; }
+    public void setBoardId(Long boardId) { this.boardId = boardId; }
+
+    public Long getFinalBoardId() { return finalBoardId; }
+    public void setFinalBoardId(Long finalBoardId) { this.finalBoardId = finalBoardId; }
+
+    public int getPeriod() { return period; }
+    public void setPeriod(int period) { this.period = period; }
+
+    public int getTransientLength() { return transientLength; }
+    public void setTransientLength(int transientLength) { this.transientLength = transientLength; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
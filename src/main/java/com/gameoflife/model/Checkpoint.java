@@ -0,0 +1,78 @@
+package com.gameoflife.model;
+
+import com.gameoflife.model.codec.CodecType;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a lineage at a generation, saved while boards are simulated so
+ * that later requests can resume from it instead of from the requested board.
+ * Every board of a lineage follows the same evolution, so a checkpoint is
+ * keyed by the lineage root and the absolute generation and serves all of them.
+ */
+@Entity
+@Table(name = "checkpoints", indexes = @Index(name = "idx_checkpoint_root_generation",
+        columnList = "root_id, generation", unique = true))
+public class Checkpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * First board of the lineage
+     */
+    @Column(name = "root_id", nullable = false)
+    private Long rootId;
+
+    private int generation;
+
+    /**
+     * State of the lineage at the generation, encoded with {@link #codec}
+     */
+    @Lob
+    @Column(name = "state")
+    private byte[] data;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "codec", length = 16)
+    private CodecType codec;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public Checkpoint() {
+    }
+
+    public Checkpoint(Long rootId, int generation, byte[] data, CodecType codec) {
+        this.rootId = rootId;
+        this.generation = generation;
+        this.data = data;
+        this.codec = codec;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRootId() { return rootId; }
+    public void setRootId(Long rootId) { this.rootId = rootId; }
+
+    public int getGeneration() { return generation; }
+    public void setGeneration(int generation) { this.generation = generation; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+    public CodecType getCodec() { return codec; }
+    public void setCodec(CodecType codec) { this.codec = codec; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,205 @@
+package com.gameoflife.model;
+
+import java.util.Arrays;
+
+/**
+ * Primitive open-addressing hash set of live cell coordinates.
+ * Each cell is packed into a single long as {@code (row << 32) | col}, so no
+ * boxing or per-cell objects are needed. Intended for large, mostly-empty
+ * boards where storing every dead cell would be wasteful.
+ */
+public final class LiveCellSet {
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+
+    public LiveCellSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a set sized to hold the expected number of cells without resizing.
+     *
+     * @param expectedSize Expected number of live cells
+     */
+    public LiveCellSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L / 4 <= expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Collects the live cells of a packed grid, skipping empty words.
+     *
+     * @param grid Packed board state
+     * @return The set of live cells
+     */
+    public static LiveCellSet fromPackedGrid(PackedGrid grid) {
+        LiveCellSet cells = new LiveCellSet((int) Math.min(grid.population(), Integer.MAX_VALUE / 2));
+        long[] words = grid.getWords();
+        int wordsPerRow = grid.getWordsPerRow();
+
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            int row = i / wordsPerRow;
+            int colBase = (i % wordsPerRow) << 6;
+            while (word != 0) {
+                cells.add(row, colBase + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Writes the live cells into a new packed grid of the given dimensions.
+     *
+     * @param width Board width
+     * @param height Board height
+     * @return The packed grid
+     */
+    public PackedGrid toPackedGrid(int width, int height) {
+        PackedGrid grid = new PackedGrid(width, height);
+        for (long key : keys) {
+            if (key != EMPTY) {
+                grid.set(row(key), col(key), true);
+            }
+        }
+        return grid;
+    }
+
+    public static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    public static int row(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int col(long key) {
+        return (int) key;
+    }
+
+    public boolean add(int row, int col) {
+        return addKey(key(row, col));
+    }
+
+    public boolean contains(int row, int col) {
+        return containsKey(key(row, col));
+    }
+
+    /**
+     * Adds a packed cell key.
+     *
+     * @return true if the cell was not already present
+     */
+    public boolean addKey(long key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        size++;
+        if (size * 4L > keys.length * 3L) {
+            resize(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean containsKey(long key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Raw slot array. Empty slots hold -1; every other slot is a packed cell key.
+     * Exposed so engines can iterate the set without an iterator allocation.
+     */
+    public long[] slots() {
+        return keys;
+    }
+
+    public static boolean isEmptySlot(long slot) {
+        return slot == EMPTY;
+    }
+
+    private void resize(int capacity) {
+        long[] old = keys;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (long key : old) {
+            if (key != EMPTY) {
+                addKey(key);
+            }
+        }
+    }
+
+    /**
+     * Hash function for packed cell keys (MurmurHash3 finalizer).
+     */
+    public static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LiveCellSet)) {
+            return false;
+        }
+        LiveCellSet other = (LiveCellSet) o;
+        if (other.size != size) {
+            return false;
+        }
+        for (long key : keys) {
+            if (key != EMPTY && !other.containsKey(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                hash += mix(key);
+            }
+        }
+        return hash;
+    }
+}
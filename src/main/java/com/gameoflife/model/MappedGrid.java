@@ -0,0 +1,137 @@
+package com.gameoflife.model;
+
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Board state held in a memory-mapped file region instead of on the heap.
+ * The words are laid out exactly like {@link PackedGrid}: row-aligned, 64
+ * cells per little-endian word, so rows can be copied to and from heap
+ * buffers in bulk and engines can stream a board a few rows at a time.
+ */
+public final class MappedGrid {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final MappedByteBuffer buffer;
+    private final LongBuffer words;
+
+    /**
+     * Wraps a mapped region of at least {@link #byteSize(int, int)} bytes.
+     *
+     * @param width Number of columns
+     * @param height Number of rows
+     * @param buffer Mapped region; its content is the state
+     */
+    public MappedGrid(int width, int height, MappedByteBuffer buffer) {
+        long size = byteSize(width, height);
+        if (buffer.capacity() < size) {
+            throw new IllegalArgumentException("Mapped region of " + buffer.capacity()
+                    + " bytes is too small for " + width + "x" + height + " cells");
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.lastWordMask = (width & 63) == 0 ? -1L : (1L << (width & 63)) - 1;
+        this.buffer = buffer;
+        this.words = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+
+    /**
+     * Number of bytes a board of the given dimensions takes in a mapped region.
+     */
+    public static long byteSize(int width, int height) {
+        return 8L * ((width + 63) >>> 6) * height;
+    }
+
+    /**
+     * Copies one row into a heap buffer.
+     *
+     * @param row Row index
+     * @param dst Destination words
+     * @param offset Offset of the row in {@code dst}
+     */
+    public void readRow(int row, long[] dst, int offset) {
+        words.get(row * wordsPerRow, dst, offset, wordsPerRow);
+    }
+
+    /**
+     * Overwrites one row from a heap buffer.
+     *
+     * @param row Row index
+     * @param src Source words; bits beyond the width must be zero
+     * @param offset Offset of the row in {@code src}
+     */
+    public void writeRow(int row, long[] src, int offset) {
+        words.put(row * wordsPerRow, src, offset, wordsPerRow);
+    }
+
+    /**
+     * Overwrites this grid with a heap grid of the same dimensions.
+     */
+    public void copyFrom(PackedGrid grid) {
+        checkDimensions(grid.getWidth(), grid.getHeight());
+        words.put(0, grid.getWords(), 0, grid.getWords().length);
+    }
+
+    /**
+     * Overwrites this grid with another mapped grid of the same dimensions, a row at a time.
+     */
+    public void copyFrom(MappedGrid grid) {
+        checkDimensions(grid.width, grid.height);
+        long[] row = new long[wordsPerRow];
+        for (int r = 0; r < height; r++) {
+            grid.readRow(r, row, 0);
+            writeRow(r, row, 0);
+        }
+    }
+
+    /**
+     * Copies the whole state onto the heap.
+     */
+    public PackedGrid toPackedGrid() {
+        PackedGrid grid = new PackedGrid(width, height);
+        words.get(0, grid.getWords(), 0, grid.getWords().length);
+        return grid;
+    }
+
+    /**
+     * Counts the live cells, reading the mapping in place.
+     *
+     * @return Number of live cells
+     */
+    public long population() {
+        long count = 0;
+        for (int i = 0, size = wordsPerRow * height; i < size; i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Writes changes to the mapped region through to the file.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public int getWordsPerRow() { return wordsPerRow; }
+
+    /**
+     * Mask of the valid bits in the last word of each row.
+     */
+    public long getLastWordMask() { return lastWordMask; }
+
+    private void checkDimensions(int otherWidth, int otherHeight) {
+        if (otherWidth != width || otherHeight != height) {
+            throw new IllegalArgumentException("Grid dimensions do not match");
+        }
+    }
+}
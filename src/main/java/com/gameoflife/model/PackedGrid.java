@@ -0,0 +1,330 @@
+package com.gameoflife.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Bit-packed representation of a Game of Life board.
+ * Each row is stored as a run of 64-bit words (64 cells per word), where
+ * bit {@code c % 64} of word {@code c / 64} holds the cell in column {@code c}.
+ * Bits beyond the board width in the last word of a row are always zero.
+ */
+public final class PackedGrid {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final long[] words;
+
+    /**
+     * Creates an empty (all dead) grid.
+     *
+     * @param width Number of columns
+     * @param height Number of rows
+     */
+    public PackedGrid(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Grid dimensions must be non-negative");
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.lastWordMask = (width & 63) == 0 ? -1L : (1L << (width & 63)) - 1;
+        this.words = new long[Math.multiplyExact(wordsPerRow, height)];
+    }
+
+    /**
+     * Packs a boolean grid into a new PackedGrid.
+     *
+     * @param grid Rectangular grid, true = live cell
+     * @return The packed grid
+     */
+    public static PackedGrid fromGrid(boolean[][] grid) {
+        int height = grid.length;
+        int width = height == 0 ? 0 : grid[0].length;
+        PackedGrid packed = new PackedGrid(width, height);
+        packed.setRows(grid, 0, height);
+        return packed;
+    }
+
+    /**
+     * Unpacks a row-major bitset, the format {@link Board} stores, into a new
+     * PackedGrid. Cell {@code (row, col)} is bit {@code (row * width + col) % 8}
+     * of byte {@code (row * width + col) / 8}. Rows are not word-aligned in the
+     * bitset, so each row word is read 64 bits at a time with a funnel shift.
+     *
+     * @param bits Bitset; missing trailing bytes are read as dead cells
+     * @param width Number of columns
+     * @param height Number of rows
+     * @return The packed grid
+     */
+    public static PackedGrid fromBitset(byte[] bits, int width, int height) {
+        PackedGrid grid = new PackedGrid(width, height);
+        long cells = (long) width * height;
+        // One spare word so that a funnel shift may always read the following word
+        long[] linear = new long[(int) ((cells + 63) >>> 6) + 1];
+        int length = (int) Math.min(bits.length, (cells + 7) >>> 3);
+        int fullWords = length >>> 3;
+        ByteBuffer.wrap(bits).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(linear, 0, fullWords);
+        for (int i = fullWords << 3; i < length; i++) {
+            linear[i >>> 3] |= (bits[i] & 0xFFL) << ((i & 7) << 3);
+        }
+
+        long[] words = grid.words;
+        int wordsPerRow = grid.wordsPerRow;
+        for (int row = 0; row < height; row++) {
+            long position = (long) row * width;
+            int offset = row * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++, position += 64) {
+                int index = (int) (position >>> 6);
+                int shift = (int) (position & 63);
+                long word = shift == 0
+                        ? linear[index]
+                        : linear[index] >>> shift | linear[index + 1] << (64 - shift);
+                words[offset + w] = w == wordsPerRow - 1 ? word & grid.lastWordMask : word;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Packs this grid into a row-major bitset, the inverse of
+     * {@link #fromBitset(byte[], int, int)}.
+     *
+     * @return Bitset of {@code ceil(width * height / 8)} bytes
+     */
+    public byte[] toBitset() {
+        long cells = (long) width * height;
+        long[] linear = new long[(int) ((cells + 63) >>> 6) + 1];
+        for (int row = 0; row < height; row++) {
+            long position = (long) row * width;
+            int offset = row * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++, position += 64) {
+                long word = words[offset + w];
+                if (word == 0) {
+                    continue;
+                }
+                // Bits beyond the row width are zero, so neighboring rows never overlap
+                int index = (int) (position >>> 6);
+                int shift = (int) (position & 63);
+                linear[index] |= word << shift;
+                if (shift != 0) {
+                    linear[index + 1] |= word >>> (64 - shift);
+                }
+            }
+        }
+
+        byte[] bits = new byte[(int) ((cells + 7) >>> 3)];
+        int fullWords = bits.length >>> 3;
+        ByteBuffer.wrap(bits).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(linear, 0, fullWords);
+        for (int i = fullWords << 3; i < bits.length; i++) {
+            bits[i] = (byte) (linear[i >>> 3] >>> ((i & 7) << 3));
+        }
+        return bits;
+    }
+
+    /**
+     * Unpacks this grid into a new boolean grid.
+     *
+     * @return The boolean grid, true = live cell
+     */
+    public boolean[][] toGrid() {
+        boolean[][] grid = new boolean[height][width];
+        toGrid(grid);
+        return grid;
+    }
+
+    /**
+     * Unpacks this grid into an existing boolean grid of the same dimensions.
+     *
+     * @param target Grid to overwrite
+     */
+    public void toGrid(boolean[][] target) {
+        toGrid(target, 0, height);
+    }
+
+    /**
+     * Packs the rows {@code [fromRow, toRow)} of a boolean grid into this grid.
+     *
+     * @param grid Source grid of the same dimensions
+     * @param fromRow First row (inclusive)
+     * @param toRow Last row (exclusive)
+     */
+    public void setRows(boolean[][] grid, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            boolean[] cells = grid[row];
+            int offset = row * wordsPerRow;
+            int col = 0;
+            for (int w = 0; w < wordsPerRow; w++) {
+                // Assemble each word in a register instead of read-modify-writing the array
+                long word = 0;
+                int end = Math.min(col + 64, width);
+                for (int bit = 0; col < end; col++, bit++) {
+                    if (cells[col]) {
+                        word |= 1L << bit;
+                    }
+                }
+                words[offset + w] = word;
+            }
+        }
+    }
+
+    /**
+     * Unpacks the rows {@code [fromRow, toRow)} into an existing boolean grid.
+     *
+     * @param target Grid of the same dimensions to overwrite
+     * @param fromRow First row (inclusive)
+     * @param toRow Last row (exclusive)
+     */
+    public void toGrid(boolean[][] target, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            boolean[] cells = target[row];
+            int offset = row * wordsPerRow;
+            int col = 0;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = words[offset + w];
+                int end = Math.min(col + 64, width);
+                for (; col < end; col++, word >>>= 1) {
+                    cells[col] = (word & 1L) != 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares this grid cell by cell with a boolean grid, without packing it.
+     *
+     * @param grid Boolean grid, true = live cell
+     * @return true if both grids have the same dimensions and cells
+     */
+    public boolean matches(boolean[][] grid) {
+        if (grid.length != height || (height > 0 && grid[0].length != width)) {
+            return false;
+        }
+        for (int row = 0; row < height; row++) {
+            boolean[] cells = grid[row];
+            int offset = row * wordsPerRow;
+            for (int col = 0; col < width; col++) {
+                if (cells[col] != (((words[offset + (col >>> 6)] >>> col) & 1L) != 0)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean get(int row, int col) {
+        return ((words[row * wordsPerRow + (col >>> 6)] >>> col) & 1L) != 0;
+    }
+
+    public void set(int row, int col, boolean alive) {
+        int index = row * wordsPerRow + (col >>> 6);
+        if (alive) {
+            words[index] |= 1L << col;
+        } else {
+            words[index] &= ~(1L << col);
+        }
+    }
+
+    /**
+     * Sets the cells {@code [fromCol, toCol)} of a row alive, a word at a time.
+     *
+     * @param row Row index
+     * @param fromCol First column (inclusive)
+     * @param toCol Last column (exclusive)
+     */
+    public void setRun(int row, int fromCol, int toCol) {
+        if (fromCol >= toCol) {
+            return;
+        }
+        int offset = row * wordsPerRow;
+        int firstWord = fromCol >>> 6;
+        int lastWord = (toCol - 1) >>> 6;
+        long firstMask = -1L << fromCol;
+        long lastMask = -1L >>> (63 - ((toCol - 1) & 63));
+
+        if (firstWord == lastWord) {
+            words[offset + firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[offset + firstWord] |= firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            words[offset + word] = -1L;
+        }
+        words[offset + lastWord] |= lastMask;
+    }
+
+    /**
+     * Counts the live cells in the grid.
+     *
+     * @return Number of live cells
+     */
+    public long population() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Clears every cell in the grid.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Overwrites this grid with the contents of another grid of the same dimensions.
+     *
+     * @param other Source grid
+     */
+    public void copyFrom(PackedGrid other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("Grid dimensions do not match");
+        }
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    public PackedGrid copy() {
+        PackedGrid copy = new PackedGrid(width, height);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public int getWordsPerRow() { return wordsPerRow; }
+
+    /**
+     * Mask of the valid bits in the last word of each row.
+     */
+    public long getLastWordMask() { return lastWordMask; }
+
+    /**
+     * Backing word array, row-major with {@link #getWordsPerRow()} words per row.
+     * Exposed for engines that operate on the packed representation directly.
+     */
+    public long[] getWords() { return words; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PackedGrid)) {
+            return false;
+        }
+        PackedGrid other = (PackedGrid) o;
+        return width == other.width && height == other.height && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(words);
+    }
+}
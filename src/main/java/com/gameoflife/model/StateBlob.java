@@ -0,0 +1,82 @@
+package com.gameoflife.model;
+
+import com.gameoflife.model.codec.CodecType;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted state payload (a full state or a delta), stored once per distinct
+ * content. Boards refer to a blob by the SHA-256 hash of its codec and data,
+ * so stable boards and oscillators that keep producing the same payload
+ * share a single row.
+ */
+@Entity
+@Table(name = "state_blobs")
+public class StateBlob implements Persistable<String> {
+
+    /**
+     * Hex SHA-256 of the codec and data
+     */
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "codec", length = 16)
+    private CodecType codec;
+
+    @Lob
+    @Column(name = "data")
+    private byte[] data;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Blobs are only ever inserted, never merged, so a new instance is always new
+     */
+    @Transient
+    private boolean isNew = true;
+
+    // Default constructor
+    public StateBlob() {
+    }
+
+    public StateBlob(String hash, CodecType codec, byte[] data) {
+        this.hash = hash;
+        this.codec = codec;
+        this.data = data;
+    }
+
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+
+    public CodecType getCodec() { return codec; }
+    public void setCodec(CodecType codec) { this.codec = codec; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String getId() { return hash; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        this.isNew = false;
+    }
+}
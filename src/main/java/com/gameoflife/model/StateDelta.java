@@ -0,0 +1,32 @@
+package com.gameoflife.model;
+
+/**
+ * XOR delta between two board states of the same dimensions.
+ * Consecutive generations differ in few cells, so the delta is mostly zero
+ * bits and compresses far better than the state itself. A delta is
+ * restored by decoding it onto a copy of its keyframe, see
+ * {@link com.gameoflife.model.codec.StateCodec#decodeXor(byte[], int, byte[])}.
+ */
+public final class StateDelta {
+
+    private StateDelta() {
+    }
+
+    /**
+     * Computes the delta of a state against a keyframe.
+     *
+     * @param keyframe Full state data of the keyframe
+     * @param state Full state data, same length as {@code keyframe}
+     * @return XOR of both states
+     */
+    public static byte[] encode(byte[] keyframe, byte[] state) {
+        if (keyframe.length != state.length) {
+            throw new IllegalArgumentException("State sizes do not match");
+        }
+        byte[] delta = new byte[state.length];
+        for (int i = 0; i < delta.length; i++) {
+            delta[i] = (byte) (keyframe[i] ^ state[i]);
+        }
+        return delta;
+    }
+}
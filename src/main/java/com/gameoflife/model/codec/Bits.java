@@ -0,0 +1,137 @@
+package com.gameoflife.model.codec;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Bitset and varint helpers shared by the codecs.
+ */
+final class Bits {
+
+    private Bits() {
+    }
+
+    /**
+     * Reports the runs of set bits among the first {@code cells} bits,
+     * skipping zero bytes at once.
+     */
+    static void forEachRun(byte[] bits, int cells, CellRunSink sink) {
+        int runStart = -1;
+        int bytes = Math.min(bits.length, (cells + 7) / 8);
+
+        for (int i = 0; i < bytes; i++) {
+            int value = bits[i] & 0xFF;
+            if (value == 0 && runStart < 0) {
+                continue;
+            }
+            if (value == 0xFF && runStart >= 0) {
+                continue;
+            }
+            for (int bit = 0; bit < 8; bit++) {
+                int cell = i * 8 + bit;
+                boolean live = ((value >>> bit) & 1) != 0 && cell < cells;
+                if (live && runStart < 0) {
+                    runStart = cell;
+                } else if (!live && runStart >= 0) {
+                    sink.live(runStart, cell - runStart);
+                    runStart = -1;
+                }
+            }
+        }
+
+        if (runStart >= 0) {
+            int end = Math.min(cells, bytes * 8);
+            sink.live(runStart, end - runStart);
+        }
+    }
+
+    static void setRun(byte[] bits, int start, int length) {
+        int end = start + length;
+        int cell = start;
+        while (cell < end && (cell & 7) != 0) {
+            bits[cell >>> 3] |= 1 << (cell & 7);
+            cell++;
+        }
+        while (cell + 8 <= end) {
+            bits[cell >>> 3] = (byte) 0xFF;
+            cell += 8;
+        }
+        while (cell < end) {
+            bits[cell >>> 3] |= 1 << (cell & 7);
+            cell++;
+        }
+    }
+
+    static void flipRun(byte[] bits, int start, int length) {
+        int end = start + length;
+        int cell = start;
+        while (cell < end && (cell & 7) != 0) {
+            bits[cell >>> 3] ^= 1 << (cell & 7);
+            cell++;
+        }
+        while (cell + 8 <= end) {
+            bits[cell >>> 3] ^= (byte) 0xFF;
+            cell += 8;
+        }
+        while (cell < end) {
+            bits[cell >>> 3] ^= 1 << (cell & 7);
+            cell++;
+        }
+    }
+
+    static void xor(byte[] target, byte[] bits, int length) {
+        for (int i = 0; i < length; i++) {
+            target[i] ^= bits[i];
+        }
+    }
+
+    static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Sequential reader over an encoded byte array.
+     */
+    static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        boolean hasMore() {
+            return position < data.length;
+        }
+
+        int readByte() {
+            return data[position++] & 0xFF;
+        }
+
+        int readShort() {
+            return readByte() | readByte() << 8;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        int position() {
+            return position;
+        }
+
+        void skip(int bytes) {
+            position += bytes;
+        }
+    }
+}
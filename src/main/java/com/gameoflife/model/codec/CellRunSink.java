@@ -0,0 +1,15 @@
+package com.gameoflife.model.codec;
+
+/**
+ * Receives the live cells of a decoded state as runs of consecutive cells,
+ * in increasing order. Cells are numbered row by row ({@code row * width + col}).
+ */
+@FunctionalInterface
+public interface CellRunSink {
+
+    /**
+     * @param start Index of the first live cell of the run
+     * @param length Number of live cells in the run (at least 1)
+     */
+    void live(int start, int length);
+}
@@ -0,0 +1,114 @@
+package com.gameoflife.model.codec;
+
+/**
+ * Codecs a board state can be stored with. The name is persisted with the
+ * board, so constants must not be renamed.
+ */
+public enum CodecType {
+
+    RAW(new RawCodec()),
+    RLE(new RunLengthCodec()),
+    ROARING(new RoaringCodec()),
+    DEFLATE(new DeflateCodec());
+
+    private final StateCodec codec;
+
+    CodecType(StateCodec codec) {
+        this.codec = codec;
+    }
+
+    public StateCodec codec() {
+        return codec;
+    }
+
+    /**
+     * Encodes a state with the codec that suits it, running at most two
+     * encoders. The sizes of the run-length and Roaring encodings follow
+     * from the runs of live cells, so one pass over the bitset measures
+     * both and the smaller one is encoded. A state whose runs do not beat
+     * the bitset by far is noisy or has repeating structure: deflate is
+     * tried as well, and the raw bitset is the fallback.
+     *
+     * @param bits State as a bitset
+     * @param cells Number of cells (width * height)
+     * @return The chosen encoding
+     */
+    public static EncodedState encode(byte[] bits, int cells) {
+        int rawSize = (cells + 7) / 8;
+        RunStats stats = new RunStats();
+        Bits.forEachRun(bits, cells, stats);
+        stats.flushChunk();
+
+        CodecType runs = stats.roaringSize < stats.runLengthSize ? ROARING : RLE;
+        long runsSize = Math.min(stats.roaringSize, stats.runLengthSize);
+        if (runsSize <= rawSize / 8) {
+            return new EncodedState(runs, runs.codec.encode(bits, cells));
+        }
+
+        byte[] deflated = DEFLATE.codec.encode(bits, cells);
+        if (deflated.length < runsSize && deflated.length < rawSize) {
+            return new EncodedState(DEFLATE, deflated);
+        }
+        if (runsSize < rawSize) {
+            return new EncodedState(runs, runs.codec.encode(bits, cells));
+        }
+        return new EncodedState(RAW, RAW.codec.encode(bits, cells));
+    }
+
+    /**
+     * Sizes of the run-length and Roaring encodings of a state, computed
+     * from its live runs the way {@link RunLengthCodec} and
+     * {@link RoaringCodec} lay them out.
+     */
+    private static final class RunStats implements CellRunSink {
+        private long runLengthSize;
+        private long roaringSize;
+        private int position;
+        private int chunk = -1;
+        private int chunkRuns;
+        private int chunkCells;
+
+        @Override
+        public void live(int start, int length) {
+            runLengthSize += varIntSize(start - position) + varIntSize(length);
+            position = start + length;
+
+            int end = start + length;
+            while (start < end) {
+                int chunk = start >>> RoaringCodec.CHUNK_BITS;
+                int count = Math.min(end, (chunk + 1) << RoaringCodec.CHUNK_BITS) - start;
+                if (chunk != this.chunk) {
+                    flushChunk();
+                    this.chunk = chunk;
+                }
+                chunkRuns++;
+                chunkCells += count;
+                start += count;
+            }
+        }
+
+        void flushChunk() {
+            if (chunkRuns == 0) {
+                return;
+            }
+            int runSize = 4 * chunkRuns;
+            int arraySize = 2 * chunkCells;
+            int bitmapSize = RoaringCodec.CHUNK_CELLS / 8;
+            long container;
+            if (runSize <= arraySize && runSize <= bitmapSize) {
+                container = varIntSize(chunkRuns) + runSize;
+            } else if (arraySize <= bitmapSize) {
+                container = varIntSize(chunkCells) + arraySize;
+            } else {
+                container = bitmapSize;
+            }
+            roaringSize += varIntSize(chunk) + 1 + container;
+            chunkRuns = 0;
+            chunkCells = 0;
+        }
+
+        private static int varIntSize(int value) {
+            return (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+        }
+    }
+}
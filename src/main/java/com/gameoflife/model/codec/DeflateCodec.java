@@ -0,0 +1,65 @@
+package com.gameoflife.model.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate-compresses the bitset. A good general-purpose fallback for states
+ * with repeating structure that runs and containers do not capture.
+ */
+public final class DeflateCodec implements StateCodec {
+
+    @Override
+    public byte[] encode(byte[] bits, int cells) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bits, 0, (cells + 7) / 8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(64 + bits.length / 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public void decode(byte[] data, int cells, CellRunSink sink) {
+        Bits.forEachRun(decode(data, cells), cells, sink);
+    }
+
+    @Override
+    public void decodeXor(byte[] data, int cells, byte[] target) {
+        Bits.xor(target, decode(data, cells), (cells + 7) / 8);
+    }
+
+    @Override
+    public byte[] decode(byte[] data, int cells) {
+        byte[] bits = new byte[(cells + 7) / 8];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            int length = 0;
+            while (length < bits.length && !inflater.finished()) {
+                int read = inflater.inflate(bits, length, bits.length - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != bits.length) {
+                throw new IllegalStateException("Corrupt deflated state");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt deflated state", e);
+        } finally {
+            inflater.end();
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,23 @@
+package com.gameoflife.model.codec;
+
+/**
+ * A state encoded with a specific codec.
+ */
+public final class EncodedState {
+
+    private final CodecType codec;
+    private final byte[] data;
+
+    public EncodedState(CodecType codec, byte[] data) {
+        this.codec = codec;
+        this.data = data;
+    }
+
+    public CodecType getCodec() {
+        return codec;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+}
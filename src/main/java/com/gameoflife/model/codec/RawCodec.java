@@ -0,0 +1,29 @@
+package com.gameoflife.model.codec;
+
+import java.util.Arrays;
+
+/**
+ * Stores the bitset as it is, one bit per cell.
+ */
+public final class RawCodec implements StateCodec {
+
+    @Override
+    public byte[] encode(byte[] bits, int cells) {
+        return Arrays.copyOf(bits, (cells + 7) / 8);
+    }
+
+    @Override
+    public void decode(byte[] data, int cells, CellRunSink sink) {
+        Bits.forEachRun(data, cells, sink);
+    }
+
+    @Override
+    public byte[] decode(byte[] data, int cells) {
+        return Arrays.copyOf(data, (cells + 7) / 8);
+    }
+
+    @Override
+    public void decodeXor(byte[] data, int cells, byte[] target) {
+        Bits.xor(target, data, Math.min(data.length, (cells + 7) / 8));
+    }
+}
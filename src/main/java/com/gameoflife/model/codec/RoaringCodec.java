@@ -0,0 +1,177 @@
+package com.gameoflife.model.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Roaring-style container format. The cells are split into chunks of 65536;
+ * every chunk with a live cell is stored as the smallest of three containers:
+ * a sorted array of 16-bit offsets (sparse chunks), a plain 8 KiB bitmap
+ * (dense, noisy chunks) or a list of runs (chunks with long live stretches).
+ * Empty chunks are not stored at all.
+ *
+ * <p>Layout per container: varint chunk index, one type byte, then the
+ * payload. Arrays and run lists start with a varint count; offsets and run
+ * bounds are little-endian 16-bit values.</p>
+ */
+public final class RoaringCodec implements StateCodec {
+
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK_CELLS = 1 << CHUNK_BITS;
+
+    private static final int ARRAY = 0;
+    private static final int BITMAP = 1;
+    private static final int RUNS = 2;
+
+    private static final int BITMAP_BYTES = CHUNK_CELLS / 8;
+
+    @Override
+    public byte[] encode(byte[] bits, int cells) {
+        ChunkEncoder encoder = new ChunkEncoder();
+        Bits.forEachRun(bits, cells, (start, length) -> {
+            // Runs crossing a chunk boundary are split
+            int end = start + length;
+            while (start < end) {
+                int chunk = start >>> CHUNK_BITS;
+                int count = Math.min(end, (chunk + 1) << CHUNK_BITS) - start;
+                encoder.add(chunk, start & (CHUNK_CELLS - 1), count);
+                start += count;
+            }
+        });
+        encoder.flush();
+        return encoder.out.toByteArray();
+    }
+
+    @Override
+    public void decode(byte[] data, int cells, CellRunSink sink) {
+        Bits.Reader reader = new Bits.Reader(data);
+        RunMerger merger = new RunMerger(sink);
+
+        while (reader.hasMore()) {
+            int base = reader.readVarInt() << CHUNK_BITS;
+            int type = reader.readByte();
+
+            if (type == ARRAY) {
+                int count = reader.readVarInt();
+                for (int i = 0; i < count; i++) {
+                    merger.live(base + reader.readShort(), 1);
+                }
+            } else if (type == BITMAP) {
+                byte[] bitmap = Arrays.copyOfRange(data, reader.position(), reader.position() + BITMAP_BYTES);
+                reader.skip(BITMAP_BYTES);
+                Bits.forEachRun(bitmap, Math.min(CHUNK_CELLS, cells - base),
+                        (start, length) -> merger.live(base + start, length));
+            } else if (type == RUNS) {
+                int count = reader.readVarInt();
+                for (int i = 0; i < count; i++) {
+                    int start = reader.readShort();
+                    merger.live(base + start, reader.readShort() + 1);
+                }
+            } else {
+                throw new IllegalStateException("Unknown container type " + type);
+            }
+        }
+        merger.flush();
+    }
+
+    /**
+     * Collects the runs of one chunk and writes the smallest container for it.
+     */
+    private static final class ChunkEncoder {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private int chunk = -1;
+        private int[] starts = new int[16];
+        private int[] lengths = new int[16];
+        private int runs;
+        private int cardinality;
+
+        void add(int chunk, int start, int length) {
+            if (chunk != this.chunk) {
+                flush();
+                this.chunk = chunk;
+            }
+            if (runs == starts.length) {
+                starts = Arrays.copyOf(starts, runs * 2);
+                lengths = Arrays.copyOf(lengths, runs * 2);
+            }
+            starts[runs] = start;
+            lengths[runs] = length;
+            runs++;
+            cardinality += length;
+        }
+
+        void flush() {
+            if (runs == 0) {
+                return;
+            }
+
+            int arraySize = 2 * cardinality;
+            int runSize = 4 * runs;
+            Bits.writeVarInt(out, chunk);
+
+            if (runSize <= arraySize && runSize <= BITMAP_BYTES) {
+                out.write(RUNS);
+                Bits.writeVarInt(out, runs);
+                for (int i = 0; i < runs; i++) {
+                    writeShort(starts[i]);
+                    writeShort(lengths[i] - 1);
+                }
+            } else if (arraySize <= BITMAP_BYTES) {
+                out.write(ARRAY);
+                Bits.writeVarInt(out, cardinality);
+                for (int i = 0; i < runs; i++) {
+                    for (int cell = starts[i]; cell < starts[i] + lengths[i]; cell++) {
+                        writeShort(cell);
+                    }
+                }
+            } else {
+                out.write(BITMAP);
+                byte[] bitmap = new byte[BITMAP_BYTES];
+                for (int i = 0; i < runs; i++) {
+                    Bits.setRun(bitmap, starts[i], lengths[i]);
+                }
+                out.write(bitmap, 0, bitmap.length);
+            }
+
+            runs = 0;
+            cardinality = 0;
+        }
+
+        private void writeShort(int value) {
+            out.write(value & 0xFF);
+            out.write(value >>> 8);
+        }
+    }
+
+    /**
+     * Joins adjacent runs (single array cells, or runs touching across a
+     * chunk boundary) before passing them on.
+     */
+    private static final class RunMerger implements CellRunSink {
+        private final CellRunSink sink;
+        private int start = -1;
+        private int length;
+
+        RunMerger(CellRunSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void live(int start, int length) {
+            if (this.start >= 0 && this.start + this.length == start) {
+                this.length += length;
+                return;
+            }
+            flush();
+            this.start = start;
+            this.length = length;
+        }
+
+        void flush() {
+            if (start >= 0) {
+                sink.live(start, length);
+                start = -1;
+            }
+        }
+    }
+}
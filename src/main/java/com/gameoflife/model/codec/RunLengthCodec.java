@@ -0,0 +1,35 @@
+package com.gameoflife.model.codec;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Stores alternating run lengths of dead and live cells as varints,
+ * starting with a (possibly empty) dead run. The trailing dead run is omitted.
+ * Small for boards made of long uniform stretches.
+ */
+public final class RunLengthCodec implements StateCodec {
+
+    @Override
+    public byte[] encode(byte[] bits, int cells) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] position = {0};
+        Bits.forEachRun(bits, cells, (start, length) -> {
+            Bits.writeVarInt(out, start - position[0]);
+            Bits.writeVarInt(out, length);
+            position[0] = start + length;
+        });
+        return out.toByteArray();
+    }
+
+    @Override
+    public void decode(byte[] data, int cells, CellRunSink sink) {
+        Bits.Reader reader = new Bits.Reader(data);
+        int position = 0;
+        while (reader.hasMore()) {
+            position += reader.readVarInt();
+            int length = reader.readVarInt();
+            sink.live(position, length);
+            position += length;
+        }
+    }
+}
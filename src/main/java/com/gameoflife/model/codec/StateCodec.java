@@ -0,0 +1,103 @@
+package com.gameoflife.model.codec;
+
+import com.gameoflife.exception.BoardTooLargeException;
+import com.gameoflife.model.PackedGrid;
+
+/**
+ * Encoding of a board state for storage.
+ * The input of {@link #encode(byte[], int)} is the plain bitset used by
+ * {@link com.gameoflife.model.Board}: cell {@code i} (row by row) is bit
+ * {@code i % 8} of byte {@code i / 8}. Decoding streams runs of live cells,
+ * so the state can be written straight into any representation.
+ *
+ * <p>Cells are addressed with ints, so a state has at most {@link #MAX_CELLS}
+ * cells; {@link #cells(int, int)} counts them and rejects larger boards.</p>
+ */
+public interface StateCodec {
+
+    /**
+     * Largest number of cells whose bitset size {@code (cells + 7) / 8} is still an int.
+     */
+    long MAX_CELLS = Integer.MAX_VALUE - 7;
+
+    /**
+     * Counts the cells of a board for the codecs.
+     *
+     * @param width Number of columns
+     * @param height Number of rows
+     * @return width * height
+     * @throws BoardTooLargeException if the board has more than {@link #MAX_CELLS} cells
+     */
+    static int cells(int width, int height) {
+        long cells = (long) width * height;
+        if (cells > MAX_CELLS) {
+            throw new BoardTooLargeException("Board of " + width + "x" + height
+                    + " cells is too large to be encoded; at most " + MAX_CELLS + " cells can be");
+        }
+        return (int) cells;
+    }
+
+    /**
+     * Encodes a state.
+     *
+     * @param bits State as a bitset
+     * @param cells Number of cells (width * height)
+     * @return Encoded state
+     */
+    byte[] encode(byte[] bits, int cells);
+
+    /**
+     * Decodes a state into runs of live cells.
+     *
+     * @param data Encoded state
+     * @param cells Number of cells (width * height)
+     * @param sink Receives the live runs in increasing order
+     */
+    void decode(byte[] data, int cells, CellRunSink sink);
+
+    /**
+     * Decodes a state into a bitset.
+     *
+     * @param data Encoded state
+     * @param cells Number of cells (width * height)
+     * @return State as a bitset
+     */
+    default byte[] decode(byte[] data, int cells) {
+        byte[] bits = new byte[(cells + 7) / 8];
+        decode(data, cells, (start, length) -> Bits.setRun(bits, start, length));
+        return bits;
+    }
+
+    /**
+     * Decodes a state onto a bitset, flipping every live cell. Applied to a
+     * copy of a keyframe, this restores a state from its XOR delta without
+     * decoding the delta first.
+     *
+     * @param data Encoded state
+     * @param cells Number of cells (width * height)
+     * @param target Bitset of at least {@code (cells + 7) / 8} bytes
+     */
+    default void decodeXor(byte[] data, int cells, byte[] target) {
+        decode(data, cells, (start, length) -> Bits.flipRun(target, start, length));
+    }
+
+    /**
+     * Decodes a state directly into a packed grid, splitting runs at row ends.
+     *
+     * @param data Encoded state
+     * @param target Empty grid with the board's dimensions
+     */
+    default void decode(byte[] data, PackedGrid target) {
+        int width = target.getWidth();
+        decode(data, cells(width, target.getHeight()), (start, length) -> {
+            int end = start + length;
+            while (start < end) {
+                int row = start / width;
+                int col = start - row * width;
+                int count = Math.min(end - start, width - col);
+                target.setRun(row, col, col + count);
+                start += count;
+            }
+        });
+    }
+}
@@ -1,11 +1,17 @@
 package com.gameoflife.model.dto;
 
-import javax.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.gameoflife.model.PackedGrid;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.Size;
+import java.util.Base64;
 
 /**
  * Data Transfer Object for board creation requests.
- * Represents the initial state of a Game of Life board.
+ * Represents the initial state of a Game of Life board, either as a boolean
+ * grid or as a base64 bitset with its dimensions.
  */
 public class BoardRequest {
 
@@ -13,15 +19,45 @@ public class BoardRequest {
      * 2D array representing the board state.
      * true = live cell, false = dead cell
      */
-    @NotNull(message = "Initial board state is required")
     @Size(min = 1, message = "Board must have at least one row")
     private boolean[][] initialState;
 
+    /**
+     * Board state as a base64 row-major bitset, an alternative to {@link #initialState}:
+     * cell {@code (row, col)} is bit {@code (row * width + col) % 8} of byte
+     * {@code (row * width + col) / 8}. Requires {@link #width} and {@link #height}.
+     */
+    private String stateBits;
+
+    /**
+     * Number of columns of {@link #stateBits}
+     */
+    private Integer width;
+
+    /**
+     * Number of rows of {@link #stateBits}
+     */
+    private Integer height;
+
+    /**
+     * State already decoded from a binary request body or from {@link #stateBits}
+     */
+    @JsonIgnore
+    private PackedGrid packedState;
+
     /**
      * Optional name for this board
      */
     private String name;
 
+    /**
+     * Optional number of generations between checkpoints saved while this
+     * board and the boards computed from it are simulated (0 = none).
+     * Uses the configured default if absent.
+     */
+    @Min(value = 0, message = "Checkpoint interval must be non-negative")
+    private Integer checkpointInterval;
+
     /**
      * Default constructor
      */
@@ -36,14 +72,31 @@ public class BoardRequest {
         this.name = name;
     }
 
+    /**
+     * Checks that the request carries a state in one of its representations.
+     */
+    @AssertTrue(message = "Initial board state is required")
+    @JsonIgnore
+    public boolean isStatePresent() {
+        return initialState != null || stateBits != null || packedState != null;
+    }
+
     /**
      * Validates that the board is rectangular (all rows have the same length)
-     * and has at least one column.
+     * and has at least one column. A bitset must hold exactly one bit per cell.
      *
      * @return true if the board is valid
      */
     public boolean isValid() {
-        if (initialState == null || initialState.length == 0) {
+        if (initialState == null) {
+            try {
+                PackedGrid state = toPackedGrid();
+                return state != null && state.getWidth() > 0 && state.getHeight() > 0;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        if (initialState.length == 0) {
             return false;
         }
 
@@ -61,13 +114,40 @@ public class BoardRequest {
         return true;
     }
 
+    /**
+     * Packs the state, whichever representation it was sent in.
+     *
+     * @return The packed state, or null if the request has none
+     * @throws IllegalArgumentException if the bitset is not valid base64 or does not match the dimensions
+     */
+    public PackedGrid toPackedGrid() {
+        if (packedState == null && initialState != null) {
+            return PackedGrid.fromGrid(initialState);
+        }
+        if (packedState == null && stateBits != null) {
+            if (width == null || height == null || width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("A state bitset requires a positive width and height");
+            }
+            byte[] bits = Base64.getDecoder().decode(stateBits);
+            if (bits.length != ((long) width * height + 7) / 8) {
+                throw new IllegalArgumentException("State bitset of " + bits.length
+                        + " bytes does not match " + width + "x" + height + " cells");
+            }
+            packedState = PackedGrid.fromBitset(bits, width, height);
+        }
+        return packedState;
+    }
+
     /**
      * Gets the width of the board.
      *
      * @return width of the board
      */
     public int getWidth() {
-        return initialState[0].length;
+        if (initialState != null) {
+            return initialState[0].length;
+        }
+        return packedState != null ? packedState.getWidth() : width != null ? width : 0;
     }
 
     /**
@@ -76,7 +156,10 @@ public class BoardRequest {
      * @return height of the board
      */
     public int getHeight() {
-        return initialState.length;
+        if (initialState != null) {
+            return initialState.length;
+        }
+        return packedState != null ? packedState.getHeight() : height != null ? height : 0;
     }
 
     // Getters and setters
@@ -88,6 +171,32 @@ public class BoardRequest {
         this.initialState = initialState;
     }
 
+    public String getStateBits() {
+        return stateBits;
+    }
+
+    public void setStateBits(String stateBits) {
+        this.stateBits = stateBits;
+        this.packedState = null;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    @JsonIgnore
+    public PackedGrid getPackedState() {
+        return packedState;
+    }
+
+    public void setPackedState(PackedGrid packedState) {
+        this.packedState = packedState;
+    }
+
     public String getName() {
         return name;
     }
@@ -95,4 +204,12 @@ public class BoardRequest {
     public void setName(String name) {
         this.name = name;
     }
-}
\ No newline at end of file
+
+    public Integer getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(Integer checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+}
@@ -1,6 +1,12 @@
 package com.gameoflife.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.gameoflife.model.PackedGrid;
+
 import java.time.LocalDateTime;
+import java.util.Base64;
 
 /**
  * Data Transfer Object for board responses.
@@ -19,6 +25,13 @@ public class BoardResponse {
      */
     private boolean[][] state;
 
+    /**
+     * Current state of the board, packed. This is what is serialized as
+     * {@code state}, a row at a time by {@link PackedStateSerializer};
+     * {@link #getState()} only unpacks it for Java callers.
+     */
+    private PackedGrid packedState;
+
     /**
      * Width of the board
      */
@@ -54,6 +67,46 @@ public class BoardResponse {
      */
     private int liveCellCount;
 
+    /**
+     * Board this state was computed from, null for boards created by a client
+     */
+    private Long parentId;
+
+    /**
+     * First board of the lineage this state belongs to, null for boards created by a client
+     */
+    private Long rootId;
+
+    /**
+     * Period of the cycle the board settled into (1 for a still life).
+     * Only set for final states computed by cycle detection.
+     */
+    private Integer period;
+
+    /**
+     * Number of generations before the board entered its cycle.
+     * Only set for final states computed by cycle detection.
+     */
+    private Integer transientLength;
+
+    /**
+     * Live cell count of every generation from the analysed board through the
+     * transient and one full period ({@code transientLength + period} entries).
+     * Only set for final states computed by cycle detection.
+     */
+    private int[] populations;
+
+    /**
+     * Name of the engine selected to compute this state, if one was used
+     */
+    private String engine;
+
+    /**
+     * Whether this state was taken from the transition cache instead of being
+     * computed by {@link #engine}. Only set for computed states.
+     */
+    private Boolean fromCache;
+
     /**
      * Default constructor
      */
@@ -90,6 +143,9 @@ public class BoardResponse {
      * @return Count of live cells
      */
     public int calculateLiveCellCount() {
+        if (state == null && packedState != null) {
+            return (int) packedState.population();
+        }
         int count = 0;
         for (boolean[] row : state) {
             for (boolean cell : row) {
@@ -110,12 +166,49 @@ public class BoardResponse {
         this.id = id;
     }
 
+    @JsonIgnore
     public boolean[][] getState() {
+        if (state == null && packedState != null) {
+            state = packedState.toGrid();
+        }
         return state;
     }
 
     public void setState(boolean[][] state) {
         this.state = state;
+        this.packedState = null;
+    }
+
+    /**
+     * Gets the state packed, packing the boolean grid if the state was set as one.
+     *
+     * @return The packed state, or null if the response has no state
+     */
+    @JsonProperty("state")
+    @JsonSerialize(using = PackedStateSerializer.class)
+    public PackedGrid getPackedState() {
+        if (packedState == null && state != null) {
+            packedState = PackedGrid.fromGrid(state);
+        }
+        return packedState;
+    }
+
+    @JsonIgnore
+    public void setPackedState(PackedGrid packedState) {
+        this.packedState = packedState;
+        this.state = null;
+    }
+
+    /**
+     * Gets the state as a base64 row-major bitset, see {@code BoardRequest.stateBits}.
+     * Only serialized in packed JSON responses.
+     *
+     * @return The bitset, or null if the response has no state
+     */
+    @JsonIgnore
+    public String getStateBits() {
+        PackedGrid packed = getPackedState();
+        return packed != null ? Base64.getEncoder().encodeToString(packed.toBitset()) : null;
     }
 
     public int getWidth() {
@@ -174,12 +267,69 @@ public class BoardResponse {
         this.liveCellCount = liveCellCount;
     }
 
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Long getRootId() {
+        return rootId;
+    }
+
+    public void setRootId(Long rootId) {
+        this.rootId = rootId;
+    }
+
+    public Integer getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(Integer period) {
+        this.period = period;
+    }
+
+    public Integer getTransientLength() {
+        return transientLength;
+    }
+
+    public void setTransientLength(Integer transientLength) {
+        this.transientLength = transientLength;
+    }
+
+    public int[] getPopulations() {
+        return populations;
+    }
+
+    public void setPopulations(int[] populations) {
+        this.populations = populations;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public Boolean getFromCache() {
+        return fromCache;
+    }
+
+    public void setFromCache(Boolean fromCache) {
+        this.fromCache = fromCache;
+    }
+
     /**
      * Builder class for BoardResponse
      */
     public static class BoardResponseBuilder {
         private Long id;
         private boolean[][] state;
+        private PackedGrid packedState;
         private int width;
         private int height;
         private int generation;
@@ -187,6 +337,12 @@ public class BoardResponse {
         private LocalDateTime updatedAt;
         private boolean finalState;
         private int liveCellCount;
+        private Long parentId;
+        private Long rootId;
+        private Integer period;
+        private Integer transientLength;
+        private int[] populations;
+        private String engine;
 
         BoardResponseBuilder() {
         }
@@ -201,6 +357,11 @@ public class BoardResponse {
             return this;
         }
 
+        public BoardResponseBuilder packedState(PackedGrid packedState) {
+            this.packedState = packedState;
+            return this;
+        }
+
         public BoardResponseBuilder width(int width) {
             this.width = width;
             return this;
@@ -236,8 +397,49 @@ public class BoardResponse {
             return this;
         }
 
+        public BoardResponseBuilder parentId(Long parentId) {
+            this.parentId = parentId;
+            return this;
+        }
+
+        public BoardResponseBuilder rootId(Long rootId) {
+            this.rootId = rootId;
+            return this;
+        }
+
+        public BoardResponseBuilder period(Integer period) {
+            this.period = period;
+            return this;
+        }
+
+        public BoardResponseBuilder transientLength(Integer transientLength) {
+            this.transientLength = transientLength;
+            return this;
+        }
+
+        public BoardResponseBuilder populations(int[] populations) {
+            this.populations = populations;
+            return this;
+        }
+
+        public BoardResponseBuilder engine(String engine) {
+            this.engine = engine;
+            return this;
+        }
+
         public BoardResponse build() {
-            return new BoardResponse(id, state, width, height, generation, createdAt, updatedAt, finalState, liveCellCount);
+            BoardResponse response = new BoardResponse(id, state, width, height, generation, createdAt, updatedAt,
+                    finalState, liveCellCount);
+            if (packedState != null) {
+                response.setPackedState(packedState);
+            }
+            response.setParentId(parentId);
+            response.setRootId(rootId);
+            response.setPeriod(period);
+            response.setTransientLength(transientLength);
+            response.setPopulations(populations);
+            response.setEngine(engine);
+            return response;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.gameoflife.model.dto;
+
+import com.gameoflife.model.PackedGrid;
+
+import java.util.Base64;
+
+/**
+ * Data Transfer Object for one generation of a streamed board.
+ * Sent as the data of a server-sent event; the state is a base64 row-major
+ * bitset, like {@code stateBits} in packed board responses.
+ */
+public class GenerationEvent {
+
+    /**
+     * ID of the board the stream started from
+     */
+    private final Long boardId;
+
+    /**
+     * Generation number
+     */
+    private final int generation;
+
+    private final int width;
+
+    private final int height;
+
+    /**
+     * Number of live cells
+     */
+    private final long liveCellCount;
+
+    /**
+     * Whether this generation is a final state, which ends the stream
+     */
+    private final boolean finalState;
+
+    /**
+     * Cycle length if this generation is a final state, otherwise null
+     */
+    private final Integer period;
+
+    /**
+     * Engine that computed the generation
+     */
+    private final String engine;
+
+    /**
+     * State as a base64 row-major bitset
+     */
+    private final String stateBits;
+
+    public GenerationEvent(Long boardId, int generation, PackedGrid state, boolean finalState, Integer period,
+                           String engine) {
+        this.boardId = boardId;
+        this.generation = generation;
+        this.width = state.getWidth();
+        this.height = state.getHeight();
+        this.liveCellCount = state.population();
+        this.finalState = finalState;
+        this.period = period;
+        this.engine = engine;
+        this.stateBits = Base64.getEncoder().encodeToString(state.toBitset());
+    }
+
+    public Long getBoardId() { return boardId; }
+
+    public int getGeneration() { return generation; }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public long getLiveCellCount() { return liveCellCount; }
+
+    public boolean isFinalState() { return finalState; }
+
+    public Integer getPeriod() { return period; }
+
+    public String getEngine() { return engine; }
+
+    public String getStateBits() { return stateBits; }
+}
@@ -0,0 +1,47 @@
+package com.gameoflife.model.dto;
+
+/**
+ * Data Transfer Object for a command a viewer sends to a live board,
+ * as a WebSocket text message.
+ */
+public class LiveCommand {
+
+    /**
+     * One of {@code pause}, {@code resume}, {@code speed} and {@code set}
+     */
+    private String type;
+
+    /**
+     * Generations per second, for {@code speed}
+     */
+    private Double rate;
+
+    /**
+     * Cells as {@code [row, column]} pairs, for {@code set}
+     */
+    private int[][] cells;
+
+    /**
+     * Whether the cells become alive or dead, for {@code set}; alive if absent
+     */
+    private Boolean alive;
+
+    public LiveCommand() {
+    }
+
+    public String getType() { return type; }
+
+    public void setType(String type) { this.type = type; }
+
+    public Double getRate() { return rate; }
+
+    public void setRate(Double rate) { this.rate = rate; }
+
+    public int[][] getCells() { return cells; }
+
+    public void setCells(int[][] cells) { this.cells = cells; }
+
+    public Boolean getAlive() { return alive; }
+
+    public void setAlive(Boolean alive) { this.alive = alive; }
+}
@@ -0,0 +1,80 @@
+package com.gameoflife.model.dto;
+
+/**
+ * Data Transfer Object for the status of a live board, sent to its viewers
+ * as a WebSocket text message whenever it changes other than by a generation.
+ */
+public class LiveStatus {
+
+    private final String type = "status";
+
+    /**
+     * ID of the board the live board started from
+     */
+    private final Long boardId;
+
+    /**
+     * Current generation
+     */
+    private final int generation;
+
+    /**
+     * Whether the simulation is paused
+     */
+    private final boolean paused;
+
+    /**
+     * Generations per second
+     */
+    private final double rate;
+
+    /**
+     * Number of connected viewers
+     */
+    private final int viewers;
+
+    /**
+     * Whether the current generation is a final state, which stops the simulation
+     */
+    private final boolean finalState;
+
+    /**
+     * Cycle length if the current generation is a final state, otherwise null
+     */
+    private final Integer period;
+
+    /**
+     * Engine that computes the generations
+     */
+    private final String engine;
+
+    public LiveStatus(Long boardId, int generation, boolean paused, double rate, int viewers, boolean finalState,
+                      Integer period, String engine) {
+        this.boardId = boardId;
+        this.generation = generation;
+        this.paused = paused;
+        this.rate = rate;
+        this.viewers = viewers;
+        this.finalState = finalState;
+        this.period = period;
+        this.engine = engine;
+    }
+
+    public String getType() { return type; }
+
+    public Long getBoardId() { return boardId; }
+
+    public int getGeneration() { return generation; }
+
+    public boolean isPaused() { return paused; }
+
+    public double getRate() { return rate; }
+
+    public int getViewers() { return viewers; }
+
+    public boolean isFinalState() { return finalState; }
+
+    public Integer getPeriod() { return period; }
+
+    public String getEngine() { return engine; }
+}
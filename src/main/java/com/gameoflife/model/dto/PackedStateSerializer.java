@@ -0,0 +1,55 @@
+package com.gameoflife.model.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.gameoflife.model.PackedGrid;
+
+import java.io.IOException;
+
+/**
+ * Writes a packed state as the JSON array of boolean rows clients expect,
+ * reading the packed words directly. No boolean grid is built and nothing
+ * but the generator's own buffer is held, so memory stays constant whatever
+ * the board size and the response is flushed to the client in chunks while
+ * later rows are still being written.
+ */
+public class PackedStateSerializer extends StdSerializer<PackedGrid> {
+
+    /**
+     * Cells are written as pre-encoded raw tokens, which the generator copies
+     * without going through its per-value bookkeeping.
+     */
+    private static final SerializedString FIRST_LIVE = new SerializedString("true");
+    private static final SerializedString FIRST_DEAD = new SerializedString("false");
+    private static final SerializedString NEXT_LIVE = new SerializedString(",true");
+    private static final SerializedString NEXT_DEAD = new SerializedString(",false");
+
+    public PackedStateSerializer() {
+        super(PackedGrid.class);
+    }
+
+    @Override
+    public void serialize(PackedGrid grid, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int wordsPerRow = grid.getWordsPerRow();
+        long[] words = grid.getWords();
+
+        gen.writeStartArray(grid, height);
+        for (int row = 0; row < height; row++) {
+            int offset = row * wordsPerRow;
+            // The generator writes the brackets and the separators between rows
+            gen.writeStartArray(null, width);
+            if (width > 0) {
+                gen.writeRaw((words[offset] & 1L) != 0 ? FIRST_LIVE : FIRST_DEAD);
+            }
+            for (int col = 1; col < width; col++) {
+                gen.writeRaw(((words[offset + (col >>> 6)] >>> col) & 1L) != 0 ? NEXT_LIVE : NEXT_DEAD);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,103 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.exception.InvalidPatternException;
+import com.gameoflife.model.PackedGrid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Life 1.06 patterns ({@code .lif}): a {@code #Life 1.06} line, then one
+ * {@code x y} line per live cell. Coordinates may be negative; the imported
+ * board spans the bounding box of the live cells. Exported coordinates are
+ * the cells' columns and rows.
+ *
+ * <p>The bounding box is only known at the end, so only the coordinates of
+ * the live cells are buffered while reading.</p>
+ */
+final class Life106PatternCodec implements PatternCodec {
+
+    static final String HEADER = "#Life 1.06";
+
+    @Override
+    public PackedGrid read(Reader in, long maxCells) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        String line = reader.readLine();
+        if (line == null || !line.trim().equalsIgnoreCase(HEADER)) {
+            throw new InvalidPatternException("Life 1.06 pattern must start with " + HEADER);
+        }
+
+        int[] xs = new int[64];
+        int[] ys = new int[64];
+        int cells = 0;
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] coordinates = line.split("\\s+");
+            if (coordinates.length != 2) {
+                throw error(lineNumber, "expected \"x y\"");
+            }
+            int x;
+            int y;
+            try {
+                x = Integer.parseInt(coordinates[0]);
+                y = Integer.parseInt(coordinates[1]);
+            } catch (NumberFormatException e) {
+                throw error(lineNumber, "invalid coordinate");
+            }
+            if (cells == xs.length) {
+                xs = Arrays.copyOf(xs, cells * 2);
+                ys = Arrays.copyOf(ys, cells * 2);
+            }
+            xs[cells] = x;
+            ys[cells] = y;
+            cells++;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        if (cells == 0) {
+            throw new InvalidPatternException("Life 1.06 pattern has no live cells");
+        }
+
+        PackedGrid grid = Patterns.grid((long) maxX - minX + 1, (long) maxY - minY + 1, maxCells);
+        for (int i = 0; i < cells; i++) {
+            grid.set(ys[i] - minY, xs[i] - minX, true);
+        }
+        return grid;
+    }
+
+    private static InvalidPatternException error(int line, String message) {
+        return new InvalidPatternException("Invalid Life 1.06 pattern at line " + line + ": " + message);
+    }
+
+    @Override
+    public void write(int width, int height, RowSource rows, Writer out) throws IOException {
+        out.write(HEADER);
+        out.write('\n');
+        long[] words = new long[(width + 63) >>> 6];
+        for (int row = 0; row < height; row++) {
+            rows.readRow(row, words);
+            String suffix = " " + row + "\n";
+            Patterns.forEachRun(words, words.length, (from, to) -> {
+                for (int col = from; col < to; col++) {
+                    out.write(Integer.toString(col));
+                    out.write(suffix);
+                }
+            });
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,48 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.model.PackedGrid;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Text format of a Life pattern. Reading streams the input and sets cells
+ * straight in a {@link PackedGrid}; writing streams a row at a time. Neither
+ * ever builds a boolean grid.
+ */
+public interface PatternCodec {
+
+    /**
+     * Reads a pattern of any size a packed grid can hold.
+     *
+     * @param in Pattern text; read to the end of the pattern, not closed
+     * @return The pattern as a packed grid
+     * @throws com.gameoflife.exception.InvalidPatternException if the text is not a valid pattern
+     */
+    default PackedGrid read(Reader in) throws IOException {
+        return read(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads a pattern, rejecting it before its grid is allocated if it has
+     * more cells than allowed.
+     *
+     * @param in Pattern text; read to the end of the pattern, not closed
+     * @param maxCells Maximum number of cells (width * height) of the pattern
+     * @return The pattern as a packed grid
+     * @throws com.gameoflife.exception.InvalidPatternException if the text is not a valid pattern
+     *         or the pattern is too large
+     */
+    PackedGrid read(Reader in, long maxCells) throws IOException;
+
+    /**
+     * Writes a board as a pattern.
+     *
+     * @param width Number of columns
+     * @param height Number of rows
+     * @param rows The board's rows
+     * @param out Destination; flushed, not closed
+     */
+    void write(int width, int height, RowSource rows, Writer out) throws IOException;
+}
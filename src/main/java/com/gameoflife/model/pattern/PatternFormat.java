@@ -0,0 +1,49 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.exception.InvalidPatternException;
+
+/**
+ * Pattern formats boards can be imported from and exported to.
+ */
+public enum PatternFormat {
+
+    RLE("rle", new RlePatternCodec()),
+    PLAINTEXT("cells", new PlaintextPatternCodec()),
+    LIFE_106("lif", new Life106PatternCodec());
+
+    private final String extension;
+    private final PatternCodec codec;
+
+    PatternFormat(String extension, PatternCodec codec) {
+        this.extension = extension;
+        this.codec = codec;
+    }
+
+    public PatternCodec codec() {
+        return codec;
+    }
+
+    /**
+     * File extension, also accepted as the format name.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Finds a format by name ({@code rle}, {@code plaintext}, {@code life_106})
+     * or by file extension ({@code rle}, {@code cells}, {@code lif}), ignoring case.
+     *
+     * @param name Format name or extension
+     * @return The format
+     * @throws InvalidPatternException if there is no such format
+     */
+    public static PatternFormat fromName(String name) {
+        for (PatternFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name) || format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new InvalidPatternException("Unknown pattern format: " + name);
+    }
+}
@@ -0,0 +1,34 @@
+package com.gameoflife.model.pattern;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A board's dimensions and rows, ready to be written as a pattern.
+ */
+public final class PatternSource {
+
+    private final int width;
+    private final int height;
+    private final RowSource rows;
+
+    public PatternSource(int width, int height, RowSource rows) {
+        this.width = width;
+        this.height = height;
+        this.rows = rows;
+    }
+
+    /**
+     * Writes the board in a pattern format, a row at a time.
+     *
+     * @param format Pattern format
+     * @param out Destination; flushed, not closed
+     */
+    public void write(PatternFormat format, Writer out) throws IOException {
+        format.codec().write(width, height, rows, out);
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+}
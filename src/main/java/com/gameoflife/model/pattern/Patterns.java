@@ -0,0 +1,84 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.exception.InvalidPatternException;
+import com.gameoflife.model.PackedGrid;
+
+import java.io.IOException;
+
+/**
+ * Helpers shared by the pattern codecs.
+ */
+final class Patterns {
+
+    private Patterns() {
+    }
+
+    /**
+     * Receives runs of live cells {@code [from, to)} of a row.
+     */
+    @FunctionalInterface
+    interface RunConsumer {
+        void run(int from, int to) throws IOException;
+    }
+
+    /**
+     * Reports the runs of live cells of a packed row, skipping dead words at once.
+     */
+    static void forEachRun(long[] row, int words, RunConsumer consumer) throws IOException {
+        int runStart = -1;
+        for (int w = 0; w < words; w++) {
+            long word = row[w];
+            int base = w << 6;
+            int bit = 0;
+            while (bit < 64) {
+                if (runStart < 0) {
+                    long live = word >>> bit;
+                    if (live == 0) {
+                        break;
+                    }
+                    bit += Long.numberOfTrailingZeros(live);
+                    runStart = base + bit;
+                } else {
+                    long dead = ~word >>> bit;
+                    if (dead == 0) {
+                        break;
+                    }
+                    bit += Long.numberOfTrailingZeros(dead);
+                    consumer.run(runStart, base + bit);
+                    runStart = -1;
+                }
+            }
+        }
+        if (runStart >= 0) {
+            // Bits beyond the width are zero, so a run can only reach the end of the last word
+            consumer.run(runStart, words << 6);
+        }
+    }
+
+    /**
+     * Creates the grid of a parsed pattern, rejecting dimensions a packed grid
+     * cannot hold and patterns of more than {@code maxCells} cells.
+     */
+    static PackedGrid grid(long width, long height, long maxCells) {
+        if (width <= 0 || height <= 0) {
+            throw new InvalidPatternException("Pattern is empty");
+        }
+        checkCells(width, height, maxCells);
+        if (width > Integer.MAX_VALUE || height > Integer.MAX_VALUE
+                || ((width + 63) >>> 6) * height > Integer.MAX_VALUE - 8) {
+            throw new InvalidPatternException("Pattern of " + width + "x" + height + " cells is too large");
+        }
+        return new PackedGrid((int) width, (int) height);
+    }
+
+    /**
+     * Rejects a pattern of more than {@code maxCells} cells.
+     */
+    static void checkCells(long width, long height, long maxCells) {
+        // Divided rather than multiplied: RLE headers may declare any long
+        if (height > 0 && width > maxCells / height) {
+            throw new InvalidPatternException("Pattern of " + width + "x" + height
+                    + " cells is larger than the limit of " + maxCells + " cells");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.exception.InvalidPatternException;
+import com.gameoflife.model.PackedGrid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plaintext patterns ({@code .cells}): {@code !} comment lines, then one line
+ * per row with {@code O} for a live and {@code .} for a dead cell. Rows may be
+ * shorter than the widest one; the rest of the row is dead.
+ *
+ * <p>The dimensions are only known at the end, so each row is packed as it
+ * is read and the packed rows are copied into the grid at the end.</p>
+ */
+final class PlaintextPatternCodec implements PatternCodec {
+
+    private static final long[] EMPTY_ROW = new long[0];
+
+    @Override
+    public PackedGrid read(Reader in, long maxCells) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        List<long[]> rows = new ArrayList<>();
+        int width = 0;
+        int height = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.startsWith("!")) {
+                continue;
+            }
+            long[] words = EMPTY_ROW;
+            int length = 0;
+            for (int col = 0; col < line.length(); col++) {
+                char c = line.charAt(col);
+                if (c == 'O' || c == '*') {
+                    if ((col >>> 6) >= words.length) {
+                        words = Arrays.copyOf(words, Math.max((col >>> 6) + 1, words.length * 2));
+                    }
+                    words[col >>> 6] |= 1L << col;
+                    length = col + 1;
+                } else if (c == '.') {
+                    length = col + 1;
+                } else if (!Character.isWhitespace(c)) {
+                    throw new InvalidPatternException("Invalid plaintext pattern at line " + lineNumber
+                            + ": unexpected character '" + c + "'");
+                }
+            }
+            rows.add(words);
+            width = Math.max(width, length);
+            // Rows are buffered as they are read, so the limit is checked as the pattern grows
+            Patterns.checkCells(width, rows.size(), maxCells);
+            if (length > 0) {
+                // Trailing blank lines are not rows
+                height = rows.size();
+            }
+        }
+
+        PackedGrid grid = Patterns.grid(width, height, maxCells);
+        long[] target = grid.getWords();
+        for (int row = 0; row < height; row++) {
+            long[] words = rows.get(row);
+            System.arraycopy(words, 0, target, row * grid.getWordsPerRow(),
+                    Math.min(words.length, grid.getWordsPerRow()));
+        }
+        return grid;
+    }
+
+    @Override
+    public void write(int width, int height, RowSource rows, Writer out) throws IOException {
+        long[] words = new long[(width + 63) >>> 6];
+        char[] line = new char[width + 1];
+        line[width] = '\n';
+        for (int row = 0; row < height; row++) {
+            rows.readRow(row, words);
+            Arrays.fill(line, 0, width, '.');
+            Patterns.forEachRun(words, words.length, (from, to) -> Arrays.fill(line, from, to, 'O'));
+            out.write(line);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,202 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.exception.InvalidPatternException;
+import com.gameoflife.model.PackedGrid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Run Length Encoded patterns ({@code .rle}): {@code #} comment lines, a
+ * header {@code x = width, y = height, rule = B3/S23}, then runs such as
+ * {@code 3o2b$} ({@code o} live, {@code b} dead, {@code $} end of row)
+ * terminated by {@code !}. The header comes first, so runs are set in the
+ * grid as they are read; a multi-megabyte pattern is never held as text.
+ */
+final class RlePatternCodec implements PatternCodec {
+
+    /**
+     * Lines of written patterns are kept shorter than this, as the format recommends.
+     */
+    private static final int MAX_LINE_LENGTH = 70;
+
+    @Override
+    public PackedGrid read(Reader in, long maxCells) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        int line = 0;
+        String header;
+        do {
+            header = reader.readLine();
+            line++;
+            if (header == null) {
+                throw new InvalidPatternException("RLE pattern has no header line");
+            }
+            header = header.trim();
+        } while (header.isEmpty() || header.startsWith("#"));
+
+        PackedGrid grid = readHeader(header, maxCells);
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        line++;
+
+        int row = 0;
+        int col = 0;
+        long count = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c >= '0' && c <= '9') {
+                count = count * 10 + (c - '0');
+                if (count > Integer.MAX_VALUE) {
+                    throw error(line, "run count is too large");
+                }
+                continue;
+            }
+            if (c == '\n') {
+                line++;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+
+            int run = count == 0 ? 1 : (int) count;
+            count = 0;
+            switch (c) {
+                case 'b':
+                case '.':
+                    if (col + (long) run > width) {
+                        throw error(line, "row " + row + " is longer than the width " + width);
+                    }
+                    col += run;
+                    break;
+                case 'o':
+                case 'A':
+                    if (row >= height || col + (long) run > width) {
+                        throw error(line, "live cells outside of " + width + "x" + height);
+                    }
+                    grid.setRun(row, col, col + run);
+                    col += run;
+                    break;
+                case '$':
+                    if (row + (long) run > height) {
+                        throw error(line, "more rows than the height " + height);
+                    }
+                    row += run;
+                    col = 0;
+                    break;
+                case '!':
+                    return grid;
+                default:
+                    throw error(line, "unexpected character '" + (char) c + "'");
+            }
+        }
+        // Tolerate a missing terminator
+        return grid;
+    }
+
+    private static PackedGrid readHeader(String header, long maxCells) {
+        long width = -1;
+        long height = -1;
+        for (String field : header.split(",")) {
+            int equals = field.indexOf('=');
+            if (equals < 0) {
+                throw new InvalidPatternException("Invalid RLE header: " + header);
+            }
+            String key = field.substring(0, equals).trim();
+            String value = field.substring(equals + 1).trim();
+            switch (key) {
+                case "x":
+                    width = parseDimension(value, header);
+                    break;
+                case "y":
+                    height = parseDimension(value, header);
+                    break;
+                case "rule":
+                    checkRule(value);
+                    break;
+                default:
+                    // Other fields are extensions that do not affect two-state patterns
+                    break;
+            }
+        }
+        if (width < 0 || height < 0) {
+            throw new InvalidPatternException("RLE header has no x and y: " + header);
+        }
+        return Patterns.grid(width, height, maxCells);
+    }
+
+    private static long parseDimension(String value, String header) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidPatternException("Invalid RLE header: " + header);
+        }
+    }
+
+    /**
+     * Only Conway's rule is simulated, in B/S or S/B notation.
+     */
+    private static void checkRule(String rule) {
+        String normalized = rule.replace(" ", "").toUpperCase();
+        if (!normalized.equals("B3/S23") && !normalized.equals("23/3")) {
+            throw new InvalidPatternException("Unsupported rule: " + rule);
+        }
+    }
+
+    private static InvalidPatternException error(int line, String message) {
+        return new InvalidPatternException("Invalid RLE pattern at line " + line + ": " + message);
+    }
+
+    @Override
+    public void write(int width, int height, RowSource rows, Writer out) throws IOException {
+        out.write("x = " + width + ", y = " + height + ", rule = B3/S23\n");
+        LineWriter line = new LineWriter(out);
+        long[] words = new long[(width + 63) >>> 6];
+        int pendingRows = 0;
+        for (int row = 0; row < height; row++) {
+            rows.readRow(row, words);
+            int[] col = {0};
+            int[] endsBefore = {pendingRows};
+            Patterns.forEachRun(words, words.length, (from, to) -> {
+                if (endsBefore[0] > 0) {
+                    // Empty rows are only written when live cells follow them
+                    line.token(endsBefore[0], '$');
+                    endsBefore[0] = 0;
+                }
+                if (from > col[0]) {
+                    line.token(from - col[0], 'b');
+                }
+                line.token(to - from, 'o');
+                col[0] = to;
+            });
+            pendingRows = endsBefore[0] + 1;
+        }
+        line.token(1, '!');
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Writes run tokens, breaking lines before they get too long.
+     */
+    private static final class LineWriter {
+
+        private final Writer out;
+        private int length;
+
+        LineWriter(Writer out) {
+            this.out = out;
+        }
+
+        void token(int run, char tag) throws IOException {
+            String token = run == 1 ? String.valueOf(tag) : run + String.valueOf(tag);
+            if (length + token.length() > MAX_LINE_LENGTH) {
+                out.write('\n');
+                length = 0;
+            }
+            out.write(token);
+            length += token.length();
+        }
+    }
+}
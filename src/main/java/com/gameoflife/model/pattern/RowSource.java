@@ -0,0 +1,29 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.model.MappedGrid;
+import com.gameoflife.model.PackedGrid;
+
+/**
+ * Supplies the packed rows of a board to a {@link PatternCodec}, so that
+ * patterns are written a row at a time from either a heap or a mapped grid.
+ */
+@FunctionalInterface
+public interface RowSource {
+
+    /**
+     * Copies one row, laid out like a {@link PackedGrid} row.
+     *
+     * @param row Row index
+     * @param dst Destination of at least {@code ceil(width / 64)} words
+     */
+    void readRow(int row, long[] dst);
+
+    static RowSource of(PackedGrid grid) {
+        return (row, dst) -> System.arraycopy(grid.getWords(), row * grid.getWordsPerRow(), dst, 0,
+                grid.getWordsPerRow());
+    }
+
+    static RowSource of(MappedGrid grid) {
+        return (row, dst) -> grid.readRow(row, dst, 0);
+    }
+}
@@ -0,0 +1,12 @@
+package com.gameoflife.repository;
+
+import com.gameoflife.model.BoardAnalysis;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for BoardAnalysis entity, keyed by the id of the analysed board.
+ */
+@Repository
+public interface BoardAnalysisRepository extends JpaRepository<BoardAnalysis, Long> {
+}
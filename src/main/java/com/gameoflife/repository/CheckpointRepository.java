@@ -0,0 +1,22 @@
+package com.gameoflife.repository;
+
+import com.gameoflife.model.Checkpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for Checkpoint entity.
+ */
+@Repository
+public interface CheckpointRepository extends JpaRepository<Checkpoint, Long> {
+
+    /**
+     * Finds the latest checkpoint of a lineage within a generation range.
+     */
+    Optional<Checkpoint> findFirstByRootIdAndGenerationBetweenOrderByGenerationDesc(
+            Long rootId, int fromGeneration, int toGeneration);
+
+    boolean existsByRootIdAndGeneration(Long rootId, int generation);
+}
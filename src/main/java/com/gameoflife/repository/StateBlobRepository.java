@@ -0,0 +1,12 @@
+package com.gameoflife.repository;
+
+import com.gameoflife.model.StateBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for StateBlob entity.
+ */
+@Repository
+public interface StateBlobRepository extends JpaRepository<StateBlob, String> {
+}
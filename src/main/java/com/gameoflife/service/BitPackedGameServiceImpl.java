@@ -0,0 +1,262 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.MappedGrid;
+import com.gameoflife.model.PackedGrid;
+import org.springframework.stereotype.Service;
+
+/**
+ * GameService implementation that steps bit-packed rows, 64 cells per word.
+ * Neighbor counts are computed for a whole word at once using bitwise
+ * full-adder logic (SWAR), instead of counting neighbors cell by cell.
+ * Cells outside the board are treated as dead, exactly like {@link GameServiceImpl}.
+ */
+@Service("bitPackedGameService")
+public class BitPackedGameServiceImpl implements GameService {
+
+    /**
+     * Computes the next generation by packing the board, stepping the packed
+     * rows and unpacking the result.
+     *
+     * @param currentState Current state of the board
+     * @return The next state after applying Game of Life rules
+     */
+    @Override
+    public boolean[][] computeNextGeneration(boolean[][] currentState) {
+        if (currentState == null || currentState.length == 0 || currentState[0].length == 0) {
+            return new boolean[0][0];
+        }
+
+        PackedGrid current = PackedGrid.fromGrid(currentState);
+        PackedGrid next = new PackedGrid(current.getWidth(), current.getHeight());
+        step(current, next);
+        return next.toGrid();
+    }
+
+    /**
+     * Computes the next generation into an existing buffer. The change flag comes
+     * straight from the packed kernel, so no separate comparison pass is needed.
+     *
+     * @param currentState Current state of the board
+     * @param nextState Buffer of the same dimensions that receives the next state
+     * @return true if any cell changed
+     */
+    @Override
+    public boolean computeNextGeneration(boolean[][] currentState, boolean[][] nextState) {
+        if (currentState.length == 0 || currentState[0].length == 0) {
+            return false;
+        }
+
+        PackedGrid current = PackedGrid.fromGrid(currentState);
+        PackedGrid next = new PackedGrid(current.getWidth(), current.getHeight());
+        boolean changed = step(current, next);
+        next.toGrid(nextState);
+        return changed;
+    }
+
+    @Override
+    public String getEngineName() {
+        return "bit-packed";
+    }
+
+    /**
+     * A simulation stays packed, so only the word-parallel kernel is paid for.
+     */
+    @Override
+    public double estimateCost(EngineWorkload workload) {
+        return 0.03 * workload.getCells() * workload.getIterations();
+    }
+
+    /**
+     * Steps the packed board directly, without unpacking it between generations.
+     */
+    @Override
+    public Simulation startSimulation(PackedGrid initialState) {
+        return new PackedSimulation(initialState, this::step);
+    }
+
+    /**
+     * Packs the board once and steps it packed, so that no grid is allocated
+     * per generation.
+     */
+    @Override
+    public Simulation startSimulation(boolean[][] initialState) {
+        return startSimulation(PackedGrid.fromGrid(initialState));
+    }
+
+    /**
+     * Computes the next generation of a packed grid into another packed grid
+     * of the same dimensions.
+     *
+     * @param current Current state of the board
+     * @param next Grid that receives the next state (must not be {@code current})
+     * @return true if any cell changed
+     */
+    public boolean step(PackedGrid current, PackedGrid next) {
+        return stepRows(current, next, 0, current.getHeight());
+    }
+
+    /**
+     * Computes the next generation for the rows {@code [fromRow, toRow)} only.
+     * Rows just outside the range are read as halo rows from {@code current}.
+     *
+     * @param current Current state of the board
+     * @param next Grid that receives the next state
+     * @param fromRow First row to compute (inclusive)
+     * @param toRow Last row to compute (exclusive)
+     * @return true if any cell in the range changed
+     */
+    public boolean stepRows(PackedGrid current, PackedGrid next, int fromRow, int toRow) {
+        int height = current.getHeight();
+        int words = current.getWordsPerRow();
+        long mask = current.getLastWordMask();
+        long[] src = current.getWords();
+        long[] dst = next.getWords();
+
+        long changed = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            int offset = row * words;
+            int above = row > 0 ? offset - words : -1;
+            int below = row < height - 1 ? offset + words : -1;
+            changed |= stepRow(src, above, offset, below, dst, offset, words, mask);
+        }
+        return changed != 0;
+    }
+
+    /**
+     * Computes the next generation of a mapped grid into another mapped grid,
+     * streaming the rows through a window of three rows on the heap. Each
+     * input row is read once and each output row written once, so a board
+     * far larger than the heap can be stepped.
+     *
+     * @param current Current state of the board
+     * @param next Grid that receives the next state (must not be {@code current})
+     * @return true if any cell changed
+     */
+    public boolean step(MappedGrid current, MappedGrid next) {
+        int height = current.getHeight();
+        int words = current.getWordsPerRow();
+        long mask = current.getLastWordMask();
+        if (height == 0 || words == 0) {
+            return false;
+        }
+
+        // Row r is kept in slot r % 3 while rows r - 1 to r + 1 are needed
+        long[] window = new long[3 * words];
+        long[] out = new long[words];
+        current.readRow(0, window, 0);
+
+        long changed = 0;
+        for (int row = 0; row < height; row++) {
+            if (row + 1 < height) {
+                current.readRow(row + 1, window, ((row + 1) % 3) * words);
+            }
+            int above = row > 0 ? ((row - 1) % 3) * words : -1;
+            int below = row < height - 1 ? ((row + 1) % 3) * words : -1;
+            changed |= stepRow(window, above, (row % 3) * words, below, out, 0, words, mask);
+            next.writeRow(row, out, 0);
+        }
+        return changed != 0;
+    }
+
+    /**
+     * Computes one packed output row from three packed input rows.
+     *
+     * @param src Source words
+     * @param above Offset of the row above, or -1 if it lies outside the board
+     * @param current Offset of the row being computed
+     * @param below Offset of the row below, or -1 if it lies outside the board
+     * @param dst Destination words
+     * @param out Offset of the output row in {@code dst}
+     * @param words Number of words per row
+     * @param lastWordMask Valid bits of the last word in the row
+     * @return Bits that differ between the input and output row (0 if unchanged)
+     */
+    static long stepRow(long[] src, int above, int current, int below,
+                        long[] dst, int out, int words, long lastWordMask) {
+        return stepWords(src, above, current, below, dst, out, 0, words, words, lastWordMask);
+    }
+
+    /**
+     * Computes the words {@code [fromWord, toWord)} of one packed output row
+     * from three packed input rows. Words just outside the range are read as
+     * neighbors but not written.
+     *
+     * @param src Source words
+     * @param above Offset of the row above, or -1 if it lies outside the board
+     * @param current Offset of the row being computed
+     * @param below Offset of the row below, or -1 if it lies outside the board
+     * @param dst Destination words
+     * @param out Offset of the output row in {@code dst}
+     * @param fromWord First word to compute (inclusive)
+     * @param toWord Last word to compute (exclusive)
+     * @param words Number of words per row
+     * @param lastWordMask Valid bits of the last word in the row
+     * @return Bits that differ between the input and output words (0 if unchanged)
+     */
+    static long stepWords(long[] src, int above, int current, int below, long[] dst, int out,
+                          int fromWord, int toWord, int words, long lastWordMask) {
+        long changed = 0;
+
+        boolean first = fromWord == 0;
+        long aPrev = first ? 0 : word(src, above, fromWord - 1);
+        long cPrev = first ? 0 : src[current + fromWord - 1];
+        long bPrev = first ? 0 : word(src, below, fromWord - 1);
+        long aCur = word(src, above, fromWord);
+        long cCur = src[current + fromWord];
+        long bCur = word(src, below, fromWord);
+
+        for (int i = fromWord; i < toWord; i++) {
+            boolean last = i == words - 1;
+            long aNext = last ? 0 : word(src, above, i + 1);
+            long cNext = last ? 0 : src[current + i + 1];
+            long bNext = last ? 0 : word(src, below, i + 1);
+
+            // Neighbor bits: west neighbor of column c is column c - 1, east is c + 1
+            long aW = (aCur << 1) | (aPrev >>> 63);
+            long aE = (aCur >>> 1) | (aNext << 63);
+            long cW = (cCur << 1) | (cPrev >>> 63);
+            long cE = (cCur >>> 1) | (cNext << 63);
+            long bW = (bCur << 1) | (bPrev >>> 63);
+            long bE = (bCur >>> 1) | (bNext << 63);
+
+            // Full adders over the row above, the row below and a half adder over the current row
+            long s0 = aW ^ aCur ^ aE;
+            long c0 = (aW & aCur) | (aE & (aW ^ aCur));
+            long s1 = bW ^ bCur ^ bE;
+            long c1 = (bW & bCur) | (bE & (bW ^ bCur));
+            long s2 = cW ^ cE;
+            long c2 = cW & cE;
+
+            // Ones bit of the neighbor count, plus one more carry of weight two
+            long ones = s0 ^ s1 ^ s2;
+            long k0 = (s0 & s1) | (s2 & (s0 ^ s1));
+
+            // Exactly one of the four weight-two carries set means a count of 2 or 3
+            long t = c0 ^ c1 ^ c2;
+            long tc = (c0 & c1) | (c2 & (c0 ^ c1));
+            long twos = (t ^ k0) & ~tc;
+
+            // Count 3 -> alive; count 2 -> alive only if already alive
+            long next = twos & (ones | cCur);
+            if (last) {
+                next &= lastWordMask;
+            }
+
+            changed |= next ^ cCur;
+            dst[out + i] = next;
+
+            aPrev = aCur;
+            aCur = aNext;
+            cPrev = cCur;
+            cCur = cNext;
+            bPrev = bCur;
+            bCur = bNext;
+        }
+
+        return changed;
+    }
+
+    private static long word(long[] src, int rowOffset, int index) {
+        return rowOffset < 0 ? 0 : src[rowOffset + index];
+    }
+}
@@ -0,0 +1,110 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.Board;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory cache of boards with their state resolved, keyed by id.
+ * Each entry weighs the size of its decoded state (one bit per cell) plus a
+ * fixed overhead, and the least recently used boards are evicted once the
+ * total weight exceeds {@code game.cache.max-bytes}. Saved boards never
+ * change, so entries are never invalidated.
+ *
+ * <p>Boards are copied on the way in and out, so callers can treat the
+ * returned board like one freshly loaded from the database.</p>
+ */
+@Component
+public class BoardCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardCache.class);
+
+    /**
+     * Approximate size of a cached board besides its state, in bytes.
+     */
+    static final long ENTRY_OVERHEAD = 160;
+
+    private final long maxWeight;
+    private final LinkedHashMap<Long, Board> boards = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxWeight Memory budget in bytes; 0 disables the cache
+     */
+    public BoardCache(@Value("${game.cache.max-bytes:67108864}") long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Looks up a board.
+     *
+     * @param id Board ID
+     * @return A copy of the cached board, if present
+     */
+    public synchronized Optional<Board> get(Long id) {
+        Board board = boards.get(id);
+        if (board == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(board.copy());
+    }
+
+    /**
+     * Caches a saved board whose state is resolved, evicting the least
+     * recently used boards if the budget is exceeded. Boards larger than the
+     * whole budget are not cached.
+     *
+     * @param board Board with an id and its full state
+     */
+    public synchronized void put(Board board) {
+        if (board.getId() == null || board.getStateData() == null) {
+            return;
+        }
+        long boardWeight = weightOf(board);
+        if (boardWeight > maxWeight) {
+            return;
+        }
+
+        Board previous = boards.put(board.getId(), board.copy());
+        if (previous != null) {
+            weight -= weightOf(previous);
+        }
+        weight += boardWeight;
+
+        Iterator<Board> eldest = boards.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= weightOf(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Cached board {}: {}", board.getId(), getStats());
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache metrics.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(boards.size(), weight, maxWeight, hits, misses, evictions);
+    }
+
+    /**
+     * Weight of a board in bytes, proportional to its cell count.
+     */
+    static long weightOf(Board board) {
+        return ENTRY_OVERHEAD + ((long) board.getWidth() * board.getHeight() + 7) / 8;
+    }
+}
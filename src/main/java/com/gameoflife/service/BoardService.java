@@ -3,6 +3,7 @@ package com.gameoflife.service;
 import com.gameoflife.model.Board;
 import com.gameoflife.model.dto.BoardRequest;
 import com.gameoflife.model.dto.BoardResponse;
+import com.gameoflife.model.pattern.PatternSource;
 
 /**
  * Service interface for board-related operations.
@@ -32,7 +33,18 @@ public interface BoardService {
      * @param id The board ID
      * @return The updated board state
      */
-    BoardResponse getNextState(Long id);
+    default BoardResponse getNextState(Long id) {
+        return getNextState(id, null);
+    }
+
+    /**
+     * Computes the next state of a board with a specific engine.
+     *
+     * @param id The board ID
+     * @param engine Engine name, or null to select one automatically
+     * @return The updated board state
+     */
+    BoardResponse getNextState(Long id, String engine);
 
     /**
      * Computes a state that is a specific number of iterations away.
@@ -41,7 +53,19 @@ public interface BoardService {
      * @param iterations Number of iterations to compute
      * @return The board state after the specified number of iterations
      */
-    BoardResponse getStateAfterIterations(Long id, int iterations);
+    default BoardResponse getStateAfterIterations(Long id, int iterations) {
+        return getStateAfterIterations(id, iterations, null);
+    }
+
+    /**
+     * Computes a state that is a specific number of iterations away with a specific engine.
+     *
+     * @param id The board ID
+     * @param iterations Number of iterations to compute
+     * @param engine Engine name, or null to select one automatically
+     * @return The board state after the specified number of iterations
+     */
+    BoardResponse getStateAfterIterations(Long id, int iterations, String engine);
 
     /**
      * Computes the final state of a board (if it exists).
@@ -49,7 +73,36 @@ public interface BoardService {
      * @param id The board ID
      * @return The final board state
      */
-    BoardResponse getFinalState(Long id);
+    default BoardResponse getFinalState(Long id) {
+        return getFinalState(id, null);
+    }
+
+    /**
+     * Computes the final state of a board (if it exists) with a specific engine.
+     *
+     * @param id The board ID
+     * @param engine Engine name, or null to select one automatically
+     * @return The final board state
+     */
+    BoardResponse getFinalState(Long id, String engine);
+
+    /**
+     * Starts simulating a board live, without saving the generations, for
+     * clients that follow a board generation by generation.
+     *
+     * @param id The board ID
+     * @param engine Engine name, or null to select one automatically
+     * @return The running simulation, at the board's generation
+     */
+    LiveSimulation startLiveSimulation(Long id, String engine);
+
+    /**
+     * Resolves the state of a board for export as a pattern file.
+     *
+     * @param id The board ID
+     * @return The board's rows, written on demand
+     */
+    PatternSource getPatternSource(Long id);
 
     /**
      * Converts a Board entity to a BoardResponse DTO.
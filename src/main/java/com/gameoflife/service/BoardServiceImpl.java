@@ -3,17 +3,22 @@ package com.gameoflife.service;
 import com.gameoflife.exception.BoardNotFoundException;
 import com.gameoflife.exception.BoardProcessingException;
 import com.gameoflife.model.Board;
+import com.gameoflife.model.BoardAnalysis;
+import com.gameoflife.model.MappedGrid;
+import com.gameoflife.model.PackedGrid;
 import com.gameoflife.model.dto.BoardRequest;
 import com.gameoflife.model.dto.BoardResponse;
-import com.gameoflife.repository.BoardRepository;
+import com.gameoflife.model.pattern.PatternSource;
+import com.gameoflife.model.pattern.RowSource;
+import com.gameoflife.repository.BoardAnalysisRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the BoardService interface.
@@ -22,16 +27,29 @@ import java.util.Set;
 @Service
 public class BoardServiceImpl implements BoardService {
 
-    private final BoardRepository boardRepository;
-    private final GameService gameService;
+    private final BoardStateStore boardStateStore;
+    private final GameEngineRegistry engineRegistry;
+    private final TransitionCache transitionCache;
+    private final BoardAnalysisRepository boardAnalysisRepository;
+    private final CheckpointStore checkpointStore;
+    private final SegmentStore segmentStore;
 
     @Value("${game.max-iterations:1000}")
     private int maxIterations;
 
+    @Value("${game.stream.max-generations:100000}")
+    private int maxStreamGenerations;
+
     @Autowired
-    public BoardServiceImpl(BoardRepository boardRepository, GameService gameService) {
-        this.boardRepository = boardRepository;
-        this.gameService = gameService;
+    public BoardServiceImpl(BoardStateStore boardStateStore, GameEngineRegistry engineRegistry,
+                            TransitionCache transitionCache, BoardAnalysisRepository boardAnalysisRepository,
+                            CheckpointStore checkpointStore, SegmentStore segmentStore) {
+        this.boardStateStore = boardStateStore;
+        this.engineRegistry = engineRegistry;
+        this.transitionCache = transitionCache;
+        this.boardAnalysisRepository = boardAnalysisRepository;
+        this.checkpointStore = checkpointStore;
+        this.segmentStore = segmentStore;
     }
 
     /**
@@ -45,13 +63,12 @@ public class BoardServiceImpl implements BoardService {
         }
 
         Board board = new Board();
-        board.setGrid(boardRequest.getInitialState());
-        board.setWidth(boardRequest.getWidth());
-        board.setHeight(boardRequest.getHeight());
+        board.setPackedGrid(boardRequest.toPackedGrid());
         board.setGeneration(0);
         board.setFinalState(false);
+        board.setCheckpointInterval(boardRequest.getCheckpointInterval());
 
-        Board savedBoard = boardRepository.save(board);
+        Board savedBoard = boardStateStore.save(board);
         return convertToDto(savedBoard);
     }
 
@@ -70,29 +87,22 @@ public class BoardServiceImpl implements BoardService {
      */
     @Override
     @Transactional
-    public BoardResponse getNextState(Long id) {
+    public BoardResponse getNextState(Long id, String engineName) {
         Board board = findBoardById(id);
         
         if (board.isFinalState()) {
             return convertToDto(board);
         }
 
-        boolean[][] currentState = board.getGrid();
-        boolean[][] nextState = gameService.computeNextGeneration(currentState);
-        
-        // Check if the board reached a final state
-        boolean isFinalState = Arrays.deepEquals(currentState, nextState);
-        
-        // Create a new board for the next state
-        Board nextBoard = new Board();
-        nextBoard.setGrid(nextState);
-        nextBoard.setWidth(board.getWidth());
-        nextBoard.setHeight(board.getHeight());
-        nextBoard.setGeneration(board.getGeneration() + 1);
-        nextBoard.setFinalState(isFinalState);
-        
-        Board savedBoard = boardRepository.save(nextBoard);
-        return convertToDto(savedBoard);
+        Optional<BitPackedGameServiceImpl> streamingEngine = streamingEngine(board, engineName);
+        if (streamingEngine.isPresent()) {
+            return stepMapped(board, streamingEngine.get(), 1);
+        }
+
+        PackedGrid currentState = board.getPackedGrid();
+        GameService engine = engineRegistry.select(EngineWorkload.of(currentState, 1, true), engineName);
+        Transition transition = transition(currentState, 1, () -> simulate(engine, board, currentState, 1));
+        return saveTransition(board, transition, engine);
     }
 
     /**
@@ -100,7 +110,7 @@ public class BoardServiceImpl implements BoardService {
      */
     @Override
     @Transactional
-    public BoardResponse getStateAfterIterations(Long id, int iterations) {
+    public BoardResponse getStateAfterIterations(Long id, int iterations, String engineName) {
         if (iterations < 0) {
             throw new IllegalArgumentException("Number of iterations must be non-negative");
         }
@@ -110,91 +120,365 @@ public class BoardServiceImpl implements BoardService {
         }
 
         Board board = findBoardById(id);
-        boolean[][] currentState = board.getGrid();
         
         // If the board has already reached its final state
         if (board.isFinalState()) {
             return convertToDto(board);
         }
 
-        boolean[][] nextState = currentState;
-        boolean isFinalState = false;
-        int generation = board.getGeneration();
-        
-        for (int i = 0; i < iterations && !isFinalState; i++) {
-            boolean[][] tempState = gameService.computeNextGeneration(nextState);
-            isFinalState = Arrays.deepEquals(nextState, tempState);
-            nextState = tempState;
-            generation++;
+        Optional<BitPackedGameServiceImpl> streamingEngine = streamingEngine(board, engineName);
+        if (streamingEngine.isPresent()) {
+            return stepMapped(board, streamingEngine.get(), iterations);
         }
-        
-        Board resultBoard = new Board();
-        resultBoard.setGrid(nextState);
-        resultBoard.setWidth(board.getWidth());
-        resultBoard.setHeight(board.getHeight());
-        resultBoard.setGeneration(generation);
-        resultBoard.setFinalState(isFinalState);
-        
-        Board savedBoard = boardRepository.save(resultBoard);
-        return convertToDto(savedBoard);
+
+        Optional<BoardAnalysis> analysis = boardAnalysisRepository.findById(id);
+        if (analysis.isPresent() && iterations > analysis.get().getTransientLength()) {
+            return iterateInCycle(board, analysis.get(), iterations, engineName);
+        }
+
+        PackedGrid currentState = board.getPackedGrid();
+        GameService engine = engineRegistry.select(EngineWorkload.of(currentState, iterations, false), engineName);
+        Transition transition = transition(currentState, iterations,
+                () -> simulate(engine, board, currentState, iterations));
+        return saveTransition(board, transition, engine);
     }
 
     /**
      * Computes the final state of a board (if it exists).
-     * Uses a hash set to detect cycles in board states.
      */
     @Override
     @Transactional
-    public BoardResponse getFinalState(Long id) {
+    public BoardResponse getFinalState(Long id, String engineName) {
         Board board = findBoardById(id);
         
         if (board.isFinalState()) {
             return convertToDto(board);
         }
 
-        boolean[][] currentState = board.getGrid();
-        Set<String> visitedStates = new HashSet<>();
-        
-        // Hash the initial state and add it to the set
-        visitedStates.add(hashState(currentState));
-        
+        Optional<BoardAnalysis> analysis = boardAnalysisRepository.findById(id);
+        if (analysis.isPresent()) {
+            return convertToDto(findBoardById(analysis.get().getFinalBoardId()), analysis.get());
+        }
+
+        PackedGrid initialState = board.getPackedGrid();
+        GameService engine = engineRegistry.select(
+                EngineWorkload.of(initialState, maxIterations, true), engineName);
+        Transition transition = transition(initialState, TransitionCache.FINAL,
+                () -> findFinalState(engine, initialState));
+        BoardResponse response = saveTransition(board, transition, engine);
+
+        // Repeat calls and iterations past the transient are answered from the analysis
+        boardAnalysisRepository.save(new BoardAnalysis(id, response.getId(),
+                transition.getPeriod(), transition.getTransientLength(), transition.getPopulations()));
+        saveCycleCheckpoints(engine, board, transition);
+        return response;
+    }
+
+    /**
+     * Steps once around the cycle that follows a final state and saves the
+     * lineage's checkpoints on the way, so that {@link #iterateInCycle} resumes
+     * from a checkpoint at most one checkpoint interval before any generation
+     * of the cycle. Costs one period, on top of the search that found it.
+     */
+    private void saveCycleCheckpoints(GameService engine, Board board, Transition transition) {
+        int interval = checkpointStore.interval(board);
+        if (interval <= 0 || transition.getPeriod() <= interval) {
+            return;
+        }
+        int finalGeneration = board.getGeneration() + transition.getGenerations();
+        Simulation simulation = engine.startSimulation(
+                PackedGrid.fromBitset(transition.getStateData(), board.getWidth(), board.getHeight()));
+        while (simulation.getStepCount() < transition.getPeriod() - 1) {
+            simulation.step();
+            int reached = finalGeneration + simulation.getStepCount();
+            if (checkpointStore.isDue(board, reached)) {
+                checkpointStore.save(board, reached, simulation.getPackedState());
+            }
+        }
+    }
+
+    /**
+     * Answers an iteration count past the transient of an analysed board from
+     * its final board: the state repeats every period generations, so at most
+     * {@code period - 1} generations have to be computed. The checkpoints saved
+     * around the cycle when it was found bound that to one checkpoint interval.
+     */
+    private BoardResponse iterateInCycle(Board board, BoardAnalysis analysis, int iterations, String engineName) {
+        Board finalBoard = findBoardById(analysis.getFinalBoardId());
+        if (analysis.getPeriod() == 1) {
+            // Stepping a stable board stops at its final state, which is already saved.
+            // The engine is still resolved so that unknown names are rejected as usual.
+            engineRegistry.select(EngineWorkload.of(finalBoard.getPackedGrid(), 1, false), engineName);
+            return convertToDto(finalBoard);
+        }
+
+        // The final board is the state at the end of the transient, one period later
+        int offset = analysis.cycleGeneration(iterations) - analysis.getTransientLength();
+        PackedGrid cycleStart = finalBoard.getPackedGrid();
+        GameService engine = engineRegistry.select(
+                EngineWorkload.of(cycleStart, Math.max(offset, 1), false), engineName);
+        Transition transition = offset == 0
+                ? new Transition(cycleStart.toBitset(), 0, false, null, null, null)
+                : transition(cycleStart, offset, () -> simulate(engine, finalBoard, cycleStart, offset));
+
+        Board resultBoard = new Board();
+        resultBoard.setStateData(transition.getStateData());
+        resultBoard.setWidth(board.getWidth());
+        resultBoard.setHeight(board.getHeight());
+        resultBoard.setGeneration(board.getGeneration() + iterations);
+        resultBoard.setFinalState(false);
+
+        Board savedBoard = boardStateStore.save(resultBoard, finalBoard);
+        BoardResponse response = convertToDto(savedBoard);
+        if (offset > 0) {
+            response.setEngine(engine.getEngineName());
+            response.setFromCache(transition.isFromCache());
+        }
+        return response;
+    }
+
+    /**
+     * Boards stored in a segment are stepped on their mapped pages with the
+     * bit-packed streaming kernel. Another engine can still be requested; it
+     * then steps a copy of the board on the heap.
+     */
+    private Optional<BitPackedGameServiceImpl> streamingEngine(Board board, String engineName) {
+        if (!board.isMapped()) {
+            return Optional.empty();
+        }
+        GameService engine = engineRegistry.get(GameEngineRegistry.isAuto(engineName) ? "bit-packed" : engineName);
+        return engine instanceof BitPackedGameServiceImpl
+                ? Optional.of((BitPackedGameServiceImpl) engine) : Optional.empty();
+    }
+
+    /**
+     * Advances a board stored in a segment by up to the given number of
+     * generations, stopping early if it becomes stable, without copying it onto
+     * the heap. Generations ping-pong between the new board's region and a
+     * scratch region, in the order that leaves the last one in the new board's.
+     */
+    private BoardResponse stepMapped(Board board, BitPackedGameServiceImpl engine, int iterations) {
+        Board resultBoard = new Board();
+        resultBoard.setWidth(board.getWidth());
+        resultBoard.setHeight(board.getHeight());
+        MappedGrid result = segmentStore.allocate(resultBoard);
+        MappedGrid scratch = iterations > 1 ? segmentStore.scratch(board.getWidth(), board.getHeight()) : null;
+
+        MappedGrid current = board.getMappedState();
+        int generations = 0;
+        boolean isFinalState = false;
+        while (generations < iterations && !isFinalState) {
+            MappedGrid next = (iterations - generations) % 2 == 1 ? result : scratch;
+            isFinalState = !engine.step(current, next);
+            current = next;
+            generations++;
+        }
+        if (current != result) {
+            // Became stable early, in the scratch region
+            result.copyFrom(current);
+        }
+
+        resultBoard.setGeneration(board.getGeneration() + generations);
+        resultBoard.setFinalState(isFinalState);
+
+        Board savedBoard = boardStateStore.save(resultBoard, board);
+        BoardResponse response = convertToDto(savedBoard);
+        response.setEngine(engine.getEngineName());
+        return response;
+    }
+
+    /**
+     * Returns the transition from a state, reusing the result of any board
+     * with the same content from the transition cache.
+     *
+     * @param start Starting state; not modified before it is digested
+     * @param generations Number of generations, or {@link TransitionCache#FINAL}
+     * @param computation Computes the transition on a cache miss
+     */
+    private Transition transition(PackedGrid start, int generations, Supplier<Transition> computation) {
+        if (!transitionCache.isEnabled()) {
+            return computation.get();
+        }
+
+        StateDigest digest = StateDigest.of(start);
+        Optional<Transition> cached = transitionCache.get(digest, generations);
+        if (cached.isPresent()) {
+            return cached.get().fromCache();
+        }
+        Transition computed = computation.get();
+        transitionCache.put(digest, generations, computed);
+        return computed;
+    }
+
+    /**
+     * Advances a board by up to the given number of generations, stopping
+     * early if it becomes stable. Resumes from the latest checkpoint of the
+     * board's lineage on the way, and saves checkpoints while stepping.
+     *
+     * @param engine Engine that computes the generations
+     * @param board Board the state belongs to
+     * @param start State of the board; may be reused as a buffer
+     * @param iterations Number of generations
+     */
+    private Transition simulate(GameService engine, Board board, PackedGrid start, int iterations) {
+        int target = board.getGeneration() + iterations;
+        Optional<CheckpointStore.Snapshot> checkpoint = checkpointStore.findLatest(board, target);
+        int generation = checkpoint.map(CheckpointStore.Snapshot::getGeneration).orElse(board.getGeneration());
+        PackedGrid state = checkpoint.map(CheckpointStore.Snapshot::getState).orElse(start);
+        int skipped = generation - board.getGeneration();
+
+        if (generation == target) {
+            // Checkpoints are never final states, so stepping would not have stopped earlier
+            return new Transition(state.toBitset(), iterations, false, null, null, null);
+        }
+        if (engine instanceof HashLifeGameServiceImpl) {
+            Transition jump = advanceWithHashLife((HashLifeGameServiceImpl) engine, state, target - generation);
+            return new Transition(jump.getStateData(), skipped + jump.getGenerations(), jump.isFinalState(),
+                    null, null, null);
+        }
+
+        // The simulation reuses its buffers instead of allocating a grid per generation
+        Simulation simulation = engine.startSimulation(state);
         boolean isFinalState = false;
-        int generation = board.getGeneration();
         
-        for (int i = 0; i < maxIterations && !isFinalState; i++) {
-            boolean[][] nextState = gameService.computeNextGeneration(currentState);
-            
-            // Check if the board has reached a stable state
-            if (Arrays.deepEquals(currentState, nextState)) {
-                isFinalState = true;
-            } else {
-                // Check if we've seen this state before (detected a cycle)
-                String stateHash = hashState(nextState);
-                if (visitedStates.contains(stateHash)) {
-                    isFinalState = true;
-                } else {
-                    visitedStates.add(stateHash);
+        while (generation + simulation.getStepCount() < target && !isFinalState) {
+            isFinalState = !simulation.step();
+            int reached = generation + simulation.getStepCount();
+            if (!isFinalState && checkpointStore.isDue(board, reached)) {
+                checkpointStore.save(board, reached, simulation.getPackedState());
+            }
+        }
+        return new Transition(simulation.getPackedState().toBitset(), skipped + simulation.getStepCount(),
+                isFinalState, null, null, null);
+    }
+
+    /**
+     * Finds the final state of a board.
+     * Uses Brent's cycle detection on state fingerprints, so only one snapshot
+     * of the board is kept in memory regardless of how long the board runs.
+     */
+    private Transition findFinalState(GameService engine, PackedGrid initialState) {
+        // Phase 1: find the cycle length. The tortoise is a snapshot that jumps to the
+        // hare at every power of two; the hare is at most 3 * (transient + period)
+        // generations ahead when the cycle is found.
+        Simulation hare = engine.startSimulation(initialState.copy());
+        long stepLimit = 3L * maxIterations;
+        // The hare visits every generation in order, so it records the population trajectory
+        int[] populations = new int[64];
+        populations[0] = (int) initialState.population();
+        PackedGrid tortoise = hare.snapshot();
+        long tortoiseFingerprint = hare.fingerprint();
+        int power = 1;
+        int period = 0;
+        int transientLength = -1;
+
+        while (true) {
+            if (hare.getStepCount() >= stepLimit) {
+                throw finalStateNotFound();
+            }
+
+            boolean changed = hare.step();
+            if (hare.getStepCount() == populations.length) {
+                populations = Arrays.copyOf(populations, 2 * populations.length);
+            }
+            populations[hare.getStepCount()] = (int) hare.population();
+
+            if (!changed) {
+                // Stable: the previous generation is the first one of the (period 1) cycle
+                period = 1;
+                transientLength = hare.getStepCount() - 1;
+                break;
+            }
+            period++;
+
+            // Fingerprints can collide, so a match is confirmed cell by cell
+            long fingerprint = hare.fingerprint();
+            if (fingerprint == tortoiseFingerprint && hare.matches(tortoise)) {
+                break;
+            }
+            if (period == power) {
+                tortoise = hare.snapshot();
+                tortoiseFingerprint = fingerprint;
+                power *= 2;
+                period = 0;
+            }
+        }
+
+        Simulation result = hare;
+        if (transientLength < 0) {
+            // Phase 2: find where the cycle starts by running two simulations one period apart
+            Simulation lead = engine.startSimulation(initialState.copy());
+            Simulation trail = engine.startSimulation(initialState.copy());
+            for (int i = 0; i < period; i++) {
+                lead.step();
+            }
+            while (lead.fingerprint() != trail.fingerprint() || !lead.matches(trail.snapshot())) {
+                if (trail.getStepCount() + period >= maxIterations) {
+                    throw finalStateNotFound();
                 }
+                lead.step();
+                trail.step();
             }
-            
-            currentState = nextState;
-            generation++;
+            transientLength = trail.getStepCount();
+            result = lead;
         }
-        
-        if (!isFinalState) {
-            throw new BoardProcessingException(
-                    "Could not determine final state within " + maxIterations + " iterations");
+
+        // Same limit as stepping until the first repeated state
+        if ((long) transientLength + period > maxIterations) {
+            throw finalStateNotFound();
         }
-        
+        return new Transition(result.getPackedState().toBitset(), transientLength + period, true,
+                period, transientLength, Arrays.copyOf(populations, transientLength + period));
+    }
+
+    /**
+     * Saves the board a transition leads to as a child of the starting board.
+     *
+     * @param engine Engine selected for this request, whether or not the transition was cached
+     */
+    private BoardResponse saveTransition(Board board, Transition transition, GameService engine) {
         Board resultBoard = new Board();
-        resultBoard.setGrid(currentState);
+        resultBoard.setStateData(transition.getStateData());
         resultBoard.setWidth(board.getWidth());
         resultBoard.setHeight(board.getHeight());
-        resultBoard.setGeneration(generation);
-        resultBoard.setFinalState(true);
+        resultBoard.setGeneration(board.getGeneration() + transition.getGenerations());
+        resultBoard.setFinalState(transition.isFinalState());
         
-        Board savedBoard = boardRepository.save(resultBoard);
-        return convertToDto(savedBoard);
+        Board savedBoard = boardStateStore.save(resultBoard, board);
+        BoardResponse response = convertToDto(savedBoard);
+        response.setEngine(engine.getEngineName());
+        response.setFromCache(transition.isFromCache());
+        response.setPeriod(transition.getPeriod());
+        response.setTransientLength(transition.getTransientLength());
+        response.setPopulations(transition.getPopulations());
+        return response;
+    }
+
+    /**
+     * Starts a live simulation of a board. Boards stored in a segment are
+     * copied onto the heap.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LiveSimulation startLiveSimulation(Long id, String engineName) {
+        Board board = findBoardById(id);
+        PackedGrid state = board.getPackedGrid();
+        GameService engine = engineRegistry.select(
+                EngineWorkload.of(state, maxStreamGenerations, true), engineName);
+        return new LiveSimulation(board.getId(), board.getGeneration(), engine, state,
+                board.isFinalState(), maxStreamGenerations);
+    }
+
+    /**
+     * Resolves the state of a board for export. Boards stored in a segment are
+     * exported straight from their mapped rows.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PatternSource getPatternSource(Long id) {
+        Board board = findBoardById(id);
+        RowSource rows = board.isMapped() ? RowSource.of(board.getMappedState()) : RowSource.of(board.getPackedGrid());
+        return new PatternSource(board.getWidth(), board.getHeight(), rows);
     }
 
     /**
@@ -202,52 +486,82 @@ public class BoardServiceImpl implements BoardService {
      */
     @Override
     public BoardResponse convertToDto(Board board) {
-        boolean[][] state = board.getGrid();
+        // Decoded once; the live cell count comes straight from the packed words.
+        // Boards stored in a segment are too large to return cell by cell.
+        PackedGrid state = board.isMapped() ? null : board.getPackedGrid();
         
         BoardResponse response = BoardResponse.builder()
                 .id(board.getId())
-                .state(state)
+                .packedState(state)
                 .width(board.getWidth())
                 .height(board.getHeight())
                 .generation(board.getGeneration())
                 .createdAt(board.getCreatedAt())
                 .updatedAt(board.getUpdatedAt())
                 .finalState(board.isFinalState())
+                .parentId(board.getParentId())
+                .rootId(board.getRootId())
                 .build();
         
-        // Calculate the number of live cells
-        int liveCellCount = 0;
-        for (boolean[] row : state) {
-            for (boolean cell : row) {
-                if (cell) {
-                    liveCellCount++;
-                }
-            }
-        }
-        response.setLiveCellCount(liveCellCount);
+        response.setLiveCellCount((int) (state != null ? state.population() : board.getMappedState().population()));
         
         return response;
     }
 
     /**
-     * Helper method to find a board by ID or throw an exception.
+     * Converts a final board to a BoardResponse DTO with the analysis that found it.
      */
-    private Board findBoardById(Long id) {
-        return boardRepository.findById(id)
-                .orElseThrow(() -> new BoardNotFoundException(id));
+    private BoardResponse convertToDto(Board finalBoard, BoardAnalysis analysis) {
+        BoardResponse response = convertToDto(finalBoard);
+        response.setPeriod(analysis.getPeriod());
+        response.setTransientLength(analysis.getTransientLength());
+        response.setPopulations(analysis.getPopulations());
+        return response;
     }
 
     /**
-     * Creates a string hash representation of a board state.
-     * Used for cycle detection.
+     * Advances a state with the HashLife engine.
+     * Keeps the semantics of the step-by-step loop: if the board becomes stable
+     * before the requested number of iterations, the result is the generation at
+     * which the loop would have stopped.
      */
-    private String hashState(boolean[][] state) {
-        StringBuilder sb = new StringBuilder();
-        for (boolean[] row : state) {
-            for (boolean cell : row) {
-                sb.append(cell ? '1' : '0');
+    private Transition advanceWithHashLife(HashLifeGameServiceImpl hashLifeGameService, PackedGrid start,
+                                           int iterations) {
+        PackedGrid nextState = hashLifeGameService.advance(start, iterations);
+        int generations = iterations;
+        boolean isFinalState = false;
+
+        // Stability is permanent, so the first stable generation can be found by bisection
+        if (hashLifeGameService.advance(start, iterations - 1).equals(nextState)) {
+            int low = 0;
+            int high = iterations - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                PackedGrid state = hashLifeGameService.advance(start, mid);
+                if (state.equals(hashLifeGameService.advance(state, 1))) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
             }
+            nextState = hashLifeGameService.advance(start, low);
+            generations = low + 1;
+            isFinalState = true;
         }
-        return sb.toString();
+
+        return new Transition(nextState.toBitset(), generations, isFinalState, null, null, null);
+    }
+
+    /**
+     * Helper method to find a board by ID or throw an exception.
+     */
+    private Board findBoardById(Long id) {
+        return boardStateStore.findById(id)
+                .orElseThrow(() -> new BoardNotFoundException(id));
+    }
+
+    private BoardProcessingException finalStateNotFound() {
+        return new BoardProcessingException(
+                "Could not determine final state within " + maxIterations + " iterations");
     }
 }
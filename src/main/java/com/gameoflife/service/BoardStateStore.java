@@ -0,0 +1,231 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.Board;
+import com.gameoflife.model.MappedGrid;
+import com.gameoflife.model.StateBlob;
+import com.gameoflife.model.StateDelta;
+import com.gameoflife.model.codec.CodecType;
+import com.gameoflife.model.codec.EncodedState;
+import com.gameoflife.model.codec.StateCodec;
+import com.gameoflife.repository.BoardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Reads and writes boards with delta-encoded lineage.
+ * A board computed from another board is stored as an XOR delta against the
+ * nearest keyframe of its lineage; every {@code game.storage.keyframe-interval}
+ * boards a full keyframe is stored again. Full states and deltas alike are
+ * written with the {@link CodecType} that suits their runs of live cells, and
+ * stored once per distinct content in the {@link StateBlobStore}. Boards
+ * read through this store always have their full state resolved, so callers
+ * never see the encoding.
+ *
+ * <p>Resolved boards, including keyframes, are kept in a {@link BoardCache},
+ * so hot boards are neither fetched nor decoded again. A board written or
+ * read in a transaction is only cached once the transaction commits, so a
+ * rolled-back board is never served from the cache.</p>
+ *
+ * <p>Boards large enough for the {@link SegmentStore} are always stored in
+ * full in a segment file; resolving them maps the state instead of decoding it.
+ * Boards with more cells than the codecs address ({@link StateCodec#MAX_CELLS})
+ * can only be stored there.</p>
+ *
+ * <p>New rows are inserted by the {@link BoardWriter}, possibly write-behind;
+ * boards that are not in the database yet are still found.</p>
+ */
+@Component
+public class BoardStateStore {
+
+    private final BoardRepository boardRepository;
+    private final BoardCache boardCache;
+    private final StateBlobStore stateBlobStore;
+    private final SegmentStore segmentStore;
+    private final BoardWriter boardWriter;
+    private final int keyframeInterval;
+
+    @Autowired
+    public BoardStateStore(BoardRepository boardRepository, BoardCache boardCache, StateBlobStore stateBlobStore,
+                           SegmentStore segmentStore, BoardWriter boardWriter,
+                           @Value("${game.storage.keyframe-interval:16}") int keyframeInterval) {
+        this.boardRepository = boardRepository;
+        this.boardCache = boardCache;
+        this.stateBlobStore = stateBlobStore;
+        this.segmentStore = segmentStore;
+        this.boardWriter = boardWriter;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Finds a board and resolves its full state.
+     *
+     * @param id Board ID
+     * @return The board, if it exists
+     */
+    public Optional<Board> findById(Long id) {
+        Optional<Board> cached = boardCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<Board> pending = boardWriter.findPending(id);
+        if (pending.isPresent()) {
+            return pending;
+        }
+        return boardRepository.findById(id).map(this::resolve);
+    }
+
+    /**
+     * Saves a board created by a client; it becomes the root of a new lineage.
+     *
+     * @param board Board with its full state or mapped state set
+     * @return The saved board
+     */
+    public Board save(Board board) {
+        if (board.isMapped() || segmentStore.isMapped(board.getWidth(), board.getHeight())) {
+            return saveMapped(board);
+        }
+        store(board, board.getStateData());
+        board.setKeyframeId(null);
+        board.setKeyframeDistance(0);
+        return cache(boardWriter.write(board));
+    }
+
+    /**
+     * Saves a board computed from a parent board, as a delta against the
+     * parent's keyframe unless a new keyframe is due.
+     *
+     * @param board Board with its full state or mapped state set
+     * @param parent Board it was computed from, with its state resolved
+     * @return The saved board
+     */
+    public Board save(Board board, Board parent) {
+        board.setParentId(parent.getId());
+        board.setRootId(parent.getRootId() != null ? parent.getRootId() : parent.getId());
+        board.setCheckpointInterval(parent.getCheckpointInterval());
+
+        if (parent.getStateHash() != null && parent.getStateData() != null && !board.isMapped()
+                && Arrays.equals(parent.getStateData(), board.getStateData())) {
+            // A stable board: refer to the parent's payload instead of storing a new one
+            board.setStateHash(parent.getStateHash());
+            board.setCodec(parent.getCodec());
+            board.setKeyframeId(parent.getKeyframeId());
+            board.setKeyframeDistance(parent.getKeyframeDistance());
+            return cache(boardWriter.write(board));
+        }
+
+        int distance = parent.getKeyframeDistance() + 1;
+        if (parent.getId() == null || distance >= keyframeInterval || board.isMapped() || parent.isMapped()
+                || segmentStore.isMapped(board.getWidth(), board.getHeight())
+                || parent.getStateData().length != board.getStateData().length) {
+            return save(board);
+        }
+
+        Long keyframeId = parent.isKeyframe() ? parent.getId() : parent.getKeyframeId();
+        byte[] keyframe = parent.isKeyframe() ? parent.getStateData() : loadKeyframe(keyframeId);
+
+        store(board, StateDelta.encode(keyframe, board.getStateData()));
+        board.setKeyframeId(keyframeId);
+        board.setKeyframeDistance(distance);
+        return cache(boardWriter.write(board));
+    }
+
+    /**
+     * Writes the state to a segment unless it is already mapped; the row only
+     * records where. Mapped boards are not cached, the mapping is the cache.
+     */
+    private Board saveMapped(Board board) {
+        if (!board.isMapped()) {
+            MappedGrid state = segmentStore.allocate(board);
+            state.copyFrom(board.getPackedGrid());
+            board.setStateData(null);
+        }
+        board.getMappedState().force();
+        board.setStoredData(null);
+        board.setStateHash(null);
+        board.setCodec(null);
+        board.setKeyframeId(null);
+        board.setKeyframeDistance(0);
+        return boardWriter.write(board);
+    }
+
+    private void store(Board board, byte[] data) {
+        EncodedState encoded = CodecType.encode(data, StateCodec.cells(board.getWidth(), board.getHeight()));
+        board.setStateHash(stateBlobStore.acquire(encoded));
+        board.setStoredData(null);
+        board.setCodec(encoded.getCodec());
+    }
+
+    private Board resolve(Board board) {
+        if (board.getStateData() != null || board.getMappedState() != null) {
+            return board;
+        }
+        if (board.isMapped()) {
+            board.setMappedState(segmentStore.map(board));
+            return board;
+        }
+
+        StateCodec codec;
+        byte[] payload;
+        if (board.getStateHash() != null) {
+            StateBlob blob = stateBlobStore.load(board.getStateHash());
+            codec = blob.getCodec().codec();
+            payload = blob.getData();
+        } else {
+            codec = codecOf(board).codec();
+            payload = board.getStoredData();
+        }
+
+        int cells = StateCodec.cells(board.getWidth(), board.getHeight());
+        byte[] data;
+        if (board.isKeyframe()) {
+            data = codec.decode(payload, cells);
+        } else {
+            // The delta is decoded straight onto a copy of its keyframe
+            data = loadKeyframe(board.getKeyframeId()).clone();
+            if (data.length != (cells + 7) / 8) {
+                throw new IllegalStateException("Corrupt state delta");
+            }
+            codec.decodeXor(payload, cells, data);
+        }
+        board.setStateData(data);
+        return cache(board);
+    }
+
+    private Board cache(Board board) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        boardCache.put(board);
+                    }
+                }
+            });
+        } else {
+            boardCache.put(board);
+        }
+        return board;
+    }
+
+    /**
+     * Rows written before codecs existed hold raw keyframes and deflated deltas.
+     */
+    private static CodecType codecOf(Board board) {
+        if (board.getCodec() != null) {
+            return board.getCodec();
+        }
+        return board.isKeyframe() ? CodecType.RAW : CodecType.DEFLATE;
+    }
+
+    private byte[] loadKeyframe(Long keyframeId) {
+        return findById(keyframeId)
+                .map(Board::getStateData)
+                .orElseThrow(() -> new IllegalStateException("Keyframe " + keyframeId + " is missing"));
+    }
+}
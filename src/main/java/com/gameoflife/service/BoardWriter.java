@@ -0,0 +1,377 @@
+package com.gameoflife.service;
+
+import com.gameoflife.exception.BoardProcessingException;
+import com.gameoflife.model.Board;
+import com.gameoflife.repository.BoardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts new board rows, optionally write-behind.
+ * By default every board is saved through the repository on the calling
+ * thread. With {@code game.write-behind.enabled}, a board gets an id reserved
+ * from the board id sequence right away and is queued; a background thread
+ * inserts queued boards in JDBC batches of up to {@code game.write-behind.batch-size}.
+ * Until its batch is committed, a board is served from memory by {@link #findPending(Long)}.
+ *
+ * <p>The queue holds at most {@code game.write-behind.queue-capacity} boards.
+ * When it is full, writers wait up to {@code game.write-behind.offer-timeout-ms}
+ * and then insert their board themselves, so a slow database slows requests
+ * down instead of growing the queue. Boards are only queued once the
+ * transaction that wrote them commits, and the queue is drained before the
+ * application shuts down.</p>
+ *
+ * <p>A batch that fails is retried a few times and then written board by
+ * board. A board that still fails on its own is never dropped, since clients
+ * already hold its id and later boards may use it as their parent or
+ * keyframe: it stays pending and is retried, and new boards are refused with
+ * a {@link BoardProcessingException} until it is written.</p>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class BoardWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardWriter.class);
+
+    private static final String INSERT = "INSERT INTO boards (id, width, height, state, state_hash, codec, parent_id,"
+            + " root_id, keyframe_id, keyframe_distance, checkpoint_interval, segment_id, segment_offset, generation,"
+            + " created_at, updated_at, final_state) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Delay before a failed batch is retried.
+     */
+    private static final long RETRY_DELAY_MS = 1000;
+
+    /**
+     * Attempts at writing a batch in one JDBC batch before its boards are
+     * written one by one.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final BoardRepository boardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<Board> queue;
+    private final Map<Long, Board> pending = new ConcurrentHashMap<>();
+
+    private long nextId;
+    private long idLimit;
+    private volatile boolean running;
+    private volatile boolean failing;
+    private Thread thread;
+
+    @Autowired
+    public BoardWriter(BoardRepository boardRepository, JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${game.write-behind.enabled:false}") boolean enabled,
+                       @Value("${game.write-behind.queue-capacity:10000}") int queueCapacity,
+                       @Value("${game.write-behind.batch-size:100}") int batchSize,
+                       @Value("${game.write-behind.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.boardRepository = boardRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        if (transactionTemplate != null) {
+            // Boards are also inserted after a request's transaction completed, outside of it
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.queue = enabled ? new ArrayBlockingQueue<>(queueCapacity) : null;
+    }
+
+    /**
+     * Writes every board synchronously through the repository.
+     */
+    BoardWriter(BoardRepository boardRepository) {
+        this(boardRepository, null, null, false, 0, 0, 0);
+    }
+
+    /**
+     * Moves the id sequence past the ids of rows inserted before it existed,
+     * when the table still had an identity column.
+     */
+    @PostConstruct
+    public void start() {
+        if (jdbcTemplate != null) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM boards", Long.class);
+            Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Board.ID_SEQUENCE, Long.class);
+            if (maxId != null && next != null && next <= maxId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + Board.ID_SEQUENCE + " RESTART WITH " + (maxId + 1));
+                log.info("Moved board id sequence past existing id {}", maxId);
+            }
+        }
+        if (enabled) {
+            running = true;
+            thread = new Thread(this::run, "board-writer");
+            thread.setDaemon(true);
+            thread.start();
+            log.info("Writing boards behind in batches of up to {}, queueing at most {}",
+                    batchSize, queue.remainingCapacity());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Inserts a new board, or reserves its id and queues it in write-behind mode.
+     *
+     * @param board Board without an id
+     * @return The board with its id set
+     */
+    public Board write(Board board) {
+        if (!enabled || !running) {
+            return boardRepository.save(board);
+        }
+        if (failing) {
+            throw new BoardProcessingException("Boards could not be written to the database;"
+                    + " not accepting new boards until they are");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        board.setId(reserveId());
+        board.setCreatedAt(now);
+        board.setUpdatedAt(now);
+        pending.put(board.getId(), board);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(board);
+                    } else {
+                        pending.remove(board.getId());
+                    }
+                }
+            });
+        } else {
+            enqueue(board);
+        }
+        return board;
+    }
+
+    /**
+     * Finds a board that was written but is not in the database yet.
+     *
+     * @param id Board ID
+     * @return A copy of the board, if it is pending
+     */
+    public Optional<Board> findPending(Long id) {
+        if (!enabled || id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(pending.get(id)).map(Board::copy);
+    }
+
+    /**
+     * Number of boards written but not in the database yet.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Blocks while the queue is full, up to the offer timeout; then the caller
+     * inserts its board itself.
+     */
+    private void enqueue(Board board) {
+        try {
+            if (running && queue.offer(board, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        insert(List.of(board));
+    }
+
+    private synchronized long reserveId() {
+        if (nextId == idLimit) {
+            Long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Board.ID_SEQUENCE, Long.class);
+            if (first == null) {
+                throw new BoardProcessingException("Could not reserve board ids");
+            }
+            nextId = first;
+            idLimit = first + Board.ID_BLOCK_SIZE;
+        }
+        return nextId++;
+    }
+
+    private void run() {
+        List<Board> batch = new ArrayList<>(batchSize);
+        int attempts = 0;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    Board first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                if (++attempts <= MAX_ATTEMPTS) {
+                    insert(batch);
+                    batch.clear();
+                } else {
+                    // Boards written on their own leave the batch; the rest are retried until they are written.
+                    // Boards queued behind them were accepted before writes were refused, so they join the batch
+                    queue.drainTo(batch);
+                    List<Board> failed = insertEach(batch);
+                    batch.retainAll(failed);
+                    if (!batch.isEmpty()) {
+                        failing = true;
+                        if (!sleep()) {
+                            return;
+                        }
+                        continue;
+                    }
+                }
+                attempts = 0;
+                failing = false;
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // The batch stays pending and is retried, at the latest by stop()
+                log.error("Could not write {} boards (attempt {} of {}), retrying", batch.size(), attempts,
+                        MAX_ATTEMPTS, e);
+                if (!sleep()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Inserts boards with reserved ids in one transaction and one JDBC batch.
+     */
+    private void insert(List<Board> boards) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, boards, boards.size(),
+                BoardWriter::bind));
+        for (Board board : boards) {
+            pending.remove(board.getId());
+        }
+    }
+
+    /**
+     * Inserts boards one at a time after their batch failed, so that one bad
+     * row does not keep the others out of the database. Boards that cannot
+     * be inserted stay pending.
+     *
+     * @return The boards that could not be inserted
+     */
+    private List<Board> insertEach(List<Board> boards) {
+        List<Board> failed = new ArrayList<>();
+        for (Board board : boards) {
+            try {
+                insert(List.of(board));
+            } catch (RuntimeException e) {
+                log.error("Could not write board {}, not accepting new boards until it is written",
+                        board.getId(), e);
+                failed.add(board);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Whether a board could not be written and new boards are refused.
+     */
+    boolean isFailing() {
+        return failing;
+    }
+
+    private static void bind(PreparedStatement statement, Board board) throws SQLException {
+        statement.setLong(1, board.getId());
+        statement.setInt(2, board.getWidth());
+        statement.setInt(3, board.getHeight());
+        statement.setBytes(4, board.getStoredData());
+        statement.setString(5, board.getStateHash());
+        statement.setString(6, board.getCodec() != null ? board.getCodec().name() : null);
+        statement.setObject(7, board.getParentId(), Types.BIGINT);
+        statement.setObject(8, board.getRootId(), Types.BIGINT);
+        statement.setObject(9, board.getKeyframeId(), Types.BIGINT);
+        statement.setInt(10, board.getKeyframeDistance());
+        statement.setObject(11, board.getCheckpointInterval(), Types.INTEGER);
+        statement.setObject(12, board.getSegmentId(), Types.INTEGER);
+        statement.setObject(13, board.getSegmentOffset(), Types.BIGINT);
+        statement.setInt(14, board.getGeneration());
+        statement.setTimestamp(15, Timestamp.valueOf(board.getCreatedAt()));
+        statement.setTimestamp(16, Timestamp.valueOf(board.getUpdatedAt()));
+        statement.setBoolean(17, board.isFinalState());
+    }
+
+    /**
+     * Stops taking new boards and writes every pending board before the
+     * database connection pool is closed.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        thread.join();
+
+        // Every queued board and every failed batch is still pending
+        queue.clear();
+        List<Board> remaining = new ArrayList<>(pending.values());
+        List<Board> failed = new ArrayList<>();
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            List<Board> batch = remaining.subList(from, Math.min(from + batchSize, remaining.size()));
+            try {
+                insert(batch);
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} boards on shutdown, writing them one by one", batch.size(), e);
+                failed.addAll(insertEach(batch));
+            }
+        }
+        if (!failed.isEmpty()) {
+            log.error("Boards {} could not be written before shutdown and are lost",
+                    failed.stream().map(Board::getId).collect(Collectors.toList()));
+        }
+        log.info("Board writer stopped after writing {} remaining boards", remaining.size() - failed.size());
+    }
+}
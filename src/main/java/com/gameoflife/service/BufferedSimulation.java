@@ -0,0 +1,44 @@
+package com.gameoflife.service;
+
+/**
+ * Default Simulation: ping-pongs between two boolean grids using
+ * {@link GameService#computeNextGeneration(boolean[][], boolean[][])},
+ * so no grid is allocated per generation.
+ */
+public class BufferedSimulation implements Simulation {
+
+    private final GameService gameService;
+    private boolean[][] currentState;
+    private boolean[][] nextState;
+    private int stepCount;
+
+    /**
+     * @param gameService Engine used to compute each generation
+     * @param initialState Initial state; used as one of the two buffers
+     */
+    public BufferedSimulation(GameService gameService, boolean[][] initialState) {
+        this.gameService = gameService;
+        this.currentState = initialState;
+        this.nextState = new boolean[initialState.length][initialState.length == 0 ? 0 : initialState[0].length];
+    }
+
+    @Override
+    public boolean step() {
+        boolean changed = gameService.computeNextGeneration(currentState, nextState);
+        boolean[][] tempState = currentState;
+        currentState = nextState;
+        nextState = tempState;
+        stepCount++;
+        return changed;
+    }
+
+    @Override
+    public boolean[][] getState() {
+        return currentState;
+    }
+
+    @Override
+    public int getStepCount() {
+        return stepCount;
+    }
+}
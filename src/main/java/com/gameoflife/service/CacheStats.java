@@ -0,0 +1,51 @@
+package com.gameoflife.service;
+
+/**
+ * Snapshot of the metrics of a weight-bounded cache.
+ */
+public final class CacheStats {
+    private final int entries;
+    private final long weight;
+    private final long maxWeight;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    CacheStats(int entries, long weight, long maxWeight, long hits, long misses, long evictions) {
+        this.entries = entries;
+        this.weight = weight;
+        this.maxWeight = maxWeight;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public int getEntries() { return entries; }
+
+    /**
+     * Total weight of the cached entries, in bytes.
+     */
+    public long getWeight() { return weight; }
+
+    public long getMaxWeight() { return maxWeight; }
+
+    public long getHits() { return hits; }
+
+    public long getMisses() { return misses; }
+
+    public long getEvictions() { return evictions; }
+
+    /**
+     * Fraction of lookups that were hits, between 0 and 1.
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "entries=" + entries + ", bytes=" + weight + "/" + maxWeight + ", hits=" + hits
+                + ", misses=" + misses + ", evictions=" + evictions;
+    }
+}
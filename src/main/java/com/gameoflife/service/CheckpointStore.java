@@ -0,0 +1,142 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.Board;
+import com.gameoflife.model.Checkpoint;
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.codec.CodecType;
+import com.gameoflife.model.codec.EncodedState;
+import com.gameoflife.model.codec.StateCodec;
+import com.gameoflife.repository.CheckpointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Saves and finds checkpoints of simulated lineages.
+ * While a board is simulated, the state is saved every K generations
+ * (absolute generations, so all boards of a lineage share the same
+ * checkpoints). K is the lineage's own checkpoint interval if its root board
+ * was created with one, otherwise {@code game.checkpoint.interval}; 0 disables
+ * checkpoints.
+ *
+ * <p>Checkpoints are inserted in a transaction of their own. Two requests
+ * simulating the same lineage may save the same generation at once; the
+ * insert that loses the race is ignored instead of failing its request.</p>
+ */
+@Component
+public class CheckpointStore {
+
+    private final CheckpointRepository checkpointRepository;
+    private final TransactionTemplate newTransaction;
+    private final int defaultInterval;
+
+    @Autowired
+    public CheckpointStore(CheckpointRepository checkpointRepository, PlatformTransactionManager transactionManager,
+                           @Value("${game.checkpoint.interval:128}") int defaultInterval) {
+        this.checkpointRepository = checkpointRepository;
+        this.newTransaction = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        if (newTransaction != null) {
+            newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        this.defaultInterval = defaultInterval;
+    }
+
+    /**
+     * Inserts checkpoints in the caller's transaction.
+     */
+    CheckpointStore(CheckpointRepository checkpointRepository, int defaultInterval) {
+        this(checkpointRepository, null, defaultInterval);
+    }
+
+    /**
+     * Finds the latest checkpoint after a board's generation, up to a target generation.
+     *
+     * @param board Board the simulation starts from
+     * @param targetGeneration Generation the simulation has to reach
+     * @return The generation and state of the checkpoint, if there is one
+     */
+    public Optional<Snapshot> findLatest(Board board, int targetGeneration) {
+        if (interval(board) <= 0 || targetGeneration <= board.getGeneration()) {
+            return Optional.empty();
+        }
+        return checkpointRepository.findFirstByRootIdAndGenerationBetweenOrderByGenerationDesc(
+                        rootOf(board), board.getGeneration() + 1, targetGeneration)
+                .map(checkpoint -> {
+                    // Decoded straight into the grid the simulation continues from
+                    PackedGrid state = new PackedGrid(board.getWidth(), board.getHeight());
+                    checkpoint.getCodec().codec().decode(checkpoint.getData(), state);
+                    return new Snapshot(checkpoint.getGeneration(), state);
+                });
+    }
+
+    /**
+     * Whether a simulation of a board's lineage should save the given generation.
+     * Boards too large for the codecs have no checkpoints.
+     */
+    public boolean isDue(Board board, int generation) {
+        int interval = interval(board);
+        return interval > 0 && generation % interval == 0
+                && (long) board.getWidth() * board.getHeight() <= StateCodec.MAX_CELLS;
+    }
+
+    /**
+     * Saves a checkpoint unless the lineage already has one at the generation.
+     * Only states from which stepping continues (not final states) should be saved.
+     *
+     * @param board Any board of the lineage
+     * @param generation Absolute generation of the state
+     * @param state The state
+     */
+    public void save(Board board, int generation, PackedGrid state) {
+        Long rootId = rootOf(board);
+        if (checkpointRepository.existsByRootIdAndGeneration(rootId, generation)) {
+            return;
+        }
+        int cells = StateCodec.cells(board.getWidth(), board.getHeight());
+        EncodedState encoded = CodecType.encode(state.toBitset(), cells);
+        Checkpoint checkpoint = new Checkpoint(rootId, generation, encoded.getData(), encoded.getCodec());
+        try {
+            if (newTransaction == null) {
+                checkpointRepository.saveAndFlush(checkpoint);
+            } else {
+                newTransaction.executeWithoutResult(status -> checkpointRepository.saveAndFlush(checkpoint));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Saved by another request in the meantime
+        }
+    }
+
+    /**
+     * Checkpoint interval of a board's lineage, 0 if checkpoints are disabled.
+     */
+    public int interval(Board board) {
+        return board.getCheckpointInterval() != null ? board.getCheckpointInterval() : defaultInterval;
+    }
+
+    private static Long rootOf(Board board) {
+        return board.getRootId() != null ? board.getRootId() : board.getId();
+    }
+
+    /**
+     * State of a lineage at an absolute generation.
+     */
+    public static final class Snapshot {
+        private final int generation;
+        private final PackedGrid state;
+
+        Snapshot(int generation, PackedGrid state) {
+            this.generation = generation;
+            this.state = state;
+        }
+
+        public int getGeneration() { return generation; }
+
+        public PackedGrid getState() { return state; }
+    }
+}
@@ -0,0 +1,104 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+
+/**
+ * Description of the work a request asks of an engine, used by
+ * {@link GameEngineRegistry} to pick the cheapest engine.
+ */
+public final class EngineWorkload {
+
+    private final int width;
+    private final int height;
+    private final long liveCells;
+    private final long iterations;
+    private final boolean everyGeneration;
+
+    /**
+     * @param width Board width
+     * @param height Board height
+     * @param liveCells Number of live cells in the starting state
+     * @param iterations Number of generations to compute (an upper bound if unknown)
+     * @param everyGeneration Whether the caller needs every intermediate generation
+     *                        (stepping) or only the last one (a jump)
+     */
+    public EngineWorkload(int width, int height, long liveCells, long iterations, boolean everyGeneration) {
+        this.width = width;
+        this.height = height;
+        this.liveCells = liveCells;
+        this.iterations = iterations;
+        this.everyGeneration = everyGeneration;
+    }
+
+    /**
+     * Describes a workload starting from the given board state.
+     *
+     * @param grid Starting state of the board
+     * @param iterations Number of generations to compute
+     * @param everyGeneration Whether every intermediate generation is needed
+     * @return The workload
+     */
+    public static EngineWorkload of(boolean[][] grid, long iterations, boolean everyGeneration) {
+        int height = grid.length;
+        int width = height == 0 ? 0 : grid[0].length;
+        long liveCells = 0;
+        for (boolean[] row : grid) {
+            for (boolean cell : row) {
+                if (cell) {
+                    liveCells++;
+                }
+            }
+        }
+        return new EngineWorkload(width, height, liveCells, iterations, everyGeneration);
+    }
+
+    /**
+     * Describes a workload starting from the given packed board state.
+     *
+     * @param grid Starting state of the board
+     * @param iterations Number of generations to compute
+     * @param everyGeneration Whether every intermediate generation is needed
+     * @return The workload
+     */
+    public static EngineWorkload of(PackedGrid grid, long iterations, boolean everyGeneration) {
+        return new EngineWorkload(grid.getWidth(), grid.getHeight(), grid.population(), iterations, everyGeneration);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getCells() {
+        return (long) width * height;
+    }
+
+    public long getLiveCells() {
+        return liveCells;
+    }
+
+    /**
+     * Fraction of live cells, between 0 and 1.
+     */
+    public double getDensity() {
+        long cells = getCells();
+        return cells == 0 ? 0 : (double) liveCells / cells;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public boolean isEveryGeneration() {
+        return everyGeneration;
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height + ", " + liveCells + " live, " + iterations
+                + (everyGeneration ? " steps" : " generations");
+    }
+}
@@ -0,0 +1,108 @@
+package com.gameoflife.service;
+
+import com.gameoflife.exception.UnknownEngineException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of all GameService engines, keyed by {@link GameService#getEngineName()}.
+ * For every request it picks the engine with the lowest estimated cost among
+ * those that support the workload, unless an engine is forced by the request
+ * or by the {@code game.engine} property.
+ */
+@Component
+public class GameEngineRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(GameEngineRegistry.class);
+
+    /**
+     * Engine name that selects automatically.
+     */
+    public static final String AUTO = "auto";
+
+    private final Map<String, GameService> engines = new LinkedHashMap<>();
+    private final GameService configuredEngine;
+
+    @Autowired
+    public GameEngineRegistry(List<GameService> engines, @Value("${game.engine:auto}") String configuredEngine) {
+        for (GameService engine : engines) {
+            GameService previous = this.engines.put(engine.getEngineName(), engine);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate engine name: " + engine.getEngineName());
+            }
+        }
+        this.configuredEngine = isAuto(configuredEngine) ? null : get(configuredEngine);
+        log.info("Registered engines {}, configured engine: {}", this.engines.keySet(),
+                this.configuredEngine == null ? AUTO : configuredEngine);
+    }
+
+    /**
+     * Selects the engine for a workload.
+     *
+     * @param workload The work to be done
+     * @param requestedEngine Engine name forced by the request, or null / "auto"
+     * @return The engine to use
+     */
+    public GameService select(EngineWorkload workload, String requestedEngine) {
+        if (!isAuto(requestedEngine)) {
+            return get(requestedEngine);
+        }
+        if (configuredEngine != null) {
+            return configuredEngine;
+        }
+
+        GameService best = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (GameService engine : engines.values()) {
+            if (!engine.supports(workload)) {
+                continue;
+            }
+            double cost = engine.estimateCost(workload);
+            if (best == null || cost < bestCost) {
+                best = engine;
+                bestCost = cost;
+            }
+        }
+
+        if (best == null) {
+            throw new IllegalStateException("No engine supports workload " + workload);
+        }
+        log.debug("Selected engine {} for {}", best.getEngineName(), workload);
+        return best;
+    }
+
+    /**
+     * Looks up an engine by name.
+     *
+     * @param name Engine name
+     * @return The engine
+     * @throws UnknownEngineException if no engine has that name
+     */
+    public GameService get(String name) {
+        GameService engine = engines.get(name);
+        if (engine == null) {
+            throw new UnknownEngineException(name);
+        }
+        return engine;
+    }
+
+    public Set<String> getEngineNames() {
+        return Collections.unmodifiableSet(engines.keySet());
+    }
+
+    /**
+     * Whether a requested engine name leaves the choice to the registry.
+     */
+    static boolean isAuto(String name) {
+        return name == null || name.isEmpty() || AUTO.equalsIgnoreCase(name);
+    }
+}
@@ -1,5 +1,9 @@
 package com.gameoflife.service;
 
+import com.gameoflife.model.PackedGrid;
+
+import java.util.Arrays;
+
 /**
  * Service interface for Game of Life logic.
  */
@@ -12,7 +16,81 @@ public interface GameService {
      * @return The next state after applying Game of Life rules
      */
     boolean[][] computeNextGeneration(boolean[][] currentState);
-    
+
+    /**
+     * Computes the next generation into an existing buffer, so that multi-step
+     * loops can ping-pong between two grids instead of allocating one per step.
+     * Engines that can write in place should override this; the default
+     * delegates to {@link #computeNextGeneration(boolean[][])} and copies.
+     *
+     * @param currentState Current state of the board
+     * @param nextState Buffer of the same dimensions that receives the next state
+     *                  (must not be {@code currentState})
+     * @return true if any cell changed
+     */
+    default boolean computeNextGeneration(boolean[][] currentState, boolean[][] nextState) {
+        boolean[][] computed = computeNextGeneration(currentState);
+        boolean changed = false;
+        for (int row = 0; row < computed.length; row++) {
+            changed |= !Arrays.equals(currentState[row], computed[row]);
+            System.arraycopy(computed[row], 0, nextState[row], 0, computed[row].length);
+        }
+        return changed;
+    }
+
+    /**
+     * Starts a multi-generation simulation of a board. The default simulation
+     * ping-pongs between two buffers; engines that track state across
+     * generations return their own implementation.
+     *
+     * @param initialState Initial state of the board; may be reused as a buffer
+     * @return The running simulation
+     */
+    default Simulation startSimulation(boolean[][] initialState) {
+        return new BufferedSimulation(this, initialState);
+    }
+
+    /**
+     * Starts a multi-generation simulation from a packed board, the form boards
+     * are loaded in. Engines that step packed words override this to run
+     * without ever unpacking the board; the default unpacks it once and
+     * delegates to {@link #startSimulation(boolean[][])}.
+     *
+     * @param initialState Initial state of the board; may be reused as a buffer
+     * @return The running simulation
+     */
+    default Simulation startSimulation(PackedGrid initialState) {
+        return startSimulation(initialState.toGrid());
+    }
+
+    /**
+     * Name under which the engine is registered and can be requested.
+     */
+    default String getEngineName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Whether the engine can (or should) handle a workload at all.
+     *
+     * @param workload The work to be done
+     * @return true if the engine may be selected for it
+     */
+    default boolean supports(EngineWorkload workload) {
+        return true;
+    }
+
+    /**
+     * Estimated relative cost of a workload, in units of one cell update of
+     * the reference engine. Only used to rank engines against each other.
+     *
+     * @param workload The work to be done
+     * @return Estimated cost
+     */
+    default double estimateCost(EngineWorkload workload) {
+        return (double) workload.getCells() * workload.getIterations();
+    }
+
     /**
      * Counts the number of live neighbors for a cell.
      *
@@ -21,5 +99,21 @@ public interface GameService {
      * @param col Column index of the cell
      * @return Count of live neighbors (0-8)
      */
-    int countLiveNeighbors(boolean[][] grid, int row, int col);
+    default int countLiveNeighbors(boolean[][] grid, int row, int col) {
+        int count = 0;
+        int fromRow = Math.max(row - 1, 0);
+        int toRow = Math.min(row + 1, grid.length - 1);
+        int fromCol = Math.max(col - 1, 0);
+        int toCol = Math.min(col + 1, grid[0].length - 1);
+
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromCol; c <= toCol; c++) {
+                if (grid[r][c] && (r != row || c != col)) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
 }
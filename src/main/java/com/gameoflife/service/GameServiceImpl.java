@@ -1,11 +1,14 @@
 package com.gameoflife.service;
 
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
 /**
  * Implementation of GameService that handles the Game of Life rules and logic.
+ * This is the default engine injected wherever a single GameService is required.
  */
 @Service
+@Primary
 public class GameServiceImpl implements GameService {
 
     /**
@@ -27,25 +30,47 @@ public class GameServiceImpl implements GameService {
         int height = currentState.length;
         int width = currentState[0].length;
         boolean[][] nextState = new boolean[height][width];
+        computeNextGeneration(currentState, nextState);
+
+        return nextState;
+    }
+
+    /**
+     * Computes the next generation into an existing buffer, tracking whether
+     * any cell changed while the rules are applied.
+     *
+     * @param currentState Current state of the board
+     * @param nextState Buffer of the same dimensions that receives the next state
+     * @return true if any cell changed
+     */
+    @Override
+    public boolean computeNextGeneration(boolean[][] currentState, boolean[][] nextState) {
+        int height = currentState.length;
+        int width = height == 0 ? 0 : currentState[0].length;
+        boolean changed = false;
 
         for (int row = 0; row < height; row++) {
             for (int col = 0; col < width; col++) {
                 int liveNeighbors = countLiveNeighbors(currentState, row, col);
                 boolean isAlive = currentState[row][col];
+                boolean nextAlive;
 
                 // Apply Conway's Game of Life rules
                 if (isAlive) {
                     // Rule 1 & 3: Live cell with <2 or >3 neighbors dies
                     // Rule 2: Live cell with 2-3 neighbors survives
-                    nextState[row][col] = liveNeighbors == 2 || liveNeighbors == 3;
+                    nextAlive = liveNeighbors == 2 || liveNeighbors == 3;
                 } else {
                     // Rule 4: Dead cell with exactly 3 neighbors becomes alive
-                    nextState[row][col] = liveNeighbors == 3;
+                    nextAlive = liveNeighbors == 3;
                 }
+
+                nextState[row][col] = nextAlive;
+                changed |= nextAlive != isAlive;
             }
         }
 
-        return nextState;
+        return changed;
     }
 
     /**
@@ -85,4 +110,9 @@ public class GameServiceImpl implements GameService {
         
         return count;
     }
+
+    @Override
+    public String getEngineName() {
+        return "reference";
+    }
 }
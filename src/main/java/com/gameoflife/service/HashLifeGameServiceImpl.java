@@ -0,0 +1,525 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GameService implementation based on Gosper's HashLife algorithm.
+ * The board is stored as a hash-consed quadtree; the memoized RESULT of a node
+ * advances its center by a power of two generations in a single step, so
+ * {@link #advance(PackedGrid, long)} costs roughly O(log n) jumps for highly
+ * regular patterns.
+ *
+ * <p>Cells outside the board are modelled as a third, permanently dead "wall"
+ * state. Walls never come alive and count as dead neighbors, which reproduces
+ * the dead-border behavior of {@link GameServiceImpl} exactly while keeping the
+ * universe infinite and static outside the board.</p>
+ *
+ * <p>The node cache is shared across requests and bounded by
+ * {@code game.hashlife.max-nodes}. When it grows beyond that size, the cache is
+ * garbage collected down to the nodes reachable from the current root.</p>
+ */
+@Service("hashLifeGameService")
+public class HashLifeGameServiceImpl implements GameService {
+
+    private static final Logger log = LoggerFactory.getLogger(HashLifeGameServiceImpl.class);
+
+    private static final int DEAD = 0;
+    private static final int ALIVE = 1;
+    private static final int WALL = 2;
+
+    private static final Node DEAD_CELL = new Node(DEAD);
+    private static final Node ALIVE_CELL = new Node(ALIVE);
+    private static final Node WALL_CELL = new Node(WALL);
+
+    private final int maxNodes;
+
+    /**
+     * Iteration count from which jumps are handed to HashLife. 0 disables it.
+     */
+    private final int iterationThreshold;
+
+    private Node[] table;
+    private int size;
+    private final List<Node> walls = new ArrayList<>();
+
+    private long cacheHits;
+    private long cacheMisses;
+    private long collections;
+    private long evictedNodes;
+
+    public HashLifeGameServiceImpl(int maxNodes) {
+        this(maxNodes, 1024);
+    }
+
+    @Autowired
+    public HashLifeGameServiceImpl(@Value("${game.hashlife.max-nodes:2000000}") int maxNodes,
+                                   @Value("${game.hashlife.iteration-threshold:1024}") int iterationThreshold) {
+        this.maxNodes = maxNodes;
+        this.iterationThreshold = iterationThreshold;
+        this.table = new Node[1 << 16];
+    }
+
+    /**
+     * Computes the next generation of the board.
+     *
+     * @param currentState Current state of the board
+     * @return The next state after applying Game of Life rules
+     */
+    @Override
+    public boolean[][] computeNextGeneration(boolean[][] currentState) {
+        if (currentState == null || currentState.length == 0 || currentState[0].length == 0) {
+            return new boolean[0][0];
+        }
+
+        return advance(PackedGrid.fromGrid(currentState), 1).toGrid();
+    }
+
+    @Override
+    public String getEngineName() {
+        return "hashlife";
+    }
+
+    /**
+     * HashLife is only worth building a quadtree for long jumps; it is never
+     * selected when every generation is needed.
+     */
+    @Override
+    public boolean supports(EngineWorkload workload) {
+        return !workload.isEveryGeneration()
+                && iterationThreshold > 0
+                && workload.getIterations() >= iterationThreshold;
+    }
+
+    /**
+     * A jump costs about one quadtree pass per power of two in the iteration count.
+     */
+    @Override
+    public double estimateCost(EngineWorkload workload) {
+        int jumps = 64 - Long.numberOfLeadingZeros(workload.getIterations());
+        return (1.0 + 2.0 * jumps) * workload.getCells();
+    }
+
+    /**
+     * Advances a board by an arbitrary number of generations.
+     * The count is decomposed into powers of two, each of which is a single
+     * memoized quadtree jump.
+     *
+     * @param grid Current state of the board
+     * @param generations Number of generations to advance (non-negative)
+     * @return The state after the given number of generations
+     */
+    public synchronized PackedGrid advance(PackedGrid grid, long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Number of generations must be non-negative");
+        }
+        if (generations == 0 || grid.getWidth() == 0 || grid.getHeight() == 0) {
+            return grid.copy();
+        }
+
+        int level = 2;
+        while ((1L << level) < Math.max(grid.getWidth(), grid.getHeight())) {
+            level++;
+        }
+        Node root = build(grid, level, 0, 0);
+
+        for (int step = 0; generations >> step != 0; step++) {
+            if (((generations >> step) & 1) == 0) {
+                continue;
+            }
+            if (size > maxNodes) {
+                root = collect(root);
+            }
+            root = jump(root, step);
+        }
+
+        PackedGrid result = new PackedGrid(grid.getWidth(), grid.getHeight());
+        extract(root, 0, 0, result);
+
+        if (log.isDebugEnabled()) {
+            log.debug("HashLife advanced {}x{} board by {} generations: {}",
+                    grid.getWidth(), grid.getHeight(), generations, getStats());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a snapshot of the node cache metrics.
+     */
+    public synchronized HashLifeStats getStats() {
+        return new HashLifeStats(size, maxNodes, cacheHits, cacheMisses, collections, evictedNodes);
+    }
+
+    /**
+     * Advances the region covered by {@code root} by 2^step generations.
+     * The root is padded with walls until it is large enough for the jump, and
+     * the original region is cut back out of the result.
+     */
+    private Node jump(Node root, int step) {
+        int level = root.level;
+        Node expanded = expand(root);
+        while (expanded.level < step + 2) {
+            expanded = expand(expanded);
+        }
+
+        Node result = result(expanded, step);
+        while (result.level > level) {
+            result = center(result);
+        }
+        return result;
+    }
+
+    /**
+     * Memoized RESULT: the center half of {@code node}, advanced 2^step generations.
+     * Requires {@code step <= node.level - 2}.
+     */
+    private Node result(Node node, int step) {
+        if (node.result != null && node.resultStep == step) {
+            cacheHits++;
+            return node.result;
+        }
+        cacheMisses++;
+
+        Node result;
+        if (node.population == 0) {
+            // Without live cells nothing can be born, so the region never changes
+            result = center(node);
+        } else if (node.level == 2) {
+            result = baseCase(node);
+        } else {
+            Node n00 = node.nw;
+            Node n01 = horizontal(node.nw, node.ne);
+            Node n02 = node.ne;
+            Node n10 = vertical(node.nw, node.sw);
+            Node n11 = center(node);
+            Node n12 = vertical(node.ne, node.se);
+            Node n20 = node.sw;
+            Node n21 = horizontal(node.sw, node.se);
+            Node n22 = node.se;
+
+            if (step == node.level - 2) {
+                // Two half-steps of 2^(level - 3) generations each
+                Node r00 = result(n00, step - 1);
+                Node r01 = result(n01, step - 1);
+                Node r02 = result(n02, step - 1);
+                Node r10 = result(n10, step - 1);
+                Node r11 = result(n11, step - 1);
+                Node r12 = result(n12, step - 1);
+                Node r20 = result(n20, step - 1);
+                Node r21 = result(n21, step - 1);
+                Node r22 = result(n22, step - 1);
+
+                result = join(
+                        result(join(r00, r01, r10, r11), step - 1),
+                        result(join(r01, r02, r11, r12), step - 1),
+                        result(join(r10, r11, r20, r21), step - 1),
+                        result(join(r11, r12, r21, r22), step - 1));
+            } else {
+                // Smaller jump: recentre without advancing, then a single jump
+                Node c00 = center(n00);
+                Node c01 = center(n01);
+                Node c02 = center(n02);
+                Node c10 = center(n10);
+                Node c11 = center(n11);
+                Node c12 = center(n12);
+                Node c20 = center(n20);
+                Node c21 = center(n21);
+                Node c22 = center(n22);
+
+                result = join(
+                        result(join(c00, c01, c10, c11), step),
+                        result(join(c01, c02, c11, c12), step),
+                        result(join(c10, c11, c20, c21), step),
+                        result(join(c11, c12, c21, c22), step));
+            }
+        }
+
+        node.result = result;
+        node.resultStep = step;
+        return result;
+    }
+
+    /**
+     * Brute-force single generation for a 4x4 node, producing its 2x2 center.
+     */
+    private Node baseCase(Node node) {
+        Node[] next = new Node[4];
+        for (int i = 0; i < 4; i++) {
+            int row = 1 + (i >> 1);
+            int col = 1 + (i & 1);
+            int state = cell(node, row, col);
+
+            if (state == WALL) {
+                next[i] = WALL_CELL;
+                continue;
+            }
+
+            int neighbors = 0;
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = col - 1; c <= col + 1; c++) {
+                    if ((r != row || c != col) && cell(node, r, c) == ALIVE) {
+                        neighbors++;
+                    }
+                }
+            }
+
+            boolean alive = state == ALIVE ? neighbors == 2 || neighbors == 3 : neighbors == 3;
+            next[i] = alive ? ALIVE_CELL : DEAD_CELL;
+        }
+        return join(next[0], next[1], next[2], next[3]);
+    }
+
+    private static int cell(Node level2, int row, int col) {
+        Node quadrant = row < 2 ? (col < 2 ? level2.nw : level2.ne) : (col < 2 ? level2.sw : level2.se);
+        Node leaf = (row & 1) == 0 ? ((col & 1) == 0 ? quadrant.nw : quadrant.ne)
+                : ((col & 1) == 0 ? quadrant.sw : quadrant.se);
+        return leaf.state;
+    }
+
+    private Node center(Node node) {
+        return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    private Node horizontal(Node west, Node east) {
+        return join(west.ne, east.nw, west.se, east.sw);
+    }
+
+    private Node vertical(Node north, Node south) {
+        return join(north.sw, north.se, south.nw, south.ne);
+    }
+
+    /**
+     * Wraps a node in walls so that it becomes the center of a node one level up.
+     */
+    private Node expand(Node node) {
+        Node wall = wall(node.level - 1);
+        return join(
+                join(wall, wall, wall, node.nw),
+                join(wall, wall, node.ne, wall),
+                join(wall, node.sw, wall, wall),
+                join(node.se, wall, wall, wall));
+    }
+
+    private Node wall(int level) {
+        while (walls.size() <= level) {
+            if (walls.isEmpty()) {
+                walls.add(WALL_CELL);
+            } else {
+                Node smaller = walls.get(walls.size() - 1);
+                walls.add(join(smaller, smaller, smaller, smaller));
+            }
+        }
+        return walls.get(level);
+    }
+
+    /**
+     * Builds the quadtree for the square of the given level whose top-left
+     * corner is at (row, col). Cells outside the board become walls.
+     */
+    private Node build(PackedGrid grid, int level, int row, int col) {
+        if (row >= grid.getHeight() || col >= grid.getWidth()) {
+            return wall(level);
+        }
+        if (level == 0) {
+            return grid.get(row, col) ? ALIVE_CELL : DEAD_CELL;
+        }
+
+        int half = 1 << (level - 1);
+        return join(
+                build(grid, level - 1, row, col),
+                build(grid, level - 1, row, col + half),
+                build(grid, level - 1, row + half, col),
+                build(grid, level - 1, row + half, col + half));
+    }
+
+    /**
+     * Copies the live cells of the square at (row, col) into the grid.
+     */
+    private static void extract(Node node, int row, int col, PackedGrid target) {
+        if (node.population == 0 || row >= target.getHeight() || col >= target.getWidth()) {
+            return;
+        }
+        if (node.level == 0) {
+            target.set(row, col, true);
+            return;
+        }
+
+        int half = 1 << (node.level - 1);
+        extract(node.nw, row, col, target);
+        extract(node.ne, row, col + half, target);
+        extract(node.sw, row + half, col, target);
+        extract(node.se, row + half, col + half, target);
+    }
+
+    /**
+     * Returns the canonical node with the given children, creating it if needed.
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+        int hash = Node.hash(nw, ne, sw, se);
+        int index = hash & (table.length - 1);
+
+        for (Node node = table[index]; node != null; node = node.next) {
+            if (node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) {
+                return node;
+            }
+        }
+
+        if (size > 2 * maxNodes) {
+            // Emergency flush in the middle of a jump; nodes still on the stack stay valid
+            evict();
+            index = hash & (table.length - 1);
+        }
+
+        Node node = new Node(nw, ne, sw, se, hash);
+        node.next = table[index];
+        table[index] = node;
+        size++;
+
+        if (size > table.length * 3 / 4) {
+            resize(table.length << 1);
+        }
+        return node;
+    }
+
+    private void resize(int capacity) {
+        Node[] newTable = new Node[capacity];
+        for (Node head : table) {
+            Node node = head;
+            while (node != null) {
+                Node next = node.next;
+                int index = node.hash & (capacity - 1);
+                node.next = newTable[index];
+                newTable[index] = node;
+                node = next;
+            }
+        }
+        table = newTable;
+    }
+
+    private void evict() {
+        evictedNodes += size;
+        table = new Node[1 << 16];
+        size = 0;
+        walls.clear();
+    }
+
+    /**
+     * Garbage collects the node cache down to the nodes reachable from root,
+     * dropping every memoized result.
+     */
+    private Node collect(Node root) {
+        int before = size;
+        table = new Node[1 << 16];
+        size = 0;
+        walls.clear();
+
+        Node rebuilt = reintern(root);
+        collections++;
+        evictedNodes += Math.max(0, before - size);
+        log.debug("HashLife cache collected: {} -> {} nodes", before, size);
+        return rebuilt;
+    }
+
+    private Node reintern(Node node) {
+        if (node.level == 0) {
+            return node;
+        }
+        return join(reintern(node.nw), reintern(node.ne), reintern(node.sw), reintern(node.se));
+    }
+
+    /**
+     * Quadtree node. Level 0 nodes are single cells; a level k node covers a
+     * 2^k x 2^k square.
+     */
+    private static final class Node {
+        final Node nw;
+        final Node ne;
+        final Node sw;
+        final Node se;
+        final int level;
+        final int state;
+        final long population;
+        final int hash;
+
+        Node next;
+        Node result;
+        int resultStep = -1;
+
+        Node(int state) {
+            this.nw = null;
+            this.ne = null;
+            this.sw = null;
+            this.se = null;
+            this.level = 0;
+            this.state = state;
+            this.population = state == ALIVE ? 1 : 0;
+            this.hash = state + 1;
+        }
+
+        Node(Node nw, Node ne, Node sw, Node se, int hash) {
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.level = nw.level + 1;
+            this.state = -1;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            this.hash = hash;
+        }
+
+        static int hash(Node nw, Node ne, Node sw, Node se) {
+            int h = nw.hash;
+            h = h * 0x9E3779B1 + ne.hash;
+            h = h * 0x9E3779B1 + sw.hash;
+            h = h * 0x9E3779B1 + se.hash;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Snapshot of the HashLife node cache metrics.
+     */
+    public static final class HashLifeStats {
+        private final int nodeCount;
+        private final int maxNodes;
+        private final long cacheHits;
+        private final long cacheMisses;
+        private final long collections;
+        private final long evictedNodes;
+
+        HashLifeStats(int nodeCount, int maxNodes, long cacheHits, long cacheMisses,
+                      long collections, long evictedNodes) {
+            this.nodeCount = nodeCount;
+            this.maxNodes = maxNodes;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+            this.collections = collections;
+            this.evictedNodes = evictedNodes;
+        }
+
+        public int getNodeCount() { return nodeCount; }
+
+        public int getMaxNodes() { return maxNodes; }
+
+        public long getCacheHits() { return cacheHits; }
+
+        public long getCacheMisses() { return cacheMisses; }
+
+        public long getCollections() { return collections; }
+
+        public long getEvictedNodes() { return evictedNodes; }
+
+        @Override
+        public String toString() {
+            return "nodes=" + nodeCount + "/" + maxNodes + ", hits=" + cacheHits + ", misses=" + cacheMisses
+                    + ", collections=" + collections + ", evicted=" + evictedNodes;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+
+import java.util.Arrays;
+
+/**
+ * A stored board being simulated live, one generation at a time, without
+ * saving the generations it passes through. Detects the final state the way
+ * {@code /final} does, with Brent's algorithm on state fingerprints, so only
+ * one snapshot is kept however long the board runs. A cycle is detected
+ * within a few periods of its start. Cells can be edited between generations.
+ */
+public final class LiveSimulation {
+
+    private final Long boardId;
+    private final int maxGenerations;
+    private final GameService engine;
+    private Simulation simulation;
+    private int startGeneration;
+
+    private PackedGrid tortoise;
+    private long tortoiseFingerprint;
+    private int power;
+    private int distance;
+
+    private boolean finalState;
+    private Integer period;
+
+    /**
+     * @param boardId ID of the board the simulation starts from
+     * @param startGeneration Generation of that board
+     * @param engine Engine that steps the board
+     * @param state State of the board; may be reused as a buffer
+     * @param finalState Whether the board is already a final state
+     * @param maxGenerations Number of generations after which the simulation stops
+     */
+    public LiveSimulation(Long boardId, int startGeneration, GameService engine, PackedGrid state,
+                          boolean finalState, int maxGenerations) {
+        this.boardId = boardId;
+        this.maxGenerations = maxGenerations;
+        this.engine = engine;
+        restart(startGeneration, state);
+        this.finalState = finalState;
+    }
+
+    /**
+     * Advances the board by one generation, unless it is finished.
+     *
+     * @return false if the simulation was already finished
+     */
+    public boolean step() {
+        if (isFinished()) {
+            return false;
+        }
+
+        if (!simulation.step()) {
+            // Stable: this generation repeats the previous one
+            finalState = true;
+            period = 1;
+            return true;
+        }
+        distance++;
+
+        // Fingerprints can collide, so a match is confirmed cell by cell
+        long fingerprint = simulation.fingerprint();
+        if (fingerprint == tortoiseFingerprint && simulation.matches(tortoise)) {
+            finalState = true;
+            period = distance;
+        } else if (distance == power) {
+            tortoise = simulation.snapshot();
+            tortoiseFingerprint = fingerprint;
+            power *= 2;
+            distance = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Sets cells of the current generation alive or dead. The simulation
+     * continues from the edited state as if it was a new board: cycle
+     * detection and the generation limit start over, and a finished
+     * simulation runs again.
+     *
+     * @param cells Cells as {@code {row, column}} pairs
+     * @param alive Whether the cells become alive
+     * @return Number of cells that changed
+     * @throws IllegalArgumentException if a cell is outside the board
+     */
+    public int setCells(int[][] cells, boolean alive) {
+        PackedGrid state = getState();
+        for (int[] cell : cells) {
+            if (cell == null || cell.length != 2 || cell[0] < 0 || cell[0] >= state.getHeight()
+                    || cell[1] < 0 || cell[1] >= state.getWidth()) {
+                throw new IllegalArgumentException("Cell " + Arrays.toString(cell) + " is outside the "
+                        + state.getWidth() + "x" + state.getHeight() + " board");
+            }
+        }
+
+        PackedGrid edited = state.copy();
+        int changed = 0;
+        for (int[] cell : cells) {
+            if (edited.get(cell[0], cell[1]) != alive) {
+                edited.set(cell[0], cell[1], alive);
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            restart(getGeneration(), edited);
+        }
+        return changed;
+    }
+
+    private void restart(int generation, PackedGrid state) {
+        startGeneration = generation;
+        simulation = engine.startSimulation(state);
+        finalState = false;
+        period = null;
+        tortoise = simulation.snapshot();
+        tortoiseFingerprint = simulation.fingerprint();
+        power = 1;
+        distance = 0;
+    }
+
+    /**
+     * Whether a final state was reached or the generation limit is used up.
+     */
+    public boolean isFinished() {
+        return finalState || simulation.getStepCount() >= maxGenerations;
+    }
+
+    /**
+     * Current state. It may be reused by the simulation and is only valid
+     * until the next call to {@link #step()}.
+     */
+    public PackedGrid getState() {
+        return simulation.getPackedState();
+    }
+
+    public Long getBoardId() { return boardId; }
+
+    public int getGeneration() { return startGeneration + simulation.getStepCount(); }
+
+    /**
+     * Whether the current state is a final state: stable, or a state that
+     * already occurred.
+     */
+    public boolean isFinalState() { return finalState; }
+
+    /**
+     * Cycle length once a final state was reached, otherwise null.
+     */
+    public Integer getPeriod() { return period; }
+
+    public String getEngineName() { return engine.getEngineName(); }
+}
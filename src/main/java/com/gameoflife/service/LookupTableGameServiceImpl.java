@@ -0,0 +1,200 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.springframework.stereotype.Service;
+
+/**
+ * GameService implementation that steps the board in 2x2 blocks through a
+ * precomputed lookup table. The 16 cells of a 4x4 neighborhood form a 16-bit
+ * index into a 65536-entry table holding the next state of the 2x2 block at
+ * its center, so one lookup replaces counting neighbors for four cells.
+ * Cells outside the board are treated as dead, exactly like {@link GameServiceImpl}.
+ */
+@Service("lookupTableGameService")
+public class LookupTableGameServiceImpl implements GameService {
+
+    /**
+     * Next state of the 2x2 center for every 4x4 neighborhood. Index bit
+     * {@code 4 * r + c} is the cell in row r, column c of the neighborhood;
+     * result bits 0-1 are the upper center row and bits 2-3 the lower one.
+     */
+    private static final byte[] TABLE = buildTable();
+
+    /**
+     * Computes the next generation by packing the board, stepping it block by
+     * block and unpacking the result.
+     *
+     * @param currentState Current state of the board
+     * @return The next state after applying Game of Life rules
+     */
+    @Override
+    public boolean[][] computeNextGeneration(boolean[][] currentState) {
+        if (currentState == null || currentState.length == 0 || currentState[0].length == 0) {
+            return new boolean[0][0];
+        }
+
+        PackedGrid current = PackedGrid.fromGrid(currentState);
+        PackedGrid next = new PackedGrid(current.getWidth(), current.getHeight());
+        step(current, next);
+        return next.toGrid();
+    }
+
+    @Override
+    public boolean computeNextGeneration(boolean[][] currentState, boolean[][] nextState) {
+        if (currentState.length == 0 || currentState[0].length == 0) {
+            return false;
+        }
+
+        PackedGrid current = PackedGrid.fromGrid(currentState);
+        PackedGrid next = new PackedGrid(current.getWidth(), current.getHeight());
+        boolean changed = step(current, next);
+        next.toGrid(nextState);
+        return changed;
+    }
+
+    @Override
+    public String getEngineName() {
+        return "lookup-table";
+    }
+
+    @Override
+    public double estimateCost(EngineWorkload workload) {
+        return 0.05 * workload.getCells() * workload.getIterations();
+    }
+
+    /**
+     * Steps the packed board directly, without unpacking it between generations.
+     */
+    @Override
+    public Simulation startSimulation(PackedGrid initialState) {
+        return new PackedSimulation(initialState, this::step);
+    }
+
+    /**
+     * Packs the board once and steps it packed, so that no grid is allocated
+     * per generation.
+     */
+    @Override
+    public Simulation startSimulation(boolean[][] initialState) {
+        return startSimulation(PackedGrid.fromGrid(initialState));
+    }
+
+    /**
+     * Computes the next generation of a packed grid into another packed grid
+     * of the same dimensions, two rows and 64 columns at a time.
+     *
+     * @param current Current state of the board
+     * @param next Grid that receives the next state (must not be {@code current})
+     * @return true if any cell changed
+     */
+    public boolean step(PackedGrid current, PackedGrid next) {
+        int height = current.getHeight();
+        int words = current.getWordsPerRow();
+        long mask = current.getLastWordMask();
+        long[] src = current.getWords();
+        long[] dst = next.getWords();
+
+        long changed = 0;
+        for (int row = 0; row < height; row += 2) {
+            // Output rows row and row + 1 read input rows row - 1 to row + 2
+            int r0 = row > 0 ? (row - 1) * words : -1;
+            int r1 = row * words;
+            int r2 = row + 1 < height ? (row + 1) * words : -1;
+            int r3 = row + 2 < height ? (row + 2) * words : -1;
+
+            for (int w = 0; w < words; w++) {
+                long window0 = window(src, r0, w);
+                long window1 = window(src, r1, w);
+                long window2 = window(src, r2, w);
+                long window3 = window(src, r3, w);
+                long high0 = highNibble(src, r0, w, words);
+                long high1 = highNibble(src, r1, w, words);
+                long high2 = highNibble(src, r2, w, words);
+                long high3 = highNibble(src, r3, w, words);
+
+                long upper = 0;
+                long lower = 0;
+                for (int block = 0; block < 32; block++) {
+                    int shift = block << 1;
+                    int index;
+                    if (block < 31) {
+                        index = (int) ((window0 >>> shift) & 0xF)
+                                | (int) ((window1 >>> shift) & 0xF) << 4
+                                | (int) ((window2 >>> shift) & 0xF) << 8
+                                | (int) ((window3 >>> shift) & 0xF) << 12;
+                    } else {
+                        index = (int) high0 | (int) high1 << 4 | (int) high2 << 8 | (int) high3 << 12;
+                    }
+                    int result = TABLE[index];
+                    upper |= (long) (result & 3) << shift;
+                    lower |= (long) (result >>> 2) << shift;
+                }
+
+                if (w == words - 1) {
+                    upper &= mask;
+                    lower &= mask;
+                }
+
+                dst[r1 + w] = upper;
+                changed |= upper ^ src[r1 + w];
+                if (r2 >= 0) {
+                    dst[r2 + w] = lower;
+                    changed |= lower ^ src[r2 + w];
+                }
+            }
+        }
+        return changed != 0;
+    }
+
+    /**
+     * Columns {@code 64 * w - 1} to {@code 64 * w + 62} of a row as bits 0-63,
+     * so the neighborhood of block k starts at bit {@code 2 * k}.
+     */
+    private static long window(long[] src, int row, int w) {
+        if (row < 0) {
+            return 0;
+        }
+        long previous = w > 0 ? src[row + w - 1] : 0;
+        return src[row + w] << 1 | previous >>> 63;
+    }
+
+    /**
+     * Columns {@code 64 * w + 61} to {@code 64 * w + 64} of a row, the
+     * neighborhood of the last block of the word, which spills into the next word.
+     */
+    private static long highNibble(long[] src, int row, int w, int words) {
+        if (row < 0) {
+            return 0;
+        }
+        long word = src[row + w];
+        long following = w + 1 < words ? src[row + w + 1] : 0;
+        return (word >>> 61) | (following & 1) << 3;
+    }
+
+    private static byte[] buildTable() {
+        byte[] table = new byte[1 << 16];
+        for (int index = 0; index < table.length; index++) {
+            int result = 0;
+            for (int cell = 0; cell < 4; cell++) {
+                int row = 1 + (cell >>> 1);
+                int col = 1 + (cell & 1);
+
+                int liveNeighbors = 0;
+                for (int r = row - 1; r <= row + 1; r++) {
+                    for (int c = col - 1; c <= col + 1; c++) {
+                        if ((r != row || c != col) && ((index >>> (4 * r + c)) & 1) != 0) {
+                            liveNeighbors++;
+                        }
+                    }
+                }
+
+                boolean alive = ((index >>> (4 * row + col)) & 1) != 0;
+                if (liveNeighbors == 3 || (alive && liveNeighbors == 2)) {
+                    result |= 1 << cell;
+                }
+            }
+            table[index] = (byte) result;
+        }
+        return table;
+    }
+}
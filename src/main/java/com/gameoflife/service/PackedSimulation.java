@@ -0,0 +1,93 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+
+/**
+ * Simulation for engines that step packed grids: ping-pongs between two
+ * PackedGrids, so the board is never unpacked unless {@link #getState()} is called.
+ */
+public class PackedSimulation implements Simulation {
+
+    /**
+     * Computes the next generation of a packed grid into another one.
+     */
+    @FunctionalInterface
+    public interface Stepper {
+        /**
+         * @param current Current state of the board
+         * @param next Grid of the same dimensions that receives the next state
+         * @return true if any cell changed
+         */
+        boolean step(PackedGrid current, PackedGrid next);
+    }
+
+    private final Stepper stepper;
+    private PackedGrid current;
+    private PackedGrid next;
+    private boolean[][] state;
+    private boolean stateValid;
+    private int stepCount;
+
+    /**
+     * @param initialState Initial state; used as one of the two buffers
+     * @param stepper Kernel used to compute each generation
+     */
+    public PackedSimulation(PackedGrid initialState, Stepper stepper) {
+        this.stepper = stepper;
+        this.current = initialState;
+        this.next = new PackedGrid(initialState.getWidth(), initialState.getHeight());
+    }
+
+    @Override
+    public boolean step() {
+        boolean changed = stepper.step(current, next);
+        PackedGrid temp = current;
+        current = next;
+        next = temp;
+        stepCount++;
+        stateValid = false;
+        return changed;
+    }
+
+    @Override
+    public boolean[][] getState() {
+        if (state == null) {
+            state = new boolean[current.getHeight()][current.getWidth()];
+        }
+        if (!stateValid) {
+            current.toGrid(state);
+            stateValid = true;
+        }
+        return state;
+    }
+
+    @Override
+    public PackedGrid getPackedState() {
+        return current;
+    }
+
+    @Override
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    @Override
+    public long population() {
+        return current.population();
+    }
+
+    @Override
+    public long fingerprint() {
+        return StateFingerprint.of(current);
+    }
+
+    @Override
+    public PackedGrid snapshot() {
+        return current.copy();
+    }
+
+    @Override
+    public boolean matches(PackedGrid snapshot) {
+        return current.equals(snapshot);
+    }
+}
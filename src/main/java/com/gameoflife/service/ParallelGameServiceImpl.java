@@ -0,0 +1,190 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * GameService implementation that steps large boards on multiple cores.
+ * The board is split into horizontal bands which are stepped in parallel on a
+ * dedicated ForkJoinPool with the bit-packed kernel. Each band reads the row
+ * above and below it as halo rows from the (read-only) current generation, so
+ * bands never need to exchange data during a step.
+ *
+ * <p>Boards smaller than {@code game.parallel.threshold-cells} are stepped on
+ * the calling thread, where the fork-join overhead would outweigh the gain.</p>
+ */
+@Service("parallelGameService")
+public class ParallelGameServiceImpl implements GameService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelGameServiceImpl.class);
+
+    /**
+     * Bands are split until they are no smaller than this, to keep task overhead low.
+     */
+    private static final int MIN_BAND_ROWS = 16;
+
+    private final BitPackedGameServiceImpl bitPackedGameService;
+    private final ForkJoinPool pool;
+    private final long thresholdCells;
+
+    @Autowired
+    public ParallelGameServiceImpl(BitPackedGameServiceImpl bitPackedGameService,
+                                   @Value("${game.parallel.threshold-cells:1048576}") long thresholdCells,
+                                   @Value("${game.parallel.parallelism:0}") int parallelism) {
+        this.bitPackedGameService = bitPackedGameService;
+        this.thresholdCells = thresholdCells;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        log.info("Parallel engine using {} threads for boards of at least {} cells",
+                pool.getParallelism(), thresholdCells);
+    }
+
+    /**
+     * Computes the next generation, packing, stepping and unpacking the board
+     * in parallel bands when it is large enough.
+     *
+     * @param currentState Current state of the board
+     * @return The next state after applying Game of Life rules
+     */
+    @Override
+    public boolean[][] computeNextGeneration(boolean[][] currentState) {
+        if (currentState == null || currentState.length == 0 || currentState[0].length == 0) {
+            return new boolean[0][0];
+        }
+
+        int height = currentState.length;
+        int width = currentState[0].length;
+        if (!isParallel(width, height)) {
+            return bitPackedGameService.computeNextGeneration(currentState);
+        }
+
+        PackedGrid current = new PackedGrid(width, height);
+        PackedGrid next = new PackedGrid(width, height);
+        boolean[][] nextState = new boolean[height][width];
+
+        int bandRows = bandRows(height);
+        pool.invoke(new BandTask(0, height, bandRows, (fromRow, toRow) -> {
+            current.setRows(currentState, fromRow, toRow);
+            return false;
+        }));
+        pool.invoke(new BandTask(0, height, bandRows, (fromRow, toRow) -> {
+            bitPackedGameService.stepRows(current, next, fromRow, toRow);
+            next.toGrid(nextState, fromRow, toRow);
+            return false;
+        }));
+
+        return nextState;
+    }
+
+    /**
+     * Computes the next generation of a packed grid, in parallel bands when the
+     * board is at least the configured threshold.
+     *
+     * @param current Current state of the board
+     * @param next Grid that receives the next state (must not be {@code current})
+     * @return true if any cell changed
+     */
+    public boolean step(PackedGrid current, PackedGrid next) {
+        int height = current.getHeight();
+        if (!isParallel(current.getWidth(), height)) {
+            return bitPackedGameService.step(current, next);
+        }
+
+        return pool.invoke(new BandTask(0, height, bandRows(height),
+                (fromRow, toRow) -> bitPackedGameService.stepRows(current, next, fromRow, toRow)));
+    }
+
+    @Override
+    public String getEngineName() {
+        return "parallel";
+    }
+
+    /**
+     * Only boards above the threshold are actually stepped in parallel.
+     */
+    @Override
+    public boolean supports(EngineWorkload workload) {
+        return isParallel(workload.getWidth(), workload.getHeight());
+    }
+
+    @Override
+    public double estimateCost(EngineWorkload workload) {
+        return 0.03 * workload.getCells() * workload.getIterations() / pool.getParallelism();
+    }
+
+    /**
+     * Steps the packed board directly, without unpacking it between generations.
+     */
+    @Override
+    public Simulation startSimulation(PackedGrid initialState) {
+        return new PackedSimulation(initialState, this::step);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    private boolean isParallel(int width, int height) {
+        return pool.getParallelism() > 1 && (long) width * height >= thresholdCells;
+    }
+
+    /**
+     * Aims for a few bands per worker so that uneven bands still balance out.
+     */
+    private int bandRows(int height) {
+        return Math.max(MIN_BAND_ROWS, height / (pool.getParallelism() * 4));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Work applied to one band of rows {@code [fromRow, toRow)}.
+     */
+    @FunctionalInterface
+    private interface BandOperation {
+        boolean apply(int fromRow, int toRow);
+    }
+
+    /**
+     * Recursively splits a row range into bands and applies the operation to
+     * each band. Returns true if any band reported a change.
+     */
+    private static final class BandTask extends RecursiveTask<Boolean> {
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+        private final BandOperation operation;
+
+        BandTask(int fromRow, int toRow, int bandRows, BandOperation operation) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+            this.operation = operation;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (toRow - fromRow <= bandRows) {
+                return operation.apply(fromRow, toRow);
+            }
+
+            int middle = (fromRow + toRow) >>> 1;
+            BandTask upper = new BandTask(fromRow, middle, bandRows, operation);
+            BandTask lower = new BandTask(middle, toRow, bandRows, operation);
+
+            upper.fork();
+            boolean changed = lower.compute();
+            return upper.join() | changed;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.gameoflife.service;
+
+import com.gameoflife.exception.BoardProcessingException;
+import com.gameoflife.model.Board;
+import com.gameoflife.model.MappedGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the states of large boards in memory-mapped segment files instead of
+ * database blobs. Boards with at least {@code game.storage.segment.threshold-cells}
+ * cells get a page-aligned region in an append-only segment file of up to
+ * {@code game.storage.segment.size} bytes; the database row only records the
+ * segment and offset. States are never read through JDBC or copied onto the
+ * heap: engines read and write the mapped pages, see {@link MappedGrid}.
+ *
+ * <p>Regions are not reclaimed. A region allocated by a transaction that is
+ * rolled back stays unused in its segment.</p>
+ */
+@Component
+public class SegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentStore.class);
+
+    static final long PAGE_SIZE = 4096;
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d+)\\.seg");
+
+    private final Path directory;
+    private final long thresholdCells;
+    private final long segmentSize;
+    private final Map<Integer, FileChannel> channels = new ConcurrentHashMap<>();
+
+    private int currentSegment = 1;
+    private long nextOffset;
+
+    @Autowired
+    public SegmentStore(@Value("${game.storage.segment.directory:./data/segments}") String directory,
+                        @Value("${game.storage.segment.threshold-cells:16777216}") long thresholdCells,
+                        @Value("${game.storage.segment.size:1073741824}") long segmentSize) {
+        this.directory = Paths.get(directory);
+        this.thresholdCells = thresholdCells;
+        this.segmentSize = segmentSize;
+        if (isEnabled()) {
+            recover();
+        }
+    }
+
+    public boolean isEnabled() {
+        return thresholdCells > 0;
+    }
+
+    /**
+     * Whether boards of the given dimensions are kept in segment files.
+     */
+    public boolean isMapped(int width, int height) {
+        return isEnabled() && (long) width * height >= thresholdCells;
+    }
+
+    /**
+     * Allocates a region for a board's state and records it on the board.
+     * The region is mapped and set as the board's state, but not initialized.
+     *
+     * @param board Board with its dimensions set
+     * @return The mapped state
+     */
+    public MappedGrid allocate(Board board) {
+        long size = regionSize(board.getWidth(), board.getHeight());
+        int segment;
+        long offset;
+        synchronized (this) {
+            if (nextOffset > 0 && nextOffset + size > segmentSize) {
+                currentSegment++;
+                nextOffset = 0;
+            }
+            segment = currentSegment;
+            offset = nextOffset;
+            nextOffset = (offset + size + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+        }
+
+        board.setSegmentId(segment);
+        board.setSegmentOffset(offset);
+        MappedGrid state = map(segment, offset, board.getWidth(), board.getHeight());
+        board.setMappedState(state);
+        return state;
+    }
+
+    /**
+     * Maps the state of a board stored in a segment.
+     *
+     * @param board Board with its segment and offset set
+     * @return The mapped state
+     */
+    public MappedGrid map(Board board) {
+        return map(board.getSegmentId(), board.getSegmentOffset(), board.getWidth(), board.getHeight());
+    }
+
+    /**
+     * Maps a region of a temporary file, for intermediate generations that are
+     * never saved. The file is gone once the mapping is garbage collected.
+     *
+     * @param width Number of columns
+     * @param height Number of rows
+     * @return A mapped state of all dead cells
+     */
+    public MappedGrid scratch(int width, int height) {
+        long size = regionSize(width, height);
+        try {
+            Path path = Files.createTempFile(directory, "scratch-", ".seg");
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                // The mapping stays valid after the channel is closed
+                return new MappedGrid(width, height, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        } catch (IOException e) {
+            throw new BoardProcessingException("Could not create a scratch segment", e);
+        }
+    }
+
+    private MappedGrid map(int segment, long offset, int width, int height) {
+        try {
+            return new MappedGrid(width, height, channel(segment).map(
+                    FileChannel.MapMode.READ_WRITE, offset, regionSize(width, height)));
+        } catch (IOException e) {
+            throw new BoardProcessingException("Could not map segment " + segment, e);
+        }
+    }
+
+    private FileChannel channel(int segment) {
+        return channels.computeIfAbsent(segment, id -> {
+            try {
+                return FileChannel.open(directory.resolve(String.format("segment-%06d.seg", id)),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new BoardProcessingException("Could not open segment " + id, e);
+            }
+        });
+    }
+
+    /**
+     * A single mapping is limited to 2 GiB, so larger boards cannot be stored.
+     */
+    private static long regionSize(int width, int height) {
+        long size = MappedGrid.byteSize(width, height);
+        if (size > Integer.MAX_VALUE) {
+            throw new BoardProcessingException("Board of " + width + "x" + height + " cells is too large to map");
+        }
+        return size;
+    }
+
+    /**
+     * Continues after the end of the newest segment file.
+     */
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(path -> {
+                    Matcher matcher = SEGMENT_FILE.matcher(path.getFileName().toString());
+                    if (matcher.matches() && Integer.parseInt(matcher.group(1)) >= currentSegment) {
+                        currentSegment = Integer.parseInt(matcher.group(1));
+                        nextOffset = (path.toFile().length() + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new BoardProcessingException("Could not open segment directory " + directory, e);
+        }
+        log.info("Boards of at least {} cells are stored in segments in {}, continuing in segment {} at offset {}",
+                thresholdCells, directory, currentSegment, nextOffset);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (FileChannel channel : channels.values()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close segment channel", e);
+            }
+        }
+        channels.clear();
+    }
+}
@@ -0,0 +1,85 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+
+/**
+ * A running multi-generation simulation of one board.
+ * Engines that keep state between generations (reusable buffers, dirty-region
+ * tracking and so on) return their own implementation from
+ * {@link GameService#startSimulation(PackedGrid)}.
+ */
+public interface Simulation {
+
+    /**
+     * Advances the simulation by one generation.
+     *
+     * @return true if any cell changed
+     */
+    boolean step();
+
+    /**
+     * Returns the current state of the board. The returned grid may be reused
+     * by the simulation and is only valid until the next call to {@link #step()}.
+     *
+     * @return The current state
+     */
+    boolean[][] getState();
+
+    /**
+     * Returns the current state in packed form. Like {@link #getState()}, the
+     * grid may be reused and is only valid until the next call to {@link #step()}.
+     * Engines that step packed words return their buffer; the default packs
+     * the boolean state.
+     *
+     * @return The current state
+     */
+    default PackedGrid getPackedState() {
+        return PackedGrid.fromGrid(getState());
+    }
+
+    /**
+     * Number of generations advanced since the simulation was started.
+     */
+    int getStepCount();
+
+    /**
+     * Number of live cells in the current state. The default counts the
+     * boolean state in place.
+     */
+    default long population() {
+        long population = 0;
+        for (boolean[] row : getState()) {
+            for (boolean cell : row) {
+                if (cell) {
+                    population++;
+                }
+            }
+        }
+        return population;
+    }
+
+    /**
+     * 64-bit fingerprint of the current state, see {@link StateFingerprint}.
+     */
+    default long fingerprint() {
+        return StateFingerprint.of(getState());
+    }
+
+    /**
+     * Copies the current state into a compact snapshot that stays valid
+     * after further steps.
+     */
+    default PackedGrid snapshot() {
+        return PackedGrid.fromGrid(getState());
+    }
+
+    /**
+     * Compares the current state cell by cell with a snapshot.
+     *
+     * @param snapshot Snapshot taken from a simulation of the same board
+     * @return true if the states are identical
+     */
+    default boolean matches(PackedGrid snapshot) {
+        return snapshot.matches(getState());
+    }
+}
@@ -0,0 +1,290 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.LiveCellSet;
+import com.gameoflife.model.PackedGrid;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * GameService implementation for large, mostly-empty boards.
+ * Only live cells and their neighbors are visited, so one generation costs
+ * O(live cells) instead of O(width * height). Cells outside the board are
+ * treated as dead, exactly like {@link GameServiceImpl}.
+ */
+@Service("sparseGameService")
+public class SparseGameServiceImpl implements GameService {
+
+    /**
+     * Computes the next generation of a boolean grid through the sparse
+     * representation.
+     *
+     * @param currentState Current state of the board
+     * @return The next state after applying Game of Life rules
+     */
+    @Override
+    public boolean[][] computeNextGeneration(boolean[][] currentState) {
+        if (currentState == null || currentState.length == 0 || currentState[0].length == 0) {
+            return new boolean[0][0];
+        }
+
+        int height = currentState.length;
+        int width = currentState[0].length;
+
+        LiveCellSet live = new LiveCellSet();
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (currentState[row][col]) {
+                    live.add(row, col);
+                }
+            }
+        }
+
+        LiveCellSet next = step(live, width, height);
+
+        boolean[][] nextState = new boolean[height][width];
+        for (long slot : next.slots()) {
+            if (!LiveCellSet.isEmptySlot(slot)) {
+                nextState[LiveCellSet.row(slot)][LiveCellSet.col(slot)] = true;
+            }
+        }
+        return nextState;
+    }
+
+    @Override
+    public String getEngineName() {
+        return "sparse";
+    }
+
+    /**
+     * Each live cell costs a few hash table updates; dead cells are only
+     * skipped a word at a time when the packed grid is converted, once per
+     * simulation.
+     */
+    @Override
+    public double estimateCost(EngineWorkload workload) {
+        return 0.01 * workload.getCells() + 3.0 * workload.getLiveCells() * workload.getIterations();
+    }
+
+    /**
+     * Steps the live cell set from one generation to the next; the board is
+     * only packed again when its state is asked for.
+     */
+    @Override
+    public Simulation startSimulation(PackedGrid initialState) {
+        return new SparseSimulation(this, initialState);
+    }
+
+    @Override
+    public Simulation startSimulation(boolean[][] initialState) {
+        return new SparseSimulation(this, PackedGrid.fromGrid(initialState));
+    }
+
+    /**
+     * Computes the next generation of a packed grid via its live cells.
+     *
+     * @param current Current state of the board
+     * @return The next state
+     */
+    public PackedGrid step(PackedGrid current) {
+        return step(LiveCellSet.fromPackedGrid(current), current.getWidth(), current.getHeight())
+                .toPackedGrid(current.getWidth(), current.getHeight());
+    }
+
+    /**
+     * Computes the next generation of a set of live cells on a bounded board.
+     *
+     * @param live Live cells of the current generation
+     * @param width Board width
+     * @param height Board height
+     * @return Live cells of the next generation
+     */
+    public LiveCellSet step(LiveCellSet live, int width, int height) {
+        return step(live, width, height, null);
+    }
+
+    /**
+     * @param changed If not null, {@code changed[0]} is set when a cell is born or dies
+     */
+    private LiveCellSet step(LiveCellSet live, int width, int height, boolean[] changed) {
+        // Every live cell touches at most 9 cells, and there are no more cells than the board has
+        NeighborCounts counts = new NeighborCounts(Math.min(live.size() * 9L, (long) width * height));
+
+        for (long slot : live.slots()) {
+            if (LiveCellSet.isEmptySlot(slot)) {
+                continue;
+            }
+            int row = LiveCellSet.row(slot);
+            int col = LiveCellSet.col(slot);
+
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, height - 1); r++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, width - 1); c++) {
+                    if (r != row || c != col) {
+                        counts.increment(LiveCellSet.key(r, c));
+                    }
+                }
+            }
+        }
+
+        LiveCellSet next = new LiveCellSet(live.size());
+        long[] keys = counts.keys;
+        byte[] values = counts.values;
+        boolean born = false;
+        for (int i = 0; i < keys.length; i++) {
+            int count = values[i];
+            if (count == 3) {
+                next.addKey(keys[i]);
+                born |= !live.containsKey(keys[i]);
+            } else if (count == 2 && live.containsKey(keys[i])) {
+                next.addKey(keys[i]);
+            }
+        }
+        if (changed != null) {
+            // Without births, a cell died exactly when the set shrank
+            changed[0] = born || next.size() != live.size();
+        }
+        return next;
+    }
+
+    /**
+     * Simulation that keeps the live cells of the current generation, so a
+     * step costs O(live cells) and allocates no board-sized buffer. The
+     * packed and boolean states are filled in when they are asked for.
+     */
+    public static final class SparseSimulation implements Simulation {
+
+        private final SparseGameServiceImpl engine;
+        private final int width;
+        private final int height;
+        private final boolean[] changed = new boolean[1];
+        private LiveCellSet live;
+        private PackedGrid packed;
+        private boolean packedValid;
+        private boolean[][] state;
+        private boolean stateValid;
+        private int stepCount;
+
+        SparseSimulation(SparseGameServiceImpl engine, PackedGrid initialState) {
+            this.engine = engine;
+            this.width = initialState.getWidth();
+            this.height = initialState.getHeight();
+            this.live = LiveCellSet.fromPackedGrid(initialState);
+            this.packed = initialState;
+            this.packedValid = true;
+        }
+
+        @Override
+        public boolean step() {
+            live = engine.step(live, width, height, changed);
+            packedValid = false;
+            stateValid = false;
+            stepCount++;
+            return changed[0];
+        }
+
+        @Override
+        public boolean[][] getState() {
+            if (state == null) {
+                state = new boolean[height][width];
+            }
+            if (!stateValid) {
+                getPackedState().toGrid(state);
+                stateValid = true;
+            }
+            return state;
+        }
+
+        @Override
+        public PackedGrid getPackedState() {
+            if (!packedValid) {
+                packed.clear();
+                for (long slot : live.slots()) {
+                    if (!LiveCellSet.isEmptySlot(slot)) {
+                        packed.set(LiveCellSet.row(slot), LiveCellSet.col(slot), true);
+                    }
+                }
+                packedValid = true;
+            }
+            return packed;
+        }
+
+        @Override
+        public int getStepCount() {
+            return stepCount;
+        }
+
+        @Override
+        public long population() {
+            return live.size();
+        }
+
+        /**
+         * Order-independent hash of the live cells. It differs from
+         * {@link StateFingerprint} of the same state, so it is only compared
+         * with fingerprints of other sparse simulations.
+         */
+        @Override
+        public long fingerprint() {
+            long hash = ((long) width << 32 | (height & 0xFFFFFFFFL)) + live.size();
+            for (long slot : live.slots()) {
+                if (!LiveCellSet.isEmptySlot(slot)) {
+                    long key = slot * 0x9E3779B97F4A7C15L;
+                    key ^= key >>> 32;
+                    key *= 0xff51afd7ed558ccdL;
+                    hash += key ^ (key >>> 29);
+                }
+            }
+            return hash;
+        }
+
+        @Override
+        public PackedGrid snapshot() {
+            return getPackedState().copy();
+        }
+
+        @Override
+        public boolean matches(PackedGrid snapshot) {
+            for (long slot : live.slots()) {
+                if (!LiveCellSet.isEmptySlot(slot) && !snapshot.get(LiveCellSet.row(slot), LiveCellSet.col(slot))) {
+                    return false;
+                }
+            }
+            return snapshot.population() == live.size();
+        }
+    }
+
+    /**
+     * Open-addressing map from packed cell key to live neighbor count.
+     * Sized up front for the worst case, so it never resizes.
+     */
+    private static final class NeighborCounts {
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private final long[] keys;
+        private final byte[] values;
+        private final int mask;
+
+        NeighborCounts(long maxEntries) {
+            if (maxEntries >= MAX_CAPACITY) {
+                throw new IllegalArgumentException("Too many cells for the sparse engine: " + maxEntries);
+            }
+            int capacity = 16;
+            while (capacity < maxEntries * 2 && capacity < MAX_CAPACITY) {
+                capacity <<= 1;
+            }
+            keys = new long[capacity];
+            values = new byte[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1L);
+        }
+
+        void increment(long key) {
+            int index = LiveCellSet.mix(key) & mask;
+            while (keys[index] != -1L && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index]++;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.StateBlob;
+import com.gameoflife.model.codec.EncodedState;
+import com.gameoflife.repository.StateBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Stores state payloads by content, see {@link StateBlob}.
+ * A payload that is already stored is not stored again. New blobs are
+ * inserted in a transaction of their own, so two requests storing the same
+ * payload at once do not fail each other's transaction: one insert wins and
+ * both boards refer to the same row.
+ *
+ * <p>A blob inserted for a request that then rolls back, or for a board the
+ * {@link BoardWriter} had to drop, is not referred to by any board. Such
+ * blobs are deleted at startup, before any board is written.</p>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class StateBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(StateBlobStore.class);
+
+    private final StateBlobRepository stateBlobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public StateBlobStore(StateBlobRepository stateBlobRepository, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.stateBlobRepository = stateBlobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        if (newTransaction != null) {
+            newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+    }
+
+    /**
+     * Inserts blobs in the caller's transaction and never collects them.
+     */
+    StateBlobStore(StateBlobRepository stateBlobRepository) {
+        this(stateBlobRepository, null, null);
+    }
+
+    /**
+     * Drops the reference count that blobs used to have, and deletes the
+     * blobs no board refers to.
+     */
+    @PostConstruct
+    public void start() {
+        if (jdbcTemplate == null) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE state_blobs DROP COLUMN IF EXISTS ref_count");
+        int deleted = jdbcTemplate.update("DELETE FROM state_blobs b"
+                + " WHERE NOT EXISTS (SELECT 1 FROM boards WHERE boards.state_hash = b.hash)");
+        if (deleted > 0) {
+            log.info("Deleted {} state blobs no board refers to", deleted);
+        }
+    }
+
+    /**
+     * Stores a payload unless an identical one is stored already.
+     *
+     * @param encoded Encoded state or delta
+     * @return Hash of the blob
+     */
+    public String acquire(EncodedState encoded) {
+        String hash = StateDigest.of(encoded).toString();
+        if (!stateBlobRepository.existsById(hash)) {
+            insertIfAbsent(new StateBlob(hash, encoded.getCodec(), encoded.getData()));
+        }
+        return hash;
+    }
+
+    /**
+     * Loads a blob.
+     *
+     * @param hash Hash of the blob
+     * @return The blob
+     */
+    public StateBlob load(String hash) {
+        return stateBlobRepository.findById(hash).orElseThrow(() -> missing(hash));
+    }
+
+    private void insertIfAbsent(StateBlob blob) {
+        try {
+            if (newTransaction == null) {
+                stateBlobRepository.saveAndFlush(blob);
+            } else {
+                newTransaction.executeWithoutResult(status -> stateBlobRepository.saveAndFlush(blob));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Inserted by another request in the meantime
+        }
+    }
+
+    private static IllegalStateException missing(String hash) {
+        return new IllegalStateException("State blob " + hash + " is missing");
+    }
+}
@@ -0,0 +1,99 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.codec.EncodedState;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * SHA-256 digest of a board's dimensions and packed state, used to address
+ * board states by content. Unlike a {@link StateFingerprint}, a digest is
+ * treated as unique: two states with the same digest are taken to be equal
+ * without comparing them.
+ */
+public final class StateDigest {
+
+    private final byte[] digest;
+    private final int hash;
+
+    private StateDigest(byte[] digest) {
+        this.digest = digest;
+        this.hash = Arrays.hashCode(digest);
+    }
+
+    /**
+     * Digests a packed board state.
+     *
+     * @param grid Board state
+     * @return The digest
+     */
+    public static StateDigest of(PackedGrid grid) {
+        MessageDigest sha256 = sha256();
+
+        long[] words = grid.getWords();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(grid.getWidth()).putInt(grid.getHeight());
+        for (long word : words) {
+            if (!buffer.hasRemaining()) {
+                sha256.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            buffer.putLong(word);
+        }
+        sha256.update(buffer.array(), 0, buffer.position());
+        return new StateDigest(sha256.digest());
+    }
+
+    /**
+     * Digests an encoded payload together with its codec.
+     *
+     * @param encoded Encoded state or delta
+     * @return The digest
+     */
+    public static StateDigest of(EncodedState encoded) {
+        MessageDigest sha256 = sha256();
+        sha256.update(encoded.getCodec().name().getBytes(StandardCharsets.US_ASCII));
+        sha256.update((byte) 0);
+        sha256.update(encoded.getData());
+        return new StateDigest(sha256.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StateDigest)) {
+            return false;
+        }
+        return Arrays.equals(digest, ((StateDigest) o).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder hex = new StringBuilder(2 * digest.length);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
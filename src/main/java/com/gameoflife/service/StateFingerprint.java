@@ -0,0 +1,87 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+
+/**
+ * 64-bit streaming fingerprints of board states, used for cycle detection.
+ * The state is hashed one packed 64-cell word at a time (MurmurHash3-style
+ * mixing), so a fingerprint needs no intermediate String or array. Equal
+ * states always have equal fingerprints; callers confirm a match with an
+ * exact comparison because different states may collide.
+ *
+ * <p>Both overloads hash the same word sequence, so a boolean grid and its
+ * {@link PackedGrid} have the same fingerprint.</p>
+ */
+public final class StateFingerprint {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private StateFingerprint() {
+    }
+
+    /**
+     * Fingerprints a packed board state.
+     *
+     * @param grid Board state
+     * @return 64-bit fingerprint
+     */
+    public static long of(PackedGrid grid) {
+        long hash = seed(grid.getWidth(), grid.getHeight());
+        for (long word : grid.getWords()) {
+            hash = mix(hash, word);
+        }
+        return finish(hash, grid.getWords().length);
+    }
+
+    /**
+     * Fingerprints a boolean board state, packing each row on the fly.
+     *
+     * @param grid Board state, true = live cell
+     * @return 64-bit fingerprint
+     */
+    public static long of(boolean[][] grid) {
+        int height = grid.length;
+        int width = height == 0 ? 0 : grid[0].length;
+        long hash = seed(width, height);
+        int words = 0;
+
+        for (boolean[] row : grid) {
+            long word = 0;
+            for (int col = 0; col < width; col++) {
+                if (row[col]) {
+                    word |= 1L << col;
+                }
+                if ((col & 63) == 63 || col == width - 1) {
+                    hash = mix(hash, word);
+                    word = 0;
+                    words++;
+                }
+            }
+        }
+        return finish(hash, words);
+    }
+
+    private static long seed(int width, int height) {
+        return ((long) width << 32 | (height & 0xFFFFFFFFL)) * C2;
+    }
+
+    private static long mix(long hash, long word) {
+        long k = word * C1;
+        k = Long.rotateLeft(k, 31);
+        k *= C2;
+        hash ^= k;
+        hash = Long.rotateLeft(hash, 27);
+        return hash * 5 + 0x52dce729;
+    }
+
+    private static long finish(long hash, int words) {
+        hash ^= words;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
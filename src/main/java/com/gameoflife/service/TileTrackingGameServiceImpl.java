@@ -0,0 +1,245 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * GameService implementation that skips quiescent regions of long-running boards.
+ * The board is divided into tiles of 64x64 cells (64 rows of one packed word).
+ * In a simulation, a tile is only recomputed if it or one of its eight
+ * neighbors changed in the previous generation; every other tile is known to
+ * stay the same and is skipped.
+ *
+ * <p>A single {@link #computeNextGeneration(boolean[][])} call has no history
+ * to go on, so it behaves like the bit-packed engine. The gain comes from
+ * {@link #startSimulation(PackedGrid)}.</p>
+ */
+@Service("tileTrackingGameService")
+public class TileTrackingGameServiceImpl implements GameService {
+
+    private static final Logger log = LoggerFactory.getLogger(TileTrackingGameServiceImpl.class);
+
+    /**
+     * Tile height in rows. Tiles are one word (64 columns) wide.
+     */
+    static final int TILE_ROWS = 64;
+
+    private final BitPackedGameServiceImpl bitPackedGameService;
+
+    @Autowired
+    public TileTrackingGameServiceImpl(BitPackedGameServiceImpl bitPackedGameService) {
+        this.bitPackedGameService = bitPackedGameService;
+    }
+
+    @Override
+    public boolean[][] computeNextGeneration(boolean[][] currentState) {
+        return bitPackedGameService.computeNextGeneration(currentState);
+    }
+
+    @Override
+    public boolean computeNextGeneration(boolean[][] currentState, boolean[][] nextState) {
+        return bitPackedGameService.computeNextGeneration(currentState, nextState);
+    }
+
+    @Override
+    public TileSimulation startSimulation(boolean[][] initialState) {
+        return new TileSimulation(PackedGrid.fromGrid(initialState));
+    }
+
+    @Override
+    public String getEngineName() {
+        return "tile-tracking";
+    }
+
+    /**
+     * A simulation steps packed words, skipping quiescent tiles; a single
+     * generation is plain bit-packed stepping plus the tile bookkeeping.
+     */
+    @Override
+    public double estimateCost(EngineWorkload workload) {
+        if (workload.getIterations() <= 1) {
+            return 0.035 * workload.getCells();
+        }
+        return 0.02 * workload.getCells() * workload.getIterations();
+    }
+
+    /**
+     * Starts a tile-tracking simulation directly from a packed grid.
+     *
+     * @param initialState Initial state; copied, not modified
+     * @return The running simulation
+     */
+    @Override
+    public TileSimulation startSimulation(PackedGrid initialState) {
+        return new TileSimulation(initialState.copy());
+    }
+
+    /**
+     * Simulation that ping-pongs between two packed grids and tracks which
+     * tiles changed in the previous generation.
+     */
+    public static final class TileSimulation implements Simulation {
+
+        private PackedGrid current;
+        private PackedGrid next;
+        private final int tileColumns;
+        private final int tileRows;
+        private boolean[] changed;
+        private boolean[] nextChanged;
+        private boolean[][] state;
+        private boolean stateValid;
+
+        private int stepCount;
+        private int lastSkippedTiles;
+        private long totalSkippedTiles;
+
+        TileSimulation(PackedGrid initialState) {
+            this.current = initialState;
+            this.next = new PackedGrid(initialState.getWidth(), initialState.getHeight());
+            this.tileColumns = initialState.getWordsPerRow();
+            this.tileRows = (initialState.getHeight() + TILE_ROWS - 1) / TILE_ROWS;
+            this.changed = new boolean[tileColumns * tileRows];
+            this.nextChanged = new boolean[tileColumns * tileRows];
+
+            // Nothing is known about the first generation, so every tile is dirty
+            Arrays.fill(changed, true);
+        }
+
+        @Override
+        public boolean step() {
+            int height = current.getHeight();
+            int words = current.getWordsPerRow();
+            long mask = current.getLastWordMask();
+            long[] src = current.getWords();
+            long[] dst = next.getWords();
+
+            boolean anyChanged = false;
+            int skipped = 0;
+
+            for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+                int fromRow = tileRow * TILE_ROWS;
+                int toRow = Math.min(fromRow + TILE_ROWS, height);
+
+                for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                    int tile = tileRow * tileColumns + tileCol;
+
+                    if (!isDirty(tileRow, tileCol)) {
+                        // The tile and its neighborhood were unchanged, so the older buffer
+                        // already holds this tile's state for the next generation
+                        nextChanged[tile] = false;
+                        skipped++;
+                        continue;
+                    }
+
+                    long tileChanged = 0;
+                    for (int row = fromRow; row < toRow; row++) {
+                        int offset = row * words;
+                        int above = row > 0 ? offset - words : -1;
+                        int below = row < height - 1 ? offset + words : -1;
+                        tileChanged |= BitPackedGameServiceImpl.stepWords(
+                                src, above, offset, below, dst, offset, tileCol, tileCol + 1, words, mask);
+                    }
+
+                    nextChanged[tile] = tileChanged != 0;
+                    anyChanged |= tileChanged != 0;
+                }
+            }
+
+            PackedGrid tempGrid = current;
+            current = next;
+            next = tempGrid;
+            boolean[] tempChanged = changed;
+            changed = nextChanged;
+            nextChanged = tempChanged;
+
+            stepCount++;
+            stateValid = false;
+            lastSkippedTiles = skipped;
+            totalSkippedTiles += skipped;
+
+            if (log.isDebugEnabled()) {
+                log.debug("Generation {}: skipped {} of {} tiles", stepCount, skipped, getTileCount());
+            }
+            return anyChanged;
+        }
+
+        /**
+         * A tile must be recomputed if it or any neighboring tile changed.
+         */
+        private boolean isDirty(int tileRow, int tileCol) {
+            for (int r = Math.max(tileRow - 1, 0); r <= Math.min(tileRow + 1, tileRows - 1); r++) {
+                for (int c = Math.max(tileCol - 1, 0); c <= Math.min(tileCol + 1, tileColumns - 1); c++) {
+                    if (changed[r * tileColumns + c]) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean[][] getState() {
+            if (state == null) {
+                state = new boolean[current.getHeight()][current.getWidth()];
+            }
+            if (!stateValid) {
+                current.toGrid(state);
+                stateValid = true;
+            }
+            return state;
+        }
+
+        @Override
+        public PackedGrid getPackedState() {
+            return current;
+        }
+
+        @Override
+        public int getStepCount() {
+            return stepCount;
+        }
+
+        @Override
+        public long population() {
+            return current.population();
+        }
+
+        @Override
+        public long fingerprint() {
+            return StateFingerprint.of(current);
+        }
+
+        @Override
+        public PackedGrid snapshot() {
+            return current.copy();
+        }
+
+        @Override
+        public boolean matches(PackedGrid snapshot) {
+            return current.equals(snapshot);
+        }
+
+        public int getTileCount() {
+            return changed.length;
+        }
+
+        /**
+         * Number of tiles skipped in the most recent generation.
+         */
+        public int getLastSkippedTiles() {
+            return lastSkippedTiles;
+        }
+
+        /**
+         * Number of tiles skipped over all generations so far.
+         */
+        public long getTotalSkippedTiles() {
+            return totalSkippedTiles;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.gameoflife.service;
+
+/**
+ * Outcome of evolving a board state: the state reached, how many generations
+ * it took and whether it is final. Depends only on the starting state, so it
+ * can be reused for every board with the same content, whichever engine
+ * computed it.
+ */
+public final class Transition {
+
+    private final byte[] stateData;
+    private final int generations;
+    private final boolean finalState;
+    private final Integer period;
+    private final Integer transientLength;
+    private final int[] populations;
+    private final boolean fromCache;
+
+    /**
+     * @param stateData Resulting state as a bitset, see {@link com.gameoflife.model.Board}
+     * @param generations Number of generations between the start and the result
+     * @param finalState Whether the result is a final state
+     * @param period Cycle length if the transition was a final state search, otherwise null
+     * @param transientLength Generations before the cycle if the transition was a final state search
+     * @param populations Population of every generation of the transient and one period
+     *                    if the transition was a final state search, otherwise null
+     */
+    public Transition(byte[] stateData, int generations, boolean finalState,
+                      Integer period, Integer transientLength, int[] populations) {
+        this(stateData, generations, finalState, period, transientLength, populations, false);
+    }
+
+    private Transition(byte[] stateData, int generations, boolean finalState,
+                       Integer period, Integer transientLength, int[] populations, boolean fromCache) {
+        this.stateData = stateData;
+        this.generations = generations;
+        this.finalState = finalState;
+        this.period = period;
+        this.transientLength = transientLength;
+        this.populations = populations;
+        this.fromCache = fromCache;
+    }
+
+    /**
+     * The same transition, marked as taken from the {@link TransitionCache}.
+     */
+    public Transition fromCache() {
+        return new Transition(stateData, generations, finalState, period, transientLength, populations, true);
+    }
+
+    /**
+     * Resulting state. Shared, so it must not be modified.
+     */
+    public byte[] getStateData() { return stateData; }
+
+    public int getGenerations() { return generations; }
+
+    public boolean isFinalState() { return finalState; }
+
+    public Integer getPeriod() { return period; }
+
+    public Integer getTransientLength() { return transientLength; }
+
+    /**
+     * Population trajectory of a final state search. Shared, so it must not be modified.
+     */
+    public int[] getPopulations() { return populations; }
+
+    /**
+     * Whether the transition was taken from the cache instead of being computed.
+     */
+    public boolean isFromCache() { return fromCache; }
+}
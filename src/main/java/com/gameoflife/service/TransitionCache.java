@@ -0,0 +1,149 @@
+package com.gameoflife.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Bounded, content-addressed cache of computed transitions shared by all
+ * boards. Entries are keyed by the {@link StateDigest} of the starting state
+ * and the number of generations asked for ({@link #FINAL} for a final state
+ * search), so identical boards submitted under different ids reuse each
+ * other's next generations, N-step results and final states. The least
+ * recently used entries are evicted once their total state size exceeds
+ * {@code game.transition-cache.max-bytes}.
+ */
+@Component
+public class TransitionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TransitionCache.class);
+
+    /**
+     * Generation count under which final state searches are cached.
+     */
+    public static final int FINAL = -1;
+
+    /**
+     * Approximate size of an entry besides its state, in bytes.
+     */
+    static final long ENTRY_OVERHEAD = 200;
+
+    private final long maxWeight;
+    private final LinkedHashMap<Key, Transition> transitions = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxWeight Memory budget in bytes; 0 disables the cache
+     */
+    public TransitionCache(@Value("${game.transition-cache.max-bytes:33554432}") long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Whether the cache holds anything at all; if not, callers can skip digesting states.
+     */
+    public boolean isEnabled() {
+        return maxWeight > 0;
+    }
+
+    /**
+     * Looks up a transition.
+     *
+     * @param start Digest of the starting state
+     * @param generations Number of generations asked for, or {@link #FINAL}
+     * @return The cached transition, if present
+     */
+    public synchronized Optional<Transition> get(StateDigest start, int generations) {
+        if (maxWeight <= 0) {
+            return Optional.empty();
+        }
+        Transition transition = transitions.get(new Key(start, generations));
+        if (transition == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return Optional.ofNullable(transition);
+    }
+
+    /**
+     * Caches a transition, evicting the least recently used ones if the
+     * budget is exceeded.
+     *
+     * @param start Digest of the starting state
+     * @param generations Number of generations asked for, or {@link #FINAL}
+     * @param transition The computed transition
+     */
+    public synchronized void put(StateDigest start, int generations, Transition transition) {
+        long transitionWeight = weightOf(transition);
+        if (transitionWeight > maxWeight) {
+            return;
+        }
+
+        Transition previous = transitions.put(new Key(start, generations), transition);
+        if (previous != null) {
+            weight -= weightOf(previous);
+        }
+        weight += transitionWeight;
+
+        Iterator<Transition> eldest = transitions.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= weightOf(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Cached {} transition from {}: {}",
+                    generations == FINAL ? "final" : generations + "-generation", start, getStats());
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache metrics.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(transitions.size(), weight, maxWeight, hits, misses, evictions);
+    }
+
+    private static long weightOf(Transition transition) {
+        int[] populations = transition.getPopulations();
+        return ENTRY_OVERHEAD + transition.getStateData().length + (populations == null ? 0 : 4L * populations.length);
+    }
+
+    private static final class Key {
+        private final StateDigest start;
+        private final int generations;
+
+        Key(StateDigest start, int generations) {
+            this.start = start;
+            this.generations = generations;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return generations == other.generations && start.equals(other.start);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, generations);
+        }
+    }
+}
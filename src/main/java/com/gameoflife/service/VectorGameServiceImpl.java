@@ -0,0 +1,120 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * GameService implementation that steps bit-packed rows with SIMD instructions
+ * through the incubating Java Vector API ({@code jdk.incubator.vector}).
+ *
+ * <p>The module is only resolved when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}. Without it, the engine falls
+ * back to the scalar bit-packed kernel and is not selected automatically.</p>
+ */
+@Service("vectorGameService")
+public class VectorGameServiceImpl implements GameService {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorGameServiceImpl.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private final BitPackedGameServiceImpl bitPackedGameService;
+    private final boolean vectorized;
+
+    @Autowired
+    public VectorGameServiceImpl(BitPackedGameServiceImpl bitPackedGameService) {
+        this(bitPackedGameService, ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent());
+    }
+
+    VectorGameServiceImpl(BitPackedGameServiceImpl bitPackedGameService, boolean vectorized) {
+        this.bitPackedGameService = bitPackedGameService;
+        this.vectorized = vectorized;
+        if (vectorized) {
+            log.info("Vector engine using {} cells per operation", VectorKernel.lanes() * 64);
+        } else {
+            log.info("Module {} not available, vector engine falls back to the scalar kernel", VECTOR_MODULE);
+        }
+    }
+
+    @Override
+    public boolean[][] computeNextGeneration(boolean[][] currentState) {
+        if (currentState == null || currentState.length == 0 || currentState[0].length == 0) {
+            return new boolean[0][0];
+        }
+
+        PackedGrid current = PackedGrid.fromGrid(currentState);
+        PackedGrid next = new PackedGrid(current.getWidth(), current.getHeight());
+        step(current, next);
+        return next.toGrid();
+    }
+
+    @Override
+    public boolean computeNextGeneration(boolean[][] currentState, boolean[][] nextState) {
+        if (currentState.length == 0 || currentState[0].length == 0) {
+            return false;
+        }
+
+        PackedGrid current = PackedGrid.fromGrid(currentState);
+        PackedGrid next = new PackedGrid(current.getWidth(), current.getHeight());
+        boolean changed = step(current, next);
+        next.toGrid(nextState);
+        return changed;
+    }
+
+    @Override
+    public String getEngineName() {
+        return "vector";
+    }
+
+    /**
+     * Without the Vector API this engine is just the bit-packed engine.
+     */
+    @Override
+    public boolean supports(EngineWorkload workload) {
+        return vectorized;
+    }
+
+    @Override
+    public double estimateCost(EngineWorkload workload) {
+        return 0.015 * workload.getCells() * workload.getIterations();
+    }
+
+    /**
+     * Steps the packed board directly, without unpacking it between generations.
+     */
+    @Override
+    public Simulation startSimulation(PackedGrid initialState) {
+        return new PackedSimulation(initialState, this::step);
+    }
+
+    /**
+     * Packs the board once and steps it packed, so that no grid is allocated
+     * per generation.
+     */
+    @Override
+    public Simulation startSimulation(boolean[][] initialState) {
+        return startSimulation(PackedGrid.fromGrid(initialState));
+    }
+
+    /**
+     * Computes the next generation of a packed grid into another packed grid
+     * of the same dimensions.
+     *
+     * @param current Current state of the board
+     * @param next Grid that receives the next state (must not be {@code current})
+     * @return true if any cell changed
+     */
+    public boolean step(PackedGrid current, PackedGrid next) {
+        if (!vectorized) {
+            return bitPackedGameService.step(current, next);
+        }
+        return VectorKernel.step(current, next);
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+}
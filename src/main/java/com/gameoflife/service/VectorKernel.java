@@ -0,0 +1,121 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bit-packed stepping kernel written with the incubating Vector API.
+ * It evaluates the same full-adder logic as {@link BitPackedGameServiceImpl},
+ * but on {@link LongVector#SPECIES_PREFERRED} lanes, i.e. 256 cells per
+ * operation with AVX2 and 512 with AVX-512.
+ *
+ * <p>This class must only be loaded when the {@code jdk.incubator.vector}
+ * module is present, see {@link VectorGameServiceImpl}.</p>
+ */
+final class VectorKernel {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private VectorKernel() {
+    }
+
+    /**
+     * Number of 64-bit words processed per vector operation.
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Computes the next generation of a packed grid.
+     *
+     * @param current Current state of the board
+     * @param next Grid that receives the next state (must not be {@code current})
+     * @return true if any cell changed
+     */
+    static boolean step(PackedGrid current, PackedGrid next) {
+        int height = current.getHeight();
+        int words = current.getWordsPerRow();
+        long mask = current.getLastWordMask();
+        long[] src = current.getWords();
+        long[] dst = next.getWords();
+        long[] empty = new long[words];
+        int lanes = SPECIES.length();
+
+        LongVector changedLanes = LongVector.zero(SPECIES);
+        long changed = 0;
+
+        for (int row = 0; row < height; row++) {
+            int offset = row * words;
+            int above = row > 0 ? offset - words : -1;
+            int below = row < height - 1 ? offset + words : -1;
+            long[] aSrc = above < 0 ? empty : src;
+            long[] bSrc = below < 0 ? empty : src;
+            int aOff = above < 0 ? 0 : above;
+            int bOff = below < 0 ? 0 : below;
+
+            // The first word and the tail (including the masked last word) have no
+            // full vector of neighbors on both sides and go through the scalar kernel
+            int i = 1;
+            for (; i + lanes < words; i += lanes) {
+                LongVector a = LongVector.fromArray(SPECIES, aSrc, aOff + i);
+                LongVector c = LongVector.fromArray(SPECIES, src, offset + i);
+                LongVector b = LongVector.fromArray(SPECIES, bSrc, bOff + i);
+
+                LongVector aW = west(a, LongVector.fromArray(SPECIES, aSrc, aOff + i - 1));
+                LongVector aE = east(a, LongVector.fromArray(SPECIES, aSrc, aOff + i + 1));
+                LongVector cW = west(c, LongVector.fromArray(SPECIES, src, offset + i - 1));
+                LongVector cE = east(c, LongVector.fromArray(SPECIES, src, offset + i + 1));
+                LongVector bW = west(b, LongVector.fromArray(SPECIES, bSrc, bOff + i - 1));
+                LongVector bE = east(b, LongVector.fromArray(SPECIES, bSrc, bOff + i + 1));
+
+                LongVector s0 = xor(xor(aW, a), aE);
+                LongVector c0 = aW.and(a).or(aE.and(xor(aW, a)));
+                LongVector s1 = xor(xor(bW, b), bE);
+                LongVector c1 = bW.and(b).or(bE.and(xor(bW, b)));
+                LongVector s2 = xor(cW, cE);
+                LongVector c2 = cW.and(cE);
+
+                LongVector ones = xor(xor(s0, s1), s2);
+                LongVector k0 = s0.and(s1).or(s2.and(xor(s0, s1)));
+
+                LongVector t = xor(xor(c0, c1), c2);
+                LongVector tc = c0.and(c1).or(c2.and(xor(c0, c1)));
+                LongVector twos = xor(t, k0).and(tc.not());
+
+                LongVector result = twos.and(ones.or(c));
+                changedLanes = changedLanes.or(xor(result, c));
+                result.intoArray(dst, offset + i);
+            }
+
+            changed |= BitPackedGameServiceImpl.stepWords(src, above, offset, below, dst, offset,
+                    0, Math.min(1, words), words, mask);
+            if (i < words) {
+                changed |= BitPackedGameServiceImpl.stepWords(src, above, offset, below, dst, offset,
+                        i, words, words, mask);
+            }
+        }
+
+        return (changed | changedLanes.reduceLanes(VectorOperators.OR)) != 0;
+    }
+
+    /**
+     * West neighbors: every bit moves up one column, the top bit of the previous word comes in.
+     */
+    private static LongVector west(LongVector words, LongVector previous) {
+        return words.lanewise(VectorOperators.LSHL, 1).or(previous.lanewise(VectorOperators.LSHR, 63));
+    }
+
+    /**
+     * East neighbors: every bit moves down one column, the low bit of the next word comes in.
+     */
+    private static LongVector east(LongVector words, LongVector following) {
+        return words.lanewise(VectorOperators.LSHR, 1).or(following.lanewise(VectorOperators.LSHL, 63));
+    }
+
+    private static LongVector xor(LongVector x, LongVector y) {
+        return x.lanewise(VectorOperators.XOR, y);
+    }
+}
@@ -1,13 +1,39 @@
 package com.gameoflife;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class ConwayGameOfLifeApplicationTests {
 
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void contextLoads() {
         // This test verifies that the Spring application context loads successfully
     }
+
+    @Test
+    void testApplicationTaskExecutorIsKept() {
+        // The stream pool and the live board scheduler must not replace Boot's default executor
+        assertTrue(context.containsBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+    }
+
+    @Test
+    void testCacheMetricsAreRegistered() {
+        assertNotNull(meterRegistry.find("game.cache.requests").tags("cache", "boards", "result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("game.cache.size").tag("cache", "transitions").gauge());
+        assertNotNull(meterRegistry.find("game.hashlife.nodes").gauge());
+    }
 }
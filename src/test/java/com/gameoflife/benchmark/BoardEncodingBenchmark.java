@@ -0,0 +1,105 @@
+package com.gameoflife.benchmark;
+
+import com.gameoflife.model.Board;
+import com.gameoflife.model.PackedGrid;
+
+import java.util.Random;
+
+/**
+ * Compares the word-level conversions between a Board's stored bitset and the
+ * packed grid the engines step with the previous per-bit code, which went
+ * through a boolean grid with a division and modulo per cell.
+ * Not part of the test suite; run it manually, for example:
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.gameoflife.benchmark.BoardEncodingBenchmark -Dexec.args="2047 20"
+ * </pre>
+ *
+ * Arguments: board size (default 2047, so rows are not word-aligned) and
+ * repetitions per measurement (default 20).
+ */
+public class BoardEncodingBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2047;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        boolean[][] grid = new boolean[size][size];
+        Random random = new Random(1);
+        for (boolean[] row : grid) {
+            for (int col = 0; col < size; col++) {
+                row[col] = random.nextBoolean();
+            }
+        }
+        Board board = new Board();
+        board.setGrid(grid);
+        byte[] bits = board.getStateData();
+        PackedGrid packed = board.getPackedGrid();
+
+        System.out.printf("Board %dx%d, %d repetitions%n", size, size, repetitions);
+        System.out.printf("%-10s %16s %16s %10s%n", "direction", "per-bit ms/op", "word ms/op", "speedup");
+
+        // Per-bit: bitset -> boolean[][] -> PackedGrid, as loading a board used to work
+        double perBitDecode = measure(repetitions, () -> PackedGrid.fromGrid(perBitDecode(bits, size, size)));
+        double wordDecode = measure(repetitions, () -> PackedGrid.fromBitset(bits, size, size));
+        print("decode", perBitDecode, wordDecode);
+
+        // Per-bit: PackedGrid -> boolean[][] -> bitset, as saving a result used to work
+        double perBitEncode = measure(repetitions, () -> perBitEncode(packed.toGrid()));
+        double wordEncode = measure(repetitions, packed::toBitset);
+        print("encode", perBitEncode, wordEncode);
+    }
+
+    private static double measure(int repetitions, Runnable operation) {
+        // Warm-up lets the JIT compile the conversion before measuring
+        for (int i = 0; i < repetitions; i++) {
+            operation.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - begin) / 1e6 / repetitions;
+    }
+
+    private static void print(String direction, double perBit, double word) {
+        System.out.printf("%-10s %16.2f %16.2f %9.1fx%n", direction, perBit, word, perBit / word);
+    }
+
+    /**
+     * The per-bit decode Board.getGrid() used before the word-level conversion.
+     */
+    private static boolean[][] perBitDecode(byte[] stateData, int width, int height) {
+        boolean[][] grid = new boolean[height][width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int index = row * width + col;
+                int byteIndex = index / 8;
+                int bitIndex = index % 8;
+                if (byteIndex < stateData.length) {
+                    grid[row][col] = ((stateData[byteIndex] >> bitIndex) & 1) == 1;
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * The per-bit encode Board.setGrid() used before the word-level conversion.
+     */
+    private static byte[] perBitEncode(boolean[][] grid) {
+        int height = grid.length;
+        int width = grid[0].length;
+        byte[] data = new byte[(height * width + 7) / 8];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (grid[row][col]) {
+                    int index = row * width + col;
+                    data[index / 8] |= (1 << (index % 8));
+                }
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,93 @@
+package com.gameoflife.benchmark;
+
+import com.gameoflife.model.Board;
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.codec.CodecType;
+import com.gameoflife.model.codec.StateCodec;
+
+import java.util.Random;
+
+/**
+ * Reports compression ratio and encode/decode throughput of every board state
+ * codec on boards of different densities. Decoding writes into a PackedGrid,
+ * the representation the engines work on.
+ * Not part of the test suite; run it manually, for example:
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.gameoflife.benchmark.CodecBenchmark -Dexec.args="2048 20"
+ * </pre>
+ *
+ * Arguments: board size (default 2048) and repetitions per measurement (default 20).
+ */
+public class CodecBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int cells = size * size;
+
+        System.out.printf("Board %dx%d (%d KiB as a bitset), %d repetitions%n",
+                size, size, cells / 8 / 1024, repetitions);
+        System.out.printf("%-14s %-8s %12s %9s %14s %14s%n",
+                "board", "codec", "bytes", "ratio", "encode MB/s", "decode MB/s");
+
+        String[] names = {"empty", "0.1% random", "5% random", "50% random", "stripes"};
+        for (int scenario = 0; scenario < names.length; scenario++) {
+            byte[] bits = createBoard(scenario, size).getStateData();
+
+            for (CodecType type : CodecType.values()) {
+                StateCodec codec = type.codec();
+
+                // Warm-up lets the JIT compile encoder and decoder before measuring
+                byte[] encoded = null;
+                for (int i = 0; i < repetitions; i++) {
+                    encoded = codec.encode(bits, cells);
+                    decode(codec, encoded, size);
+                }
+
+                long begin = System.nanoTime();
+                for (int i = 0; i < repetitions; i++) {
+                    encoded = codec.encode(bits, cells);
+                }
+                long encodeNanos = System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                for (int i = 0; i < repetitions; i++) {
+                    decode(codec, encoded, size);
+                }
+                long decodeNanos = System.nanoTime() - begin;
+
+                double megabytes = (double) bits.length * repetitions / 1e6;
+                System.out.printf("%-14s %-8s %12d %8.1fx %14.1f %14.1f%n",
+                        names[scenario], type, encoded.length,
+                        (double) bits.length / Math.max(encoded.length, 1),
+                        megabytes / (encodeNanos / 1e9), megabytes / (decodeNanos / 1e9));
+            }
+        }
+    }
+
+    private static void decode(StateCodec codec, byte[] encoded, int size) {
+        codec.decode(encoded, new PackedGrid(size, size));
+    }
+
+    private static Board createBoard(int scenario, int size) {
+        boolean[][] grid = new boolean[size][size];
+        Random random = new Random(1);
+        double[] densities = {0, 0.001, 0.05, 0.5};
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (scenario < densities.length) {
+                    grid[row][col] = random.nextDouble() < densities[scenario];
+                } else {
+                    grid[row][col] = (row / 8) % 2 == 0;
+                }
+            }
+        }
+
+        Board board = new Board();
+        board.setGrid(grid);
+        return board;
+    }
+}
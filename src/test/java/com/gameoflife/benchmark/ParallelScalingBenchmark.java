@@ -0,0 +1,71 @@
+package com.gameoflife.benchmark;
+
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.service.BitPackedGameServiceImpl;
+import com.gameoflife.service.ParallelGameServiceImpl;
+
+import java.util.Random;
+
+/**
+ * Measures how the parallel engine scales from 1 to N cores.
+ * Not part of the test suite; run it manually, for example:
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.gameoflife.benchmark.ParallelScalingBenchmark -Dexec.args="4096 50"
+ * </pre>
+ *
+ * Arguments: board size (default 4096) and generations per run (default 50).
+ */
+public class ParallelScalingBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        PackedGrid start = new PackedGrid(size, size);
+        Random random = new Random(1);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                start.set(row, col, random.nextInt(3) == 0);
+            }
+        }
+
+        System.out.printf("Board %dx%d, %d generations per run%n", size, size, generations);
+        System.out.printf("%8s %12s %12s %10s%n", "threads", "ms/gen", "Mcells/s", "speedup");
+
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            ParallelGameServiceImpl engine = new ParallelGameServiceImpl(new BitPackedGameServiceImpl(), 0, threads);
+            try {
+                // Warm-up run lets the JIT compile the kernel before measuring
+                run(engine, start, generations);
+                double msPerGeneration = run(engine, start, generations) / 1e6 / generations;
+
+                if (threads == 1) {
+                    baseline = msPerGeneration;
+                }
+                double cellsPerSecond = (double) size * size / (msPerGeneration / 1000) / 1e6;
+                System.out.printf("%8d %12.3f %12.1f %9.2fx%n",
+                        threads, msPerGeneration, cellsPerSecond, baseline / msPerGeneration);
+            } finally {
+                engine.shutdown();
+            }
+        }
+    }
+
+    private static long run(ParallelGameServiceImpl engine, PackedGrid start, int generations) {
+        PackedGrid current = start.copy();
+        PackedGrid next = new PackedGrid(start.getWidth(), start.getHeight());
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < generations; i++) {
+            engine.step(current, next);
+            PackedGrid swap = current;
+            current = next;
+            next = swap;
+        }
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,84 @@
+package com.gameoflife.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.dto.BoardResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Compares serializing a board response to JSON by unpacking the state into
+ * a boolean grid first, as responses used to be built, with writing the rows
+ * straight from the packed words. Reports time and heap allocated per response.
+ * Not part of the test suite; run it manually, for example:
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.gameoflife.benchmark.ResponseSerializationBenchmark -Dexec.args="2048 10"
+ * </pre>
+ *
+ * Arguments: board size (default 2048) and repetitions per measurement (default 10).
+ */
+public class ResponseSerializationBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        PackedGrid grid = new PackedGrid(size, size);
+        Random random = new Random(1);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                grid.set(row, col, random.nextInt(4) == 0);
+            }
+        }
+
+        System.out.printf("Board %dx%d, %d repetitions%n", size, size, repetitions);
+        System.out.printf("%-10s %12s %16s%n", "state", "ms/op", "MB allocated/op");
+
+        measure("boolean", repetitions, () -> {
+            BoardResponse response = BoardResponse.builder().id(1L).state(grid.toGrid()).build();
+            OBJECT_MAPPER.writeValue(DISCARD, new Object[]{response.getId(), response.getState()});
+        });
+        measure("packed", repetitions, () -> {
+            BoardResponse response = BoardResponse.builder().id(1L).packedState(grid).build();
+            OBJECT_MAPPER.writeValue(DISCARD, response);
+        });
+    }
+
+    private static void measure(String name, int repetitions, Operation operation) throws IOException {
+        // Warm-up lets the JIT compile the serializers before measuring
+        for (int i = 0; i < repetitions; i++) {
+            operation.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            operation.run();
+        }
+        double millis = (System.nanoTime() - begin) / 1e6 / repetitions;
+        double megabytes = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / 1e6 / repetitions;
+        System.out.printf("%-10s %12.2f %16.2f%n", name, millis, megabytes);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws IOException;
+    }
+}
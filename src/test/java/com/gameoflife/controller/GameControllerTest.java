@@ -3,25 +3,47 @@ package com.gameoflife.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gameoflife.exception.BoardNotFoundException;
 import com.gameoflife.exception.BoardProcessingException;
+import com.gameoflife.exception.UnknownEngineException;
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.model.pattern.PatternSource;
+import com.gameoflife.model.pattern.RowSource;
 import com.gameoflife.model.dto.BoardRequest;
 import com.gameoflife.model.dto.BoardResponse;
+import com.gameoflife.service.BitPackedGameServiceImpl;
 import com.gameoflife.service.BoardService;
+import com.gameoflife.service.LiveSimulation;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -122,7 +144,7 @@ class GameControllerTest {
         mockResponse.setFinalState(false);
         mockResponse.setLiveCellCount(3);
 
-        when(boardService.getNextState(eq(1L))).thenReturn(mockResponse);
+        when(boardService.getNextState(eq(1L), isNull())).thenReturn(mockResponse);
 
         // Perform request and verify
         mockMvc.perform(get("/boards/1/next"))
@@ -152,7 +174,7 @@ class GameControllerTest {
         mockResponse.setFinalState(true);
         mockResponse.setLiveCellCount(0);
 
-        when(boardService.getStateAfterIterations(eq(1L), eq(5))).thenReturn(mockResponse);
+        when(boardService.getStateAfterIterations(eq(1L), eq(5), isNull())).thenReturn(mockResponse);
 
         // Perform request and verify
         mockMvc.perform(get("/boards/1/iterate/5"))
@@ -183,7 +205,7 @@ class GameControllerTest {
         mockResponse.setFinalState(true);
         mockResponse.setLiveCellCount(0);
 
-        when(boardService.getFinalState(eq(1L))).thenReturn(mockResponse);
+        when(boardService.getFinalState(eq(1L), isNull())).thenReturn(mockResponse);
 
         // Perform request and verify
         mockMvc.perform(get("/boards/1/final"))
@@ -204,10 +226,289 @@ class GameControllerTest {
 
     @Test
     void testGetFinalStateProcessingException() throws Exception {
-        when(boardService.getFinalState(anyLong())).thenThrow(
+        when(boardService.getFinalState(anyLong(), isNull())).thenThrow(
                 new BoardProcessingException("Could not determine final state within maximum iterations"));
 
         mockMvc.perform(get("/boards/1/final"))
                 .andExpect(status().isInternalServerError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetStateAfterIterationsWithEngine() throws Exception {
+        BoardResponse mockResponse = new BoardResponse();
+        mockResponse.setId(5L);
+        mockResponse.setState(new boolean[3][3]);
+        mockResponse.setWidth(3);
+        mockResponse.setHeight(3);
+        mockResponse.setGeneration(5);
+        mockResponse.setEngine("bit-packed");
+
+        when(boardService.getStateAfterIterations(eq(1L), eq(5), eq("bit-packed"))).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/boards/1/iterate/5").param("engine", "bit-packed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.engine").value("bit-packed"));
+    }
+
+    @Test
+    void testGetNextStateUnknownEngine() throws Exception {
+        when(boardService.getNextState(anyLong(), eq("no-such-engine")))
+                .thenThrow(new UnknownEngineException("no-such-engine"));
+
+        mockMvc.perform(get("/boards/1/next").param("engine", "no-such-engine"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown engine: no-such-engine"));
+    }
+
+    @Test
+    void testCreateBoardFromBinaryBody() throws Exception {
+        boolean[][] initialState = {
+                {false, true, false, false, false, false, false, false, true},
+                {false, true, false, false, false, false, false, false, false},
+                {false, true, false, false, false, false, false, true, false}
+        };
+        byte[] bits = PackedGrid.fromGrid(initialState).toBitset();
+
+        BoardResponse mockResponse = new BoardResponse();
+        mockResponse.setId(1L);
+        mockResponse.setState(initialState);
+        mockResponse.setWidth(9);
+        mockResponse.setHeight(3);
+        mockResponse.setLiveCellCount(5);
+
+        when(boardService.createBoard(any(BoardRequest.class))).thenReturn(mockResponse);
+
+        byte[] body = mockMvc.perform(post("/boards")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .accept(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(binaryBoard(9, 3, bits)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string("X-Board-Id", "1"))
+                .andExpect(header().string("X-Board-Generation", "0"))
+                .andExpect(header().string("X-Board-Live-Cells", "5"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ArgumentCaptor<BoardRequest> request = ArgumentCaptor.forClass(BoardRequest.class);
+        verify(boardService).createBoard(request.capture());
+        assertTrue(request.getValue().isValid());
+        assertTrue(request.getValue().toPackedGrid().matches(initialState));
+        assertArrayEquals(binaryBoard(9, 3, bits), body);
+    }
+
+    @Test
+    void testCreateBoardFromStateBits() throws Exception {
+        boolean[][] initialState = {
+                {false, false, false},
+                {true, true, true},
+                {false, false, false}
+        };
+        String stateBits = Base64.getEncoder().encodeToString(PackedGrid.fromGrid(initialState).toBitset());
+
+        BoardResponse mockResponse = new BoardResponse();
+        mockResponse.setId(1L);
+        mockResponse.setState(initialState);
+        mockResponse.setWidth(3);
+        mockResponse.setHeight(3);
+        mockResponse.setLiveCellCount(3);
+
+        when(boardService.createBoard(any(BoardRequest.class))).thenReturn(mockResponse);
+
+        mockMvc.perform(post("/boards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("application/vnd.gameoflife.packed+json")
+                        .content("{\"stateBits\": \"" + stateBits + "\", \"width\": 3, \"height\": 3}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.stateBits").value(stateBits))
+                .andExpect(jsonPath("$.state").doesNotExist())
+                .andExpect(jsonPath("$.liveCellCount").value(3));
+
+        ArgumentCaptor<BoardRequest> request = ArgumentCaptor.forClass(BoardRequest.class);
+        verify(boardService).createBoard(request.capture());
+        assertTrue(Arrays.deepEquals(initialState, request.getValue().toPackedGrid().toGrid()));
+    }
+
+    @Test
+    void testGetBoardDefaultsToJson() throws Exception {
+        BoardResponse mockResponse = new BoardResponse();
+        mockResponse.setId(1L);
+        mockResponse.setState(new boolean[][]{{true, false}});
+        mockResponse.setWidth(2);
+        mockResponse.setHeight(1);
+
+        when(boardService.getBoardById(eq(1L))).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/boards/1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.state[0][0]").value(true))
+                .andExpect(jsonPath("$.stateBits").doesNotExist());
+    }
+
+    @Test
+    void testCreateBoardRejectsTruncatedBinaryBody() throws Exception {
+        mockMvc.perform(post("/boards")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(binaryBoard(64, 64, new byte[3])))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateBoardRejectsBoardsAboveTheCellLimit() throws Exception {
+        // 100000 x 100000 cells is above the default game.max-cells
+        mockMvc.perform(post("/boards")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(binaryBoard(100_000, 100_000, new byte[0])))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Board of 100000x100000 cells is larger")));
+
+        mockMvc.perform(post("/boards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stateBits\": \"AA==\", \"width\": 100000, \"height\": 100000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Board of 100000x100000 cells is larger")));
+
+        mockMvc.perform(post("/boards/import/rle")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("x = 100000, y = 100000\n!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Pattern of 100000x100000 cells is larger")));
+
+        verify(boardService, never()).createBoard(any(BoardRequest.class));
+    }
+
+    @Test
+    void testImportRlePattern() throws Exception {
+        BoardResponse mockResponse = new BoardResponse();
+        mockResponse.setId(7L);
+        mockResponse.setWidth(3);
+        mockResponse.setHeight(3);
+        mockResponse.setLiveCellCount(5);
+
+        when(boardService.createBoard(any(BoardRequest.class))).thenReturn(mockResponse);
+
+        mockMvc.perform(post("/boards/import/rle")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("#N Glider\nx = 3, y = 3, rule = B3/S23\nbob$2bo$3o!\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7));
+
+        ArgumentCaptor<BoardRequest> request = ArgumentCaptor.forClass(BoardRequest.class);
+        verify(boardService).createBoard(request.capture());
+        assertTrue(request.getValue().toPackedGrid().matches(new boolean[][]{
+                {false, true, false},
+                {false, false, true},
+                {true, true, true}
+        }));
+    }
+
+    @Test
+    void testImportInvalidPattern() throws Exception {
+        mockMvc.perform(post("/boards/import/cells")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(".O\nxO\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Invalid plaintext pattern at line 2: unexpected character 'x'"));
+
+        mockMvc.perform(post("/boards/import/mcell")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("#MCell"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown pattern format: mcell"));
+
+        verify(boardService, never()).createBoard(any(BoardRequest.class));
+    }
+
+    @Test
+    void testExportPattern() throws Exception {
+        PackedGrid blinker = PackedGrid.fromGrid(new boolean[][]{
+                {false, false, false},
+                {true, true, true},
+                {false, false, false}
+        });
+        when(boardService.getPatternSource(eq(1L))).thenReturn(new PatternSource(3, 3, RowSource.of(blinker)));
+
+        mockMvc.perform(get("/boards/1/export/rle"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"board-1.rle\""))
+                .andExpect(content().string("x = 3, y = 3, rule = B3/S23\n$3o!\n"));
+
+        mockMvc.perform(get("/boards/1/export/cells"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("...\nOOO\n...\n"));
+    }
+
+    @Test
+    void testExportPatternNotFound() throws Exception {
+        when(boardService.getPatternSource(anyLong())).thenThrow(new BoardNotFoundException(999L));
+
+        mockMvc.perform(get("/boards/999/export/rle"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testStreamGenerations() throws Exception {
+        boolean[][] blinker = new boolean[5][5];
+        blinker[2][1] = blinker[2][2] = blinker[2][3] = true;
+        when(boardService.startLiveSimulation(eq(1L), isNull())).thenReturn(new LiveSimulation(
+                1L, 4, new BitPackedGameServiceImpl(), PackedGrid.fromGrid(blinker), false, 100));
+
+        MvcResult result = mockMvc.perform(get("/boards/1/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String events = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith(MediaType.TEXT_EVENT_STREAM_VALUE)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] blocks = events.split("\n\n");
+        assertTrue(blocks[0].startsWith("event:generation\nid:4\ndata:{\"boardId\":1,\"generation\":4,"),
+                blocks[0]);
+        assertTrue(blocks[1].startsWith("event:generation\nid:5\n"), blocks[1]);
+        // The blinker's cycle is detected and the stream ends
+        String last = blocks[blocks.length - 2];
+        assertTrue(last.contains("\"finalState\":true,\"period\":2"), last);
+        assertTrue(blocks[blocks.length - 1].startsWith("event:end\n"), blocks[blocks.length - 1]);
+    }
+
+    @Test
+    void testStreamGenerationsLimitAndResume() throws Exception {
+        boolean[][] glider = new boolean[16][16];
+        glider[0][1] = glider[1][2] = glider[2][0] = glider[2][1] = glider[2][2] = true;
+        when(boardService.startLiveSimulation(eq(1L), eq("bit-packed"))).thenReturn(new LiveSimulation(
+                1L, 0, new BitPackedGameServiceImpl(), PackedGrid.fromGrid(glider), false, 100));
+
+        MvcResult result = mockMvc.perform(get("/boards/1/stream?generations=5&engine=bit-packed&rate=1000")
+                        .header("Last-Event-ID", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String events = mockMvc.perform(asyncDispatch(result))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] blocks = events.split("\n\n");
+        assertEquals(4, blocks.length, events);
+        assertTrue(blocks[0].startsWith("event:generation\nid:3\n"), blocks[0]);
+        assertTrue(blocks[2].startsWith("event:generation\nid:5\n"), blocks[2]);
+        assertEquals("event:end\nid:5\ndata:{\"generation\":5,\"finalState\":false,\"period\":null}",
+                blocks[3]);
+    }
+
+    @Test
+    void testStreamGenerationsNotFound() throws Exception {
+        when(boardService.startLiveSimulation(anyLong(), any())).thenThrow(new BoardNotFoundException(999L));
+
+        mockMvc.perform(get("/boards/999/stream"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static byte[] binaryBoard(int width, int height, byte[] bits) {
+        return ByteBuffer.allocate(16 + bits.length)
+                .put(new byte[]{'G', 'O', 'L', 'B', 1, 1, 0, 0})
+                .putInt(width)
+                .putInt(height)
+                .put(bits)
+                .array();
+    }
+}
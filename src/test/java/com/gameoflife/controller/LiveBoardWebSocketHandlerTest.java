@@ -0,0 +1,280 @@
+package com.gameoflife.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameoflife.exception.BoardNotFoundException;
+import com.gameoflife.model.PackedGrid;
+import com.gameoflife.service.BitPackedGameServiceImpl;
+import com.gameoflife.service.BoardService;
+import com.gameoflife.service.GameService;
+import com.gameoflife.service.LiveSimulation;
+import com.gameoflife.service.PackedSimulation;
+import com.gameoflife.service.Simulation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the live board WebSocket endpoint against a running server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:live",
+        "game.live.default-rate=50"
+})
+class LiveBoardWebSocketHandlerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BoardService boardService;
+
+    @Test
+    void testViewersShareOneSimulation() throws Exception {
+        boolean[][] blinker = new boolean[5][5];
+        blinker[2][1] = blinker[2][2] = blinker[2][3] = true;
+        when(boardService.startLiveSimulation(eq(1L), isNull())).thenReturn(
+                new LiveSimulation(1L, 0, new BitPackedGameServiceImpl(), PackedGrid.fromGrid(blinker), false, 1000));
+
+        Viewer first = connect(1L);
+        Viewer second = connect(1L);
+
+        for (Viewer viewer : new Viewer[] {first, second}) {
+            viewer.awaitFinalState();
+            // The cycle of a blinker is detected three generations in
+            assertEquals(3, viewer.generation);
+            assertFalse(viewer.state.matches(blinker));
+            assertEquals(3, viewer.state.population());
+        }
+        verify(boardService, times(1)).startLiveSimulation(anyLong(), isNull());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void testEditedCellsAreSentAsADelta() throws Exception {
+        when(boardService.startLiveSimulation(eq(2L), isNull())).thenReturn(
+                new LiveSimulation(2L, 0, new BitPackedGameServiceImpl(), new PackedGrid(5, 5), false, 1000));
+
+        Viewer viewer = connect(2L);
+        viewer.awaitFinalState();
+        assertEquals(1, viewer.generation);
+
+        viewer.send("{\"type\":\"set\",\"cells\":[[2,1],[2,2],[2,3]]}");
+        byte[] frame = viewer.nextFrame();
+        assertEquals(LiveFrames.DELTA, frame[0]);
+        assertEquals(1, viewer.generation);
+        assertEquals(3, viewer.state.population());
+
+        viewer.awaitFinalState();
+        assertEquals(4, viewer.generation);
+        assertTrue(viewer.state.get(1, 2) && viewer.state.get(2, 2) && viewer.state.get(3, 2));
+        viewer.close();
+    }
+
+    @Test
+    void testCommandsChangeTheStatusOfEveryViewer() throws Exception {
+        when(boardService.startLiveSimulation(eq(3L), isNull())).thenReturn(
+                new LiveSimulation(3L, 0, new BitPackedGameServiceImpl(), new PackedGrid(64, 64), false, 1000));
+
+        Viewer first = connect(3L);
+        Viewer second = connect(3L);
+        assertEquals(2, second.nextStatus().get("viewers").asInt());
+
+        first.send("{\"type\":\"pause\"}");
+        assertTrue(second.nextStatus(status -> status.get("paused").asBoolean()).get("paused").asBoolean());
+        first.send("{\"type\":\"speed\",\"rate\":5}");
+        assertEquals(5.0, second.nextStatus(status -> status.get("rate").asDouble() == 5.0).get("rate").asDouble());
+
+        first.send("{\"type\":\"speed\",\"rate\":0}");
+        assertEquals("Rate must be greater than 0 and at most 1000.0", first.nextError());
+        first.send("{\"type\":\"jump\"}");
+        assertEquals("Unknown command type: jump", first.nextError());
+        first.send("not json");
+        assertTrue(first.nextError().startsWith("Malformed command"));
+
+        first.close();
+        assertEquals(1, second.nextStatus(status -> status.get("viewers").asInt() == 1).get("viewers").asInt());
+        second.close();
+    }
+
+    @Test
+    void testFailedSimulationDisconnectsItsViewers() throws Exception {
+        GameService failing = new BitPackedGameServiceImpl() {
+            @Override
+            public Simulation startSimulation(PackedGrid initialState) {
+                return new PackedSimulation(initialState, (current, next) -> {
+                    throw new IllegalStateException("Engine failed");
+                });
+            }
+        };
+        boolean[][] blinker = new boolean[5][5];
+        blinker[2][1] = blinker[2][2] = blinker[2][3] = true;
+        when(boardService.startLiveSimulation(eq(4L), isNull())).thenReturn(
+                new LiveSimulation(4L, 0, failing, PackedGrid.fromGrid(blinker), false, 1000),
+                new LiveSimulation(4L, 0, new BitPackedGameServiceImpl(), PackedGrid.fromGrid(blinker), false, 1000));
+
+        Viewer viewer = connect(4L);
+
+        CloseStatus status = viewer.closed.get(5, TimeUnit.SECONDS);
+        assertEquals(CloseStatus.SERVER_ERROR.getCode(), status.getCode());
+        assertEquals("Simulation failed at generation 0", status.getReason());
+
+        // The failed board is replaced for the next viewer
+        Viewer next = connect(4L);
+        next.awaitFinalState();
+        assertEquals(3, next.generation);
+        next.close();
+    }
+
+    @Test
+    void testUnknownBoardClosesTheConnection() throws Exception {
+        when(boardService.startLiveSimulation(eq(99L), isNull())).thenThrow(new BoardNotFoundException(99L));
+
+        Viewer viewer = connect(99L);
+
+        CloseStatus status = viewer.closed.get(5, TimeUnit.SECONDS);
+        assertEquals(4404, status.getCode());
+        assertEquals("Could not find board with id: 99", status.getReason());
+    }
+
+    private Viewer connect(long id) throws Exception {
+        Viewer viewer = new Viewer();
+        viewer.session = new StandardWebSocketClient()
+                .doHandshake(viewer, "ws://localhost:" + port + "/api/boards/" + id + "/live")
+                .get(5, TimeUnit.SECONDS);
+        return viewer;
+    }
+
+    /**
+     * Client that applies the frames it receives, the way a viewer does.
+     */
+    private class Viewer extends AbstractWebSocketHandler {
+
+        private final BlockingQueue<Object> messages = new LinkedBlockingQueue<>();
+        private final CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+        private WebSocketSession session;
+        private PackedGrid state;
+        private int generation;
+        private boolean finalState;
+
+        @Override
+        protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+            ByteBuffer payload = message.getPayload();
+            byte[] frame = new byte[payload.remaining()];
+            payload.get(frame);
+            messages.add(frame);
+        }
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+            messages.add(message.getPayload());
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+            closed.complete(status);
+        }
+
+        void send(String command) throws Exception {
+            session.sendMessage(new TextMessage(command));
+        }
+
+        void close() throws Exception {
+            session.close();
+        }
+
+        /**
+         * Applies frames up to and including the next one.
+         */
+        byte[] nextFrame() throws Exception {
+            Object message;
+            do {
+                message = next();
+            } while (!(message instanceof byte[]));
+
+            byte[] frame = (byte[]) message;
+            ByteBuffer in = ByteBuffer.wrap(frame);
+            int type = in.get();
+            finalState = (in.get() & LiveFrames.FLAG_FINAL_STATE) != 0;
+            generation = in.getInt();
+            if (type == LiveFrames.KEYFRAME) {
+                int width = in.getInt();
+                int height = in.getInt();
+                byte[] bits = new byte[in.remaining()];
+                in.get(bits);
+                state = PackedGrid.fromBitset(bits, width, height);
+            } else {
+                assertNotNull(state, "delta before the first keyframe");
+                state = LiveFramesTest.apply(state, frame);
+            }
+            return frame;
+        }
+
+        void awaitFinalState() throws Exception {
+            do {
+                nextFrame();
+            } while (!finalState);
+        }
+
+        JsonNode nextStatus() throws Exception {
+            return nextStatus(status -> true);
+        }
+
+        JsonNode nextStatus(Predicate<JsonNode> condition) throws Exception {
+            while (true) {
+                Object message = next();
+                if (message instanceof String) {
+                    JsonNode node = objectMapper.readTree((String) message);
+                    if ("status".equals(node.get("type").asText()) && condition.test(node)) {
+                        return node;
+                    }
+                }
+            }
+        }
+
+        String nextError() throws Exception {
+            while (true) {
+                Object message = next();
+                if (message instanceof String) {
+                    JsonNode node = objectMapper.readTree((String) message);
+                    if ("error".equals(node.get("type").asText())) {
+                        return node.get("message").asText();
+                    }
+                }
+            }
+        }
+
+        private Object next() throws InterruptedException {
+            Object message = messages.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "no message within 5 seconds");
+            return message;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.gameoflife.controller;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the live board frames.
+ */
+class LiveFramesTest {
+
+    @Test
+    void testKeyframeCarriesTheWholeState() {
+        boolean[][] grid = new boolean[3][70];
+        grid[0][0] = grid[1][64] = grid[2][69] = true;
+        PackedGrid state = PackedGrid.fromGrid(grid);
+
+        ByteBuffer frame = ByteBuffer.wrap(LiveFrames.keyframe(42, true, state));
+
+        assertEquals(LiveFrames.KEYFRAME, frame.get());
+        assertEquals(LiveFrames.FLAG_FINAL_STATE, frame.get());
+        assertEquals(42, frame.getInt());
+        assertEquals(70, frame.getInt());
+        assertEquals(3, frame.getInt());
+        byte[] bits = new byte[frame.remaining()];
+        frame.get(bits);
+        assertArrayEquals(state.toBitset(), bits);
+    }
+
+    @Test
+    void testDeltaListsTheChangedCells() {
+        PackedGrid previous = new PackedGrid(100, 3);
+        previous.set(0, 5, true);
+        previous.set(2, 99, true);
+        PackedGrid state = previous.copy();
+        state.set(0, 5, false);
+        state.set(1, 64, true);
+        state.set(2, 98, true);
+
+        byte[] frame = LiveFrames.delta(7, false, previous, state);
+
+        assertNotNull(frame);
+        assertEquals(LiveFrames.DELTA, frame[0]);
+        assertEquals(0, frame[1]);
+        assertEquals(7, ByteBuffer.wrap(frame, 2, 4).getInt());
+        // Cells 5, 164 and 298: 3 changes, gaps 5, 158 (two bytes) and 133 (two bytes)
+        assertArrayEquals(new byte[] {3, 5, (byte) 0x9E, 0x01, (byte) 0x85, 0x01},
+                Arrays.copyOfRange(frame, LiveFrames.HEADER_SIZE, frame.length));
+        assertEquals(state, apply(previous, frame));
+    }
+
+    @Test
+    void testDeltaOfRandomStatesRestoresTheState() {
+        Random random = new Random(25);
+        PackedGrid previous = new PackedGrid(130, 40);
+        PackedGrid state = new PackedGrid(130, 40);
+        for (int i = 0; i < 300; i++) {
+            previous.set(random.nextInt(40), random.nextInt(130), true);
+            state.set(random.nextInt(40), random.nextInt(130), true);
+        }
+
+        byte[] frame = LiveFrames.delta(1, false, previous, state);
+
+        assertNotNull(frame);
+        assertEquals(state, apply(previous, frame));
+    }
+
+    @Test
+    void testUnchangedStateHasAnEmptyDelta() {
+        PackedGrid state = new PackedGrid(10, 10);
+        state.set(4, 4, true);
+
+        byte[] frame = LiveFrames.delta(3, true, state, state.copy());
+
+        assertEquals(LiveFrames.HEADER_SIZE + 1, frame.length);
+        assertEquals(LiveFrames.FLAG_FINAL_STATE, frame[1]);
+        assertEquals(0, frame[LiveFrames.HEADER_SIZE]);
+    }
+
+    @Test
+    void testDeltaLargerThanAKeyframeIsNotEncoded() {
+        PackedGrid previous = new PackedGrid(16, 16);
+        PackedGrid state = new PackedGrid(16, 16);
+        for (int row = 0; row < 16; row += 2) {
+            state.setRun(row, 0, 16);
+        }
+
+        assertNull(LiveFrames.delta(1, false, previous, state));
+    }
+
+    /**
+     * Applies a delta frame to a copy of a state, the way a viewer does.
+     */
+    static PackedGrid apply(PackedGrid state, byte[] frame) {
+        PackedGrid result = state.copy();
+        ByteBuffer in = ByteBuffer.wrap(frame, LiveFrames.HEADER_SIZE, frame.length - LiveFrames.HEADER_SIZE);
+        long count = readVarInt(in);
+        long cell = -1;
+        for (long i = 0; i < count; i++) {
+            cell += readVarInt(in) + 1;
+            int row = (int) (cell / result.getWidth());
+            int col = (int) (cell % result.getWidth());
+            result.set(row, col, !result.get(row, col));
+        }
+        assertFalse(in.hasRemaining());
+        return result;
+    }
+
+    private static long readVarInt(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,118 @@
+package com.gameoflife.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the sending of frames to one viewer.
+ */
+class LiveViewerTest {
+
+    private WebSocketSession session;
+    private RemoteEndpoint.Async remote;
+    private LiveViewer viewer;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class, withSettings().extraInterfaces(NativeWebSocketSession.class));
+        Session nativeSession = mock(Session.class);
+        remote = mock(RemoteEndpoint.Async.class);
+        when(((NativeWebSocketSession) session).getNativeSession(Session.class)).thenReturn(nativeSession);
+        when(nativeSession.getAsyncRemote()).thenReturn(remote);
+        // Sends only complete when the test says so
+        viewer = new LiveViewer(session, 2, 1000, Runnable::run);
+        verify(remote).setSendTimeout(1000);
+    }
+
+    @Test
+    void testMessagesAreSentOneAtATime() {
+        viewer.sendKeyframe(new byte[] {1});
+        viewer.sendText("status");
+        viewer.sendDelta(new byte[] {2});
+
+        verify(remote).sendBinary(eq(ByteBuffer.wrap(new byte[] {1})), any());
+        verifyNoMoreInteractions(remote);
+
+        viewer.onResult(new SendResult());
+        verify(remote).sendText(eq("status"), any());
+        viewer.onResult(new SendResult());
+        verify(remote).sendBinary(eq(ByteBuffer.wrap(new byte[] {2})), any());
+    }
+
+    @Test
+    void testDeltasWaitForAKeyframe() {
+        viewer.sendDelta(new byte[] {2});
+        verify(remote, never()).sendBinary(any(), any());
+        assertTrue(viewer.needsKeyframe());
+
+        viewer.sendKeyframe(new byte[] {1});
+        assertFalse(viewer.needsKeyframe());
+        verify(remote).sendBinary(eq(ByteBuffer.wrap(new byte[] {1})), any());
+    }
+
+    @Test
+    void testViewerThatFallsBehindSkipsToTheNextKeyframe() {
+        viewer.sendKeyframe(new byte[] {1});
+        viewer.sendDelta(new byte[] {2});
+        viewer.sendText("status");
+        viewer.sendDelta(new byte[] {3});
+        assertFalse(viewer.needsKeyframe());
+
+        // Two frames are waiting: this one is dropped together with them
+        viewer.sendDelta(new byte[] {4});
+        assertTrue(viewer.needsKeyframe());
+        viewer.sendDelta(new byte[] {5});
+        viewer.sendKeyframe(new byte[] {6});
+
+        viewer.onResult(new SendResult());
+        viewer.onResult(new SendResult());
+        ArgumentCaptor<ByteBuffer> frames = ArgumentCaptor.forClass(ByteBuffer.class);
+        verify(remote, times(2)).sendBinary(frames.capture(), any(SendHandler.class));
+        verify(remote).sendText(eq("status"), any());
+        List<ByteBuffer> sent = frames.getAllValues();
+        assertEquals(ByteBuffer.wrap(new byte[] {1}), sent.get(0));
+        assertEquals(ByteBuffer.wrap(new byte[] {6}), sent.get(1));
+    }
+
+    @Test
+    void testFailedSendDisconnectsTheViewer() throws IOException {
+        viewer.sendKeyframe(new byte[] {1});
+        viewer.sendText("status");
+
+        viewer.onResult(new SendResult(new IOException("Broken pipe")));
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        viewer.sendDelta(new byte[] {2});
+        verify(remote, never()).sendText(any(), any());
+    }
+
+    @Test
+    void testClosedViewerDropsItsMessages() throws IOException {
+        viewer.sendKeyframe(new byte[] {1});
+        viewer.sendText("status");
+
+        viewer.close(CloseStatus.SERVER_ERROR);
+        viewer.onResult(new SendResult());
+        viewer.sendDelta(new byte[] {2});
+
+        verify(session).close(CloseStatus.SERVER_ERROR);
+        verify(remote, never()).sendText(any(), any());
+    }
+}
@@ -0,0 +1,97 @@
+package com.gameoflife.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the word-level conversions between PackedGrid, the bitset stored
+ * by Board and boolean grids.
+ */
+class PackedGridTest {
+
+    @Test
+    void testBitsetRoundTrip() {
+        Random random = new Random(13);
+        // Widths that put row starts at every alignment within a word
+        int[][] sizes = {{1, 1}, {7, 3}, {63, 5}, {64, 4}, {65, 9}, {100, 33}, {129, 17}, {300, 250}};
+
+        for (int[] size : sizes) {
+            boolean[][] grid = randomGrid(random, size[0], size[1], 0.4);
+            byte[] bits = perBitEncode(grid);
+
+            PackedGrid packed = PackedGrid.fromBitset(bits, size[0], size[1]);
+            assertTrue(packed.matches(grid), Arrays.toString(size));
+            assertArrayEquals(bits, packed.toBitset(), Arrays.toString(size));
+        }
+    }
+
+    @Test
+    void testFullRowsStayMasked() {
+        boolean[][] grid = randomGrid(new Random(1), 70, 6, 1);
+        PackedGrid packed = PackedGrid.fromBitset(perBitEncode(grid), 70, 6);
+
+        assertEquals(420, packed.population());
+        assertEquals(0, packed.getWords()[1] & ~packed.getLastWordMask());
+    }
+
+    @Test
+    void testShortBitsetReadsAsDead() {
+        byte[] bits = {(byte) 0xFF};
+        PackedGrid packed = PackedGrid.fromBitset(bits, 5, 5);
+
+        assertEquals(8, packed.population());
+        assertTrue(packed.get(1, 2));
+        assertFalse(packed.get(1, 3));
+    }
+
+    @Test
+    void testBooleanGridRoundTrip() {
+        boolean[][] grid = randomGrid(new Random(7), 200, 11, 0.5);
+
+        assertTrue(Arrays.deepEquals(grid, PackedGrid.fromGrid(grid).toGrid()));
+    }
+
+    @Test
+    void testBoardUsesBitset() {
+        boolean[][] grid = randomGrid(new Random(3), 37, 19, 0.3);
+        Board board = new Board();
+        board.setGrid(grid);
+
+        assertArrayEquals(perBitEncode(grid), board.getStateData());
+        assertEquals(37, board.getWidth());
+        assertEquals(19, board.getHeight());
+        assertTrue(board.getPackedGrid().matches(grid));
+        assertTrue(Arrays.deepEquals(grid, board.getGrid()));
+    }
+
+    private static boolean[][] randomGrid(Random random, int width, int height, double density) {
+        boolean[][] grid = new boolean[height][width];
+        for (boolean[] row : grid) {
+            for (int col = 0; col < width; col++) {
+                row[col] = random.nextDouble() < density;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Bitset layout of Board, written one cell at a time.
+     */
+    private static byte[] perBitEncode(boolean[][] grid) {
+        int width = grid[0].length;
+        byte[] bits = new byte[(grid.length * width + 7) / 8];
+        for (int row = 0; row < grid.length; row++) {
+            for (int col = 0; col < width; col++) {
+                if (grid[row][col]) {
+                    int index = row * width + col;
+                    bits[index / 8] |= (byte) (1 << (index % 8));
+                }
+            }
+        }
+        return bits;
+    }
+}
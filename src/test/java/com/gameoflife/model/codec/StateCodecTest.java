@@ -0,0 +1,125 @@
+package com.gameoflife.model.codec;
+
+import com.gameoflife.exception.BoardTooLargeException;
+import com.gameoflife.model.Board;
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for the board state codecs.
+ */
+class StateCodecTest {
+
+    @Test
+    void testAllCodecsRoundTrip() {
+        Random random = new Random(5);
+        int[][] sizes = {{1, 1}, {7, 3}, {64, 64}, {300, 250}, {1000, 140}};
+        double[] densities = {0, 0.001, 0.05, 0.5, 1};
+
+        for (int[] size : sizes) {
+            for (double density : densities) {
+                boolean[][] grid = new boolean[size[1]][size[0]];
+                for (boolean[] row : grid) {
+                    for (int col = 0; col < row.length; col++) {
+                        row[col] = random.nextDouble() < density;
+                    }
+                }
+                // A long live stretch across rows and a 65536-cell chunk boundary
+                if (size[0] * size[1] > 70_000) {
+                    for (int cell = 65_000; cell < 66_500; cell++) {
+                        grid[cell / size[0]][cell % size[0]] = true;
+                    }
+                }
+                assertRoundTrips(grid);
+            }
+        }
+    }
+
+    @Test
+    void testChosenEncodingIsNearTheSmallest() {
+        Random random = new Random(13);
+        double[] densities = {0, 0.0005, 0.01, 0.1, 0.5};
+        for (double density : densities) {
+            boolean[][] grid = new boolean[300][300];
+            for (boolean[] row : grid) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] = random.nextDouble() < density;
+                }
+            }
+            Board board = new Board();
+            board.setGrid(grid);
+            int smallest = Integer.MAX_VALUE;
+            for (CodecType type : CodecType.values()) {
+                smallest = Math.min(smallest, type.codec().encode(board.getStateData(), 90_000).length);
+            }
+            EncodedState encoded = encode(grid);
+            assertTrue(encoded.getData().length <= smallest * 1.1 + 8, density + ": " + encoded.getCodec());
+            assertArrayEquals(board.getStateData(), encoded.getCodec().codec().decode(encoded.getData(), 90_000));
+        }
+    }
+
+    @Test
+    void testSmallestEncodingIsPicked() {
+        // Empty boards need no data at all with run-length encoding
+        assertEquals(0, encode(new boolean[100][100]).getData().length);
+
+        // A few scattered cells: far smaller than the 1250 byte bitset
+        boolean[][] sparse = new boolean[100][100];
+        sparse[3][4] = true;
+        sparse[50][50] = true;
+        sparse[99][99] = true;
+        EncodedState encoded = encode(sparse);
+        assertTrue(encoded.getData().length < 16);
+
+        // Noise does not compress; nothing should be larger than the bitset
+        boolean[][] noise = new boolean[100][100];
+        Random random = new Random(9);
+        for (boolean[] row : noise) {
+            for (int col = 0; col < row.length; col++) {
+                row[col] = random.nextBoolean();
+            }
+        }
+        assertTrue(encode(noise).getData().length <= 1250);
+    }
+
+    @Test
+    void testCellCountDoesNotOverflow() {
+        assertEquals(65536 * 32767, StateCodec.cells(65536, 32767));
+        assertEquals(StateCodec.MAX_CELLS, StateCodec.cells((int) StateCodec.MAX_CELLS, 1));
+        // 2^32 cells would wrap around to 0 as an int
+        assertThrows(BoardTooLargeException.class, () -> StateCodec.cells(65536, 65536));
+        assertThrows(BoardTooLargeException.class, () -> StateCodec.cells(Integer.MAX_VALUE, 1));
+    }
+
+    private static EncodedState encode(boolean[][] grid) {
+        Board board = new Board();
+        board.setGrid(grid);
+        return CodecType.encode(board.getStateData(), grid.length * grid[0].length);
+    }
+
+    private static void assertRoundTrips(boolean[][] grid) {
+        Board board = new Board();
+        board.setGrid(grid);
+        byte[] bits = board.getStateData();
+        int width = grid[0].length;
+        int height = grid.length;
+        int cells = width * height;
+
+        for (CodecType type : CodecType.values()) {
+            byte[] encoded = type.codec().encode(bits, cells);
+            assertArrayEquals(bits, type.codec().decode(encoded, cells), type + " " + width + "x" + height);
+
+            PackedGrid packed = new PackedGrid(width, height);
+            type.codec().decode(encoded, packed);
+            assertEquals(PackedGrid.fromGrid(grid), packed, type + " " + width + "x" + height);
+
+            byte[] flipped = bits.clone();
+            type.codec().decodeXor(encoded, cells, flipped);
+            assertArrayEquals(new byte[bits.length], flipped, type + " " + width + "x" + height);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.gameoflife.model.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the row-by-row serialization of board states.
+ */
+class PackedStateSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testStateIsSerializedAsBooleanRows() throws IOException {
+        Random random = new Random(3);
+        int[][] sizes = {{1, 1}, {5, 3}, {64, 2}, {130, 7}};
+        for (int[] size : sizes) {
+            boolean[][] grid = new boolean[size[1]][size[0]];
+            for (boolean[] row : grid) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] = random.nextBoolean();
+                }
+            }
+            BoardResponse response = BoardResponse.builder().id(1L).packedState(PackedGrid.fromGrid(grid)).build();
+
+            String json = objectMapper.writeValueAsString(response);
+
+            assertTrue(json.contains("\"state\":" + objectMapper.writeValueAsString(grid)), json);
+            // The boolean grid was never built
+            assertNull(ReflectionTestUtils.getField(response, "state"));
+        }
+    }
+
+    @Test
+    void testMissingStateIsNull() throws IOException {
+        BoardResponse response = BoardResponse.builder().id(1L).build();
+
+        assertTrue(objectMapper.writeValueAsString(response).contains("\"state\":null"));
+    }
+
+    @Test
+    void testLargeStatesAreWrittenInChunks() throws IOException {
+        PackedGrid grid = new PackedGrid(1000, 1000);
+        grid.setRun(500, 0, 1000);
+        BoardResponse response = BoardResponse.builder().id(1L).packedState(grid).build();
+
+        int[] writes = {0};
+        long[] bytes = {0};
+        objectMapper.writeValue(new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writes[0]++;
+                bytes[0] += len;
+            }
+        }, response);
+
+        // Over 5 MB of JSON leaves in many buffer-sized writes, not in one piece
+        assertTrue(bytes[0] > 5_000_000);
+        assertTrue(writes[0] > 100);
+    }
+}
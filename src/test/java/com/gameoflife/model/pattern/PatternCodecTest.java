@@ -0,0 +1,172 @@
+package com.gameoflife.model.pattern;
+
+import com.gameoflife.exception.InvalidPatternException;
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RLE, plaintext and Life 1.06 pattern codecs.
+ */
+class PatternCodecTest {
+
+    private static final String GLIDER_RLE = "#N Glider\n"
+            + "#C A comment\n"
+            + "x = 3, y = 3, rule = B3/S23\n"
+            + "bob$2bo$3o!\n";
+
+    @Test
+    void testAllFormatsRoundTrip() throws IOException {
+        Random random = new Random(11);
+        int[][] sizes = {{1, 1}, {3, 5}, {63, 4}, {64, 64}, {65, 3}, {200, 130}};
+        double[] densities = {0.01, 0.3, 0.9, 1};
+
+        for (int[] size : sizes) {
+            for (double density : densities) {
+                PackedGrid grid = new PackedGrid(size[0], size[1]);
+                for (int row = 0; row < size[1]; row++) {
+                    for (int col = 0; col < size[0]; col++) {
+                        grid.set(row, col, random.nextDouble() < density);
+                    }
+                }
+                // The last cell pins the dimensions for formats that do not record them
+                grid.set(size[1] - 1, size[0] - 1, true);
+                grid.set(0, 0, true);
+
+                for (PatternFormat format : PatternFormat.values()) {
+                    assertEquals(grid, read(format, write(format, grid)), format + " " + size[0] + "x" + size[1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRleIsParsed() throws IOException {
+        PackedGrid glider = read(PatternFormat.RLE, GLIDER_RLE);
+
+        assertEquals(3, glider.getWidth());
+        assertEquals(3, glider.getHeight());
+        assertTrue(glider.matches(new boolean[][]{
+                {false, true, false},
+                {false, false, true},
+                {true, true, true}
+        }));
+    }
+
+    @Test
+    void testRleRunsSpanLinesAndSkipRows() throws IOException {
+        PackedGrid grid = read(PatternFormat.RLE, "x = 100, y = 4\n2b9\n8o3$\n100o!");
+
+        assertEquals(198, grid.population());
+        assertTrue(grid.get(0, 2));
+        assertTrue(grid.get(0, 99));
+        assertFalse(grid.get(0, 1));
+        assertEquals(0, countRow(grid, 1) + countRow(grid, 2));
+        assertEquals(100, countRow(grid, 3));
+    }
+
+    @Test
+    void testRleLinesStayShort() throws IOException {
+        PackedGrid grid = new PackedGrid(300, 50);
+        for (int row = 0; row < 50; row++) {
+            for (int col = row % 2; col < 300; col += 2) {
+                grid.set(row, col, true);
+            }
+        }
+        for (String line : write(PatternFormat.RLE, grid).split("\n")) {
+            assertTrue(line.length() <= 70, line);
+        }
+    }
+
+    @Test
+    void testInvalidRleIsRejected() {
+        assertInvalid(PatternFormat.RLE, "bob$2bo$3o!");
+        assertInvalid(PatternFormat.RLE, "x = 3, y = 3, rule = B36/S23\nbob$2bo$3o!");
+        assertInvalid(PatternFormat.RLE, "x = 3, y = 3\n4o!");
+        assertInvalid(PatternFormat.RLE, "x = 3, y = 3\n3$o!");
+        assertInvalid(PatternFormat.RLE, "x = 3, y = 3\nbxb!");
+        assertInvalid(PatternFormat.RLE, "x = 4000000000, y = 4000000000\n!");
+        // Row skips that would overflow back to a negative row
+        assertInvalid(PatternFormat.RLE, "x = 3, y = 3\n2147483647$2147483647$o!");
+        assertInvalid(PatternFormat.RLE, "x = 3, y = 3\n4$!");
+    }
+
+    @Test
+    void testRleMayEndWithARowSkip() throws IOException {
+        PackedGrid grid = read(PatternFormat.RLE, "x = 2, y = 3\n2o$2o$$!");
+
+        assertEquals(4, grid.population());
+        assertEquals(0, countRow(grid, 2));
+    }
+
+    @Test
+    void testPlaintextRowsMayBeShort() throws IOException {
+        PackedGrid grid = read(PatternFormat.PLAINTEXT, "!Name: Glider\n!\n.O\n..O\nOOO\n\n");
+
+        assertEquals(3, grid.getWidth());
+        assertEquals(3, grid.getHeight());
+        assertEquals(read(PatternFormat.RLE, GLIDER_RLE), grid);
+        assertInvalid(PatternFormat.PLAINTEXT, ".O\nxO\n");
+        assertInvalid(PatternFormat.PLAINTEXT, "!Only comments\n");
+    }
+
+    @Test
+    void testLife106SpansTheBoundingBox() throws IOException {
+        PackedGrid grid = read(PatternFormat.LIFE_106, "#Life 1.06\n#D Glider\n0 -1\n1 0\n-1 1\n0 1\n1 1\n");
+
+        assertEquals(read(PatternFormat.RLE, GLIDER_RLE), grid);
+        assertInvalid(PatternFormat.LIFE_106, "0 -1\n1 0\n");
+        assertInvalid(PatternFormat.LIFE_106, "#Life 1.06\n0\n");
+        assertInvalid(PatternFormat.LIFE_106, "#Life 1.06\n");
+    }
+
+    @Test
+    void testPatternsLargerThanTheLimitAreRejected() throws IOException {
+        assertEquals(read(PatternFormat.RLE, GLIDER_RLE), PatternFormat.RLE.codec().read(new StringReader(GLIDER_RLE), 9));
+        assertThrows(InvalidPatternException.class,
+                () -> PatternFormat.RLE.codec().read(new StringReader("x = 100000, y = 100000\n!"), 1 << 20));
+        assertThrows(InvalidPatternException.class,
+                () -> PatternFormat.RLE.codec().read(new StringReader(GLIDER_RLE), 8));
+        assertThrows(InvalidPatternException.class,
+                () -> PatternFormat.LIFE_106.codec().read(new StringReader("#Life 1.06\n0 0\n999 999\n"), 1000));
+        assertThrows(InvalidPatternException.class,
+                () -> PatternFormat.PLAINTEXT.codec().read(new StringReader("OOOO\nO\nO\n"), 8));
+    }
+
+    @Test
+    void testFormatsAreFoundByNameOrExtension() {
+        assertEquals(PatternFormat.RLE, PatternFormat.fromName("RLE"));
+        assertEquals(PatternFormat.PLAINTEXT, PatternFormat.fromName("cells"));
+        assertEquals(PatternFormat.LIFE_106, PatternFormat.fromName("life_106"));
+        assertEquals(PatternFormat.LIFE_106, PatternFormat.fromName("lif"));
+        assertThrows(InvalidPatternException.class, () -> PatternFormat.fromName("mcell"));
+    }
+
+    private static String write(PatternFormat format, PackedGrid grid) throws IOException {
+        StringWriter out = new StringWriter();
+        format.codec().write(grid.getWidth(), grid.getHeight(), RowSource.of(grid), out);
+        return out.toString();
+    }
+
+    private static PackedGrid read(PatternFormat format, String text) throws IOException {
+        return format.codec().read(new StringReader(text));
+    }
+
+    private static void assertInvalid(PatternFormat format, String text) {
+        assertThrows(InvalidPatternException.class, () -> read(format, text), text);
+    }
+
+    private static int countRow(PackedGrid grid, int row) {
+        int count = 0;
+        for (int col = 0; col < grid.getWidth(); col++) {
+            count += grid.get(row, col) ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,116 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.MappedGrid;
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the GameService test cases against the bit-packed engine.
+ */
+class BitPackedGameServiceTest extends GameServiceTest {
+
+    @Override
+    protected GameService createGameService() {
+        return new BitPackedGameServiceImpl();
+    }
+
+    @Test
+    void testStepReportsChanges() {
+        BitPackedGameServiceImpl engine = new BitPackedGameServiceImpl();
+
+        // A block is a still life
+        PackedGrid block = new PackedGrid(70, 4);
+        block.set(1, 63, true);
+        block.set(1, 64, true);
+        block.set(2, 63, true);
+        block.set(2, 64, true);
+
+        PackedGrid next = new PackedGrid(70, 4);
+        assertFalse(engine.step(block, next));
+        assertEquals(block, next);
+
+        // A blinker across a word boundary changes every generation
+        PackedGrid blinker = new PackedGrid(70, 5);
+        blinker.set(2, 63, true);
+        blinker.set(2, 64, true);
+        blinker.set(2, 65, true);
+
+        next = new PackedGrid(70, 5);
+        assertTrue(engine.step(blinker, next));
+        assertTrue(next.get(1, 64));
+        assertTrue(next.get(2, 64));
+        assertTrue(next.get(3, 64));
+        assertEquals(3, next.population());
+    }
+
+    @Test
+    void testPackedSimulationMatchesReference() {
+        boolean[][] grid = new boolean[40][130];
+        Random random = new Random(11);
+        for (boolean[] row : grid) {
+            for (int col = 0; col < row.length; col++) {
+                row[col] = random.nextBoolean();
+            }
+        }
+
+        Simulation packed = new BitPackedGameServiceImpl().startSimulation(PackedGrid.fromGrid(grid));
+        Simulation reference = new GameServiceImpl().startSimulation(grid);
+        for (int generation = 0; generation < 20; generation++) {
+            assertEquals(reference.step(), packed.step());
+            assertTrue(packed.getPackedState().matches(reference.getState()));
+        }
+        assertEquals(20, packed.getStepCount());
+    }
+
+    @Test
+    void testBooleanBoardIsSteppedPacked() {
+        boolean[][] glider = new boolean[8][8];
+        glider[0][1] = glider[1][2] = glider[2][0] = glider[2][1] = glider[2][2] = true;
+
+        Simulation packed = new BitPackedGameServiceImpl().startSimulation(glider);
+        Simulation reference = new GameServiceImpl().startSimulation(glider);
+        assertTrue(packed instanceof PackedSimulation);
+        for (int generation = 0; generation < 8; generation++) {
+            assertEquals(reference.step(), packed.step());
+            assertTrue(packed.getPackedState().matches(reference.getState()));
+        }
+    }
+
+    @Test
+    void testStreamingStepMatchesPackedStep(@TempDir Path directory) {
+        BitPackedGameServiceImpl engine = new BitPackedGameServiceImpl();
+        SegmentStore segmentStore = new SegmentStore(directory.toString(), 1, 1 << 20);
+        Random random = new Random(5);
+
+        // Short boards have no row above or below some rows
+        for (int height : new int[]{1, 2, 3, 40}) {
+            PackedGrid packed = new PackedGrid(130, height);
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < 130; col++) {
+                    packed.set(row, col, random.nextBoolean());
+                }
+            }
+            MappedGrid current = segmentStore.scratch(130, height);
+            MappedGrid next = segmentStore.scratch(130, height);
+            current.copyFrom(packed);
+            PackedGrid packedNext = new PackedGrid(130, height);
+
+            for (int generation = 0; generation < 10; generation++) {
+                assertEquals(engine.step(packed, packedNext), engine.step(current, next));
+                assertEquals(packedNext, next.toPackedGrid());
+                PackedGrid packedTemp = packed;
+                packed = packedNext;
+                packedNext = packedTemp;
+                MappedGrid temp = current;
+                current = next;
+                next = temp;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the weight-bounded BoardCache.
+ */
+class BoardCacheTest {
+
+    @Test
+    void testHitsAndMisses() {
+        BoardCache cache = new BoardCache(1 << 20);
+        cache.put(board(1L, 8));
+
+        Board cached = cache.get(1L).orElseThrow(AssertionError::new);
+        assertEquals(1L, cached.getId());
+        assertTrue(cached.getGrid()[0][0]);
+        assertFalse(cache.get(2L).isPresent());
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getEntries());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRatio());
+    }
+
+    @Test
+    void testReturnsCopies() {
+        BoardCache cache = new BoardCache(1 << 20);
+        Board board = board(1L, 8);
+        cache.put(board);
+
+        board.setGeneration(42);
+        cache.get(1L).orElseThrow(AssertionError::new).setGeneration(43);
+        assertEquals(0, cache.get(1L).orElseThrow(AssertionError::new).getGeneration());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedByWeight() {
+        // Room for three 64x64 boards (512 bytes of state each)
+        long entryWeight = BoardCache.weightOf(board(0L, 64));
+        BoardCache cache = new BoardCache(3 * entryWeight);
+        cache.put(board(1L, 64));
+        cache.put(board(2L, 64));
+        cache.put(board(3L, 64));
+
+        // Touching board 1 makes board 2 the least recently used
+        assertTrue(cache.get(1L).isPresent());
+        cache.put(board(4L, 64));
+
+        assertFalse(cache.get(2L).isPresent());
+        assertTrue(cache.get(1L).isPresent());
+        assertTrue(cache.get(3L).isPresent());
+        assertTrue(cache.get(4L).isPresent());
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(3 * entryWeight, cache.getStats().getWeight());
+
+        // A large board displaces several small ones
+        cache.put(board(5L, 80));
+        assertEquals(2, cache.getStats().getEntries());
+        assertTrue(cache.getStats().getWeight() <= 3 * entryWeight);
+    }
+
+    @Test
+    void testOversizedAndUnresolvedBoardsAreNotCached() {
+        BoardCache cache = new BoardCache(1000);
+        cache.put(board(1L, 128));
+
+        Board unresolved = new Board();
+        unresolved.setId(2L);
+        cache.put(unresolved);
+
+        assertEquals(0, cache.getStats().getEntries());
+        assertFalse(cache.get(1L).isPresent());
+    }
+
+    @Test
+    void testZeroBudgetDisablesCache() {
+        BoardCache cache = new BoardCache(0);
+        cache.put(board(1L, 1));
+
+        assertFalse(cache.get(1L).isPresent());
+    }
+
+    private static Board board(Long id, int size) {
+        boolean[][] grid = new boolean[size][size];
+        grid[0][0] = true;
+        Board board = new Board();
+        board.setId(id);
+        board.setGrid(grid);
+        return board;
+    }
+}
@@ -2,23 +2,50 @@ package com.gameoflife.service;
 
 import com.gameoflife.exception.BoardNotFoundException;
 import com.gameoflife.exception.BoardProcessingException;
+import com.gameoflife.exception.UnknownEngineException;
 import com.gameoflife.model.Board;
+import com.gameoflife.model.BoardAnalysis;
+import com.gameoflife.model.Checkpoint;
+import com.gameoflife.model.PackedGrid;
 import com.gameoflife.model.dto.BoardRequest;
 import com.gameoflife.model.dto.BoardResponse;
+import com.gameoflife.model.pattern.PatternFormat;
+import com.gameoflife.repository.BoardAnalysisRepository;
 import com.gameoflife.repository.BoardRepository;
+import com.gameoflife.repository.CheckpointRepository;
+import com.gameoflife.repository.StateBlobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,13 +59,48 @@ class BoardServiceTest {
     @Mock
     private GameService gameService;
 
-    @InjectMocks
+    @Mock
+    private BoardAnalysisRepository boardAnalysisRepository;
+
+    @Mock
+    private CheckpointRepository checkpointRepository;
+
+    @Mock
+    private StateBlobRepository stateBlobRepository;
+
+    /**
+     * Disabled unless a test enables it.
+     */
+    private int checkpointInterval = 0;
+
     private BoardServiceImpl boardService;
 
+    /**
+     * Disabled unless a test enables it, so every request reaches the mocked engine.
+     */
+    private TransitionCache transitionCache = new TransitionCache(0);
+
+    /**
+     * Disabled unless a test enables it.
+     */
+    private SegmentStore segmentStore = new SegmentStore("segments", 0, 0);
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ReflectionTestUtils.setField(boardService, "maxIterations", 100);
+
+        // Every blob counts as stored; saved boards keep their state in memory
+        when(stateBlobRepository.existsById(anyString())).thenReturn(true);
+
+        // The mocked engine is the only registered engine unless a test adds more
+        when(gameService.getEngineName()).thenReturn("mock");
+        when(gameService.supports(any(EngineWorkload.class))).thenReturn(true);
+        createBoardService(gameService);
+
+        // Simulations run on the mocked engine
+        when(gameService.startSimulation(any(PackedGrid.class)))
+                .thenAnswer(invocation -> new BufferedSimulation(
+                        gameService, invocation.<PackedGrid>getArgument(0).toGrid()));
     }
 
     @Test
@@ -158,7 +220,7 @@ class BoardServiceTest {
         nextBoard.setFinalState(false);
 
         when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
-        when(gameService.computeNextGeneration(any(boolean[][].class))).thenReturn(nextState);
+        stubGenerations(nextState);
         when(boardRepository.save(any(Board.class))).thenReturn(nextBoard);
 
         // Call the service method
@@ -172,7 +234,7 @@ class BoardServiceTest {
 
         // Verify service interactions
         verify(boardRepository, times(1)).findById(1L);
-        verify(gameService, times(1)).computeNextGeneration(any(boolean[][].class));
+        verify(gameService, times(1)).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
         verify(boardRepository, times(1)).save(any(Board.class));
     }
 
@@ -204,7 +266,7 @@ class BoardServiceTest {
         assertTrue(response.isFinalState());
 
         // Verify that we didn't attempt to compute the next state
-        verify(gameService, never()).computeNextGeneration(any(boolean[][].class));
+        verify(gameService, never()).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
         verify(boardRepository, never()).save(any(Board.class));
     }
 
@@ -249,10 +311,8 @@ class BoardServiceTest {
 
         when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
 
-        // Use any() matcher instead of specific arrays
-        when(gameService.computeNextGeneration(any(boolean[][].class)))
-                .thenReturn(nextState)  // First call returns nextState
-                .thenReturn(finalState); // Second call returns finalState
+        // First call produces nextState, second call produces finalState
+        stubGenerations(nextState, finalState);
 
         when(boardRepository.save(any(Board.class))).thenReturn(resultBoard);
 
@@ -267,10 +327,48 @@ class BoardServiceTest {
 
         // Verify service interactions
         verify(boardRepository, times(1)).findById(1L);
-        verify(gameService, times(2)).computeNextGeneration(any(boolean[][].class));
+        verify(gameService, times(2)).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
         verify(boardRepository, times(1)).save(any(Board.class));
     }
 
+    @Test
+    void testGetStateAfterIterationsReusesTwoBuffers() {
+        boolean[][] initialState = {
+                {false, true, false},
+                {false, true, false},
+                {false, true, false}
+        };
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(0);
+        board.setFinalState(false);
+
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Record every buffer the service hands to the engine
+        Set<boolean[][]> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+        GameService engine = new GameServiceImpl();
+        when(gameService.computeNextGeneration(any(boolean[][].class), any(boolean[][].class))).thenAnswer(invocation -> {
+            boolean[][] current = invocation.getArgument(0);
+            boolean[][] next = invocation.getArgument(1);
+            buffers.add(current);
+            buffers.add(next);
+            return engine.computeNextGeneration(current, next);
+        });
+
+        BoardResponse response = boardService.getStateAfterIterations(1L, 9);
+
+        // A blinker is horizontal after an odd number of generations
+        assertEquals(9, response.getGeneration());
+        assertTrue(response.getState()[1][0]);
+        assertTrue(response.getState()[1][1]);
+        assertTrue(response.getState()[1][2]);
+        assertEquals(2, buffers.size());
+    }
+
     @Test
     void testGetFinalStateWithStablePattern() {
         // Prepare a board that will reach a stable state
@@ -310,10 +408,8 @@ class BoardServiceTest {
 
         when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
 
-        // Use any() matcher with consecutive returns
-        when(gameService.computeNextGeneration(any(boolean[][].class)))
-                .thenReturn(oscillator1)  // First call returns oscillator1
-                .thenReturn(oscillator2); // Second call returns oscillator2
+        // First call produces oscillator1, second call produces oscillator2
+        stubGenerations(oscillator1, oscillator2);
 
         when(boardRepository.save(any(Board.class))).thenReturn(resultBoard);
 
@@ -328,10 +424,203 @@ class BoardServiceTest {
 
         // Verify service interactions
         verify(boardRepository, times(1)).findById(1L);
-        verify(gameService, atLeast(2)).computeNextGeneration(any(boolean[][].class));
+        verify(gameService, atLeast(2)).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
         verify(boardRepository, times(1)).save(any(Board.class));
     }
 
+    @Test
+    void testGetFinalStateReportsPeriodOfOscillator() {
+        // A blinker next to a block: period 2, no transient
+        boolean[][] initialState = new boolean[6][8];
+        initialState[1][1] = true;
+        initialState[1][2] = true;
+        initialState[1][3] = true;
+        initialState[4][5] = true;
+        initialState[4][6] = true;
+        initialState[5][5] = true;
+        initialState[5][6] = true;
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(3);
+        board.setFinalState(false);
+
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        useEngine(new GameServiceImpl());
+
+        BoardResponse response = boardService.getFinalState(1L);
+
+        // Same generation as stepping until the first repeated state
+        assertEquals(5, response.getGeneration());
+        assertTrue(response.isFinalState());
+        assertEquals(2, response.getPeriod());
+        assertEquals(0, response.getTransientLength());
+        assertTrue(Arrays.deepEquals(initialState, response.getState()));
+    }
+
+    @Test
+    void testStartLiveSimulationDoesNotSaveGenerations() {
+        boolean[][] initialState = new boolean[5][5];
+        initialState[2][1] = true;
+        initialState[2][2] = true;
+        initialState[2][3] = true;
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(3);
+        board.setFinalState(false);
+
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        useEngine(new GameServiceImpl());
+        ReflectionTestUtils.setField(boardService, "maxStreamGenerations", 100);
+
+        LiveSimulation simulation = boardService.startLiveSimulation(1L, null);
+        assertEquals(1L, simulation.getBoardId());
+        assertEquals(3, simulation.getGeneration());
+        while (simulation.step()) {
+            assertEquals(simulation.getGeneration() % 2 == 1, simulation.getState().matches(initialState));
+        }
+
+        assertTrue(simulation.isFinalState());
+        assertEquals(2, simulation.getPeriod());
+        verify(boardRepository, never()).save(any(Board.class));
+    }
+
+    @Test
+    void testGetFinalStateFindsTransientBeforeCycle() {
+        // A glider on an open board runs into the corner and becomes a block
+        boolean[][] initialState = new boolean[12][12];
+        initialState[0][1] = true;
+        initialState[1][2] = true;
+        initialState[2][0] = true;
+        initialState[2][1] = true;
+        initialState[2][2] = true;
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(0);
+        board.setFinalState(false);
+
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        GameService engine = new GameServiceImpl();
+        useEngine(engine);
+
+        BoardResponse response = boardService.getFinalState(1L);
+
+        // Compare with stepping until the state stops changing
+        boolean[][] state = initialState;
+        int generation = 0;
+        boolean[][] next = engine.computeNextGeneration(state);
+        generation++;
+        while (!Arrays.deepEquals(state, next)) {
+            state = next;
+            next = engine.computeNextGeneration(state);
+            generation++;
+        }
+
+        assertEquals(generation, response.getGeneration());
+        assertEquals(1, response.getPeriod());
+        assertEquals(generation - 1, response.getTransientLength());
+        assertTrue(Arrays.deepEquals(state, response.getState()));
+        assertEquals(4, response.getLiveCellCount());
+    }
+
+    @Test
+    void testGetFinalStateThrowsWhenCycleIsBeyondMaxIterations() {
+        // The glider needs far more than 10 generations to settle
+        boolean[][] initialState = new boolean[40][40];
+        initialState[0][1] = true;
+        initialState[1][2] = true;
+        initialState[2][0] = true;
+        initialState[2][1] = true;
+        initialState[2][2] = true;
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(0);
+        board.setFinalState(false);
+
+        ReflectionTestUtils.setField(boardService, "maxIterations", 10);
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        useEngine(new GameServiceImpl());
+
+        Exception exception = assertThrows(BoardProcessingException.class, () -> boardService.getFinalState(1L));
+
+        assertTrue(exception.getMessage().contains("Could not determine final state"));
+        verify(boardRepository, never()).save(any(Board.class));
+    }
+
+    @Test
+    void testGetStateAfterIterationsWithHashLife() {
+        // A blinker next to a block: the blinker keeps oscillating for every jump size
+        boolean[][] initialState = new boolean[6][8];
+        initialState[1][1] = true;
+        initialState[1][2] = true;
+        initialState[1][3] = true;
+        initialState[4][5] = true;
+        initialState[4][6] = true;
+        initialState[5][5] = true;
+        initialState[5][6] = true;
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(10);
+        board.setFinalState(false);
+
+        // Stepping on the mocked engine is more expensive than a HashLife jump
+        createBoardService(gameService, new HashLifeGameServiceImpl(10_000));
+        when(gameService.estimateCost(any(EngineWorkload.class))).thenReturn(Double.MAX_VALUE);
+
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BoardResponse response = boardService.getStateAfterIterations(1L, 5001);
+
+        // Odd number of generations: the blinker is vertical
+        assertEquals(5011, response.getGeneration());
+        assertFalse(response.isFinalState());
+        assertTrue(response.getState()[0][2]);
+        assertTrue(response.getState()[1][2]);
+        assertTrue(response.getState()[2][2]);
+        assertEquals(7, response.getLiveCellCount());
+        assertEquals("hashlife", response.getEngine());
+        verify(gameService, never()).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
+    }
+
+    @Test
+    void testGetStateAfterIterationsWithHashLifeStopsAtStableGeneration() {
+        // Three cells in an L become a block after one generation
+        boolean[][] initialState = new boolean[4][4];
+        initialState[1][1] = true;
+        initialState[1][2] = true;
+        initialState[2][1] = true;
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(0);
+        board.setFinalState(false);
+
+        createBoardService(gameService, new HashLifeGameServiceImpl(10_000));
+
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BoardResponse response = boardService.getStateAfterIterations(1L, 100_000, "hashlife");
+
+        // Same result as the step-by-step loop: stable is detected when generation 2 equals generation 1
+        assertEquals(2, response.getGeneration());
+        assertTrue(response.isFinalState());
+        assertEquals(4, response.getLiveCellCount());
+    }
+
     void testGetFinalStateMaxIterationsExceeded() {
         // Prepare test data for a board that never reaches a final state
         boolean[][] state1 = new boolean[3][3];
@@ -352,12 +641,15 @@ class BoardServiceTest {
 
         // Create a more reliable pattern that never reaches a final state
         AtomicInteger counter = new AtomicInteger(0);
-        when(gameService.computeNextGeneration(any(boolean[][].class))).thenAnswer(invocation -> {
-            boolean[][] output = new boolean[3][3];
+        when(gameService.computeNextGeneration(any(boolean[][].class), any(boolean[][].class))).thenAnswer(invocation -> {
+            boolean[][] output = invocation.getArgument(1);
+            for (boolean[] row : output) {
+                Arrays.fill(row, false);
+            }
             // Cycle through different positions for a live cell
             int count = counter.getAndIncrement() % 9;
             output[count / 3][count % 3] = true;
-            return output;
+            return true;
         });
 
         // Should throw BoardProcessingException after maxIterations
@@ -370,7 +662,7 @@ class BoardServiceTest {
 
         // Verify service interactions
         verify(boardRepository, times(1)).findById(1L);
-        verify(gameService, times(100)).computeNextGeneration(any(boolean[][].class));
+        verify(gameService, times(100)).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
     }
 
     @Test
@@ -418,4 +710,453 @@ class BoardServiceTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetNextStateWithRequestedEngine() {
+        boolean[][] initialState = {
+                {false, true, false},
+                {false, true, false},
+                {false, true, false}
+        };
+
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(0);
+        board.setFinalState(false);
+
+        createBoardService(gameService, new BitPackedGameServiceImpl());
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BoardResponse response = boardService.getNextState(1L, "bit-packed");
+
+        assertEquals("bit-packed", response.getEngine());
+        assertEquals(1, response.getGeneration());
+        assertTrue(response.getState()[1][0]);
+        assertTrue(response.getState()[1][2]);
+        verify(gameService, never()).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
+    }
+
+    @Test
+    void testGetNextStateWithUnknownEngine() {
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(new boolean[3][3]);
+        board.setFinalState(false);
+
+        when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
+
+        assertThrows(UnknownEngineException.class, () -> boardService.getNextState(1L, "no-such-engine"));
+        verify(boardRepository, never()).save(any(Board.class));
+    }
+
+    @Test
+    void testIdenticalBoardsShareTransitions() {
+        transitionCache = new TransitionCache(1 << 20);
+        createBoardService(gameService);
+        useEngine(new GameServiceImpl());
+
+        boolean[][] blinker = {
+                {false, true, false},
+                {false, true, false},
+                {false, true, false}
+        };
+        for (long id = 1; id <= 2; id++) {
+            Board board = new Board();
+            board.setId(id);
+            board.setGrid(blinker);
+            board.setGeneration((int) id * 10);
+            when(boardRepository.findById(id)).thenReturn(Optional.of(board));
+        }
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BoardResponse first = boardService.getStateAfterIterations(1L, 5);
+        BoardResponse second = boardService.getStateAfterIterations(2L, 5);
+        verify(gameService, times(5)).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
+
+        // Same content, same result, at each board's own generation
+        assertTrue(Arrays.deepEquals(first.getState(), second.getState()));
+        assertEquals(15, first.getGeneration());
+        assertEquals(25, second.getGeneration());
+        assertEquals("mock", second.getEngine());
+
+        // A different number of generations is a different transition
+        boardService.getNextState(2L);
+        verify(gameService, times(6)).computeNextGeneration(any(boolean[][].class), any(boolean[][].class));
+
+        BoardResponse firstFinal = boardService.getFinalState(1L);
+        long generations = computedGenerations();
+        BoardResponse secondFinal = boardService.getFinalState(2L);
+        assertEquals(generations, computedGenerations());
+        assertEquals(2, secondFinal.getPeriod());
+        assertEquals(firstFinal.getTransientLength(), secondFinal.getTransientLength());
+        assertEquals(22, secondFinal.getGeneration());
+
+        CacheStats stats = transitionCache.getStats();
+        assertEquals(3, stats.getEntries());
+        assertEquals(2, stats.getHits());
+        assertEquals(3, stats.getMisses());
+    }
+
+    @Test
+    void testCachedTransitionNamesTheEngineOfTheRequest() {
+        transitionCache = new TransitionCache(1 << 20);
+        createBoardService(gameService, new BitPackedGameServiceImpl());
+        useEngine(new GameServiceImpl());
+
+        boolean[][] blinker = {
+                {false, true, false},
+                {false, true, false},
+                {false, true, false}
+        };
+        for (long id = 1; id <= 2; id++) {
+            Board board = new Board();
+            board.setId(id);
+            board.setGrid(blinker);
+            board.setGeneration(0);
+            when(boardRepository.findById(id)).thenReturn(Optional.of(board));
+        }
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BoardResponse first = boardService.getStateAfterIterations(1L, 5, "mock");
+        BoardResponse second = boardService.getStateAfterIterations(2L, 5, "bit-packed");
+
+        assertEquals("mock", first.getEngine());
+        assertFalse(first.getFromCache());
+        // Answered from the first computation, under the engine this request asked for
+        assertEquals("bit-packed", second.getEngine());
+        assertTrue(second.getFromCache());
+    }
+
+    @Test
+    void testFinalStateAnalysisIsPersistedAndReused() {
+        // A glider on an open board runs into the corner and becomes a block
+        boolean[][] initialState = new boolean[12][12];
+        initialState[0][1] = true;
+        initialState[1][2] = true;
+        initialState[2][0] = true;
+        initialState[2][1] = true;
+        initialState[2][2] = true;
+        storeBoards(initialState, 0);
+        useEngine(new GameServiceImpl());
+
+        BoardResponse first = boardService.getFinalState(1L);
+
+        ArgumentCaptor<BoardAnalysis> captor = ArgumentCaptor.forClass(BoardAnalysis.class);
+        verify(boardAnalysisRepository).save(captor.capture());
+        BoardAnalysis analysis = captor.getValue();
+        assertEquals(1L, analysis.getBoardId());
+        assertEquals(first.getId(), analysis.getFinalBoardId());
+        assertEquals(1, analysis.getPeriod());
+        int[] populations = analysis.getPopulations();
+        assertEquals(first.getTransientLength() + 1, populations.length);
+        assertEquals(5, populations[0]);
+        assertEquals(4, populations[populations.length - 1]);
+        assertArrayEquals(populations, first.getPopulations());
+
+        // Repeat calls and iterations past the transient come from the analysis
+        when(boardAnalysisRepository.findById(1L)).thenReturn(Optional.of(analysis));
+        long generations = computedGenerations();
+        BoardResponse second = boardService.getFinalState(1L);
+        BoardResponse iterated = boardService.getStateAfterIterations(1L, 1000);
+        assertEquals(generations, computedGenerations());
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(first.getGeneration(), second.getGeneration());
+        assertEquals(first.getTransientLength(), second.getTransientLength());
+        assertArrayEquals(populations, second.getPopulations());
+        // Stepping a stable board stops at its final state
+        assertEquals(first.getId(), iterated.getId());
+        assertTrue(iterated.isFinalState());
+    }
+
+    @Test
+    void testIterationsPastTransientUseModularArithmetic() {
+        boolean[][] blinker = new boolean[5][5];
+        blinker[1][2] = true;
+        blinker[2][2] = true;
+        blinker[3][2] = true;
+        storeBoards(blinker, 3);
+        GameService engine = new GameServiceImpl();
+        useEngine(engine);
+
+        BoardResponse finalState = boardService.getFinalState(1L);
+        ArgumentCaptor<BoardAnalysis> captor = ArgumentCaptor.forClass(BoardAnalysis.class);
+        verify(boardAnalysisRepository).save(captor.capture());
+        when(boardAnalysisRepository.findById(1L)).thenReturn(Optional.of(captor.getValue()));
+        assertEquals(2, finalState.getPeriod());
+
+        // An odd count needs one generation from the final board, an even count none
+        long generations = computedGenerations();
+        BoardResponse odd = boardService.getStateAfterIterations(1L, 1001);
+        assertEquals(generations + 1, computedGenerations());
+        BoardResponse even = boardService.getStateAfterIterations(1L, 1000);
+        assertEquals(generations + 1, computedGenerations());
+
+        assertEquals(1004, odd.getGeneration());
+        assertFalse(odd.isFinalState());
+        assertTrue(Arrays.deepEquals(engine.computeNextGeneration(blinker), odd.getState()));
+        assertEquals(finalState.getId(), odd.getParentId());
+        assertEquals(1003, even.getGeneration());
+        assertTrue(Arrays.deepEquals(blinker, even.getState()));
+    }
+
+    @Test
+    void testSegmentBoardsAreSteppedOnMappedPages(@TempDir Path directory) throws IOException {
+        segmentStore = new SegmentStore(directory.toString(), 32 * 32, 1 << 20);
+        createBoardService(gameService, new BitPackedGameServiceImpl());
+        Map<Long, Board> rows = new HashMap<>();
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> {
+            Board saved = invocation.getArgument(0);
+            saved.setId(rows.size() + 1L);
+            rows.put(saved.getId(), saved);
+            return saved;
+        });
+        when(boardRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+
+        // A glider keeps moving for all 20 generations
+        boolean[][] glider = new boolean[40][70];
+        glider[0][1] = true;
+        glider[1][2] = true;
+        glider[2][0] = true;
+        glider[2][1] = true;
+        glider[2][2] = true;
+        GameService reference = new GameServiceImpl();
+        boolean[][] expected = glider;
+        for (int i = 0; i < 20; i++) {
+            expected = reference.computeNextGeneration(expected);
+        }
+
+        BoardResponse created = boardService.createBoard(new BoardRequest(glider, "Large glider"));
+        assertNull(created.getState());
+        assertEquals(5, created.getLiveCellCount());
+        assertTrue(rows.get(created.getId()).isMapped());
+
+        BoardResponse next = boardService.getNextState(created.getId());
+        BoardResponse iterated = boardService.getStateAfterIterations(next.getId(), 19);
+        assertEquals("bit-packed", iterated.getEngine());
+        assertEquals(20, iterated.getGeneration());
+        assertTrue(Arrays.deepEquals(expected, rows.get(iterated.getId()).getGrid()));
+        assertEquals(0, computedGenerations());
+
+        boolean[][] block = new boolean[32][32];
+        block[10][10] = true;
+        block[10][11] = true;
+        block[11][10] = true;
+        block[11][11] = true;
+        BoardResponse stable = boardService.getStateAfterIterations(
+                boardService.createBoard(new BoardRequest(block, "Large block")).getId(), 10);
+        assertTrue(stable.isFinalState());
+        assertEquals(1, stable.getGeneration());
+        assertTrue(Arrays.deepEquals(block, rows.get(stable.getId()).getGrid()));
+
+        // Exported straight from the mapped pages
+        StringWriter pattern = new StringWriter();
+        boardService.getPatternSource(iterated.getId()).write(PatternFormat.RLE, pattern);
+        assertTrue(PatternFormat.RLE.codec().read(new StringReader(pattern.toString())).matches(expected));
+        segmentStore.close();
+    }
+
+    @Test
+    void testIterationsResumeFromLatestCheckpoint() {
+        checkpointInterval = 4;
+        createBoardService(gameService);
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        when(checkpointRepository.saveAndFlush(any(Checkpoint.class))).thenAnswer(invocation -> {
+            checkpoints.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(checkpointRepository.findFirstByRootIdAndGenerationBetweenOrderByGenerationDesc(anyLong(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> checkpoints.stream()
+                        .filter(checkpoint -> checkpoint.getRootId().equals(invocation.getArgument(0))
+                                && checkpoint.getGeneration() >= invocation.<Integer>getArgument(1)
+                                && checkpoint.getGeneration() <= invocation.<Integer>getArgument(2))
+                        .max(Comparator.comparingInt(Checkpoint::getGeneration)));
+
+        // A glider on a large board keeps moving for all of these generations
+        boolean[][] initialState = new boolean[40][40];
+        initialState[0][1] = true;
+        initialState[1][2] = true;
+        initialState[2][0] = true;
+        initialState[2][1] = true;
+        initialState[2][2] = true;
+        storeBoards(initialState, 0);
+        GameService engine = new GameServiceImpl();
+        useEngine(engine);
+
+        BoardResponse first = boardService.getStateAfterIterations(1L, 10);
+        assertEquals(10, computedGenerations());
+        assertEquals(Arrays.asList(4, 8), checkpoints.stream().map(Checkpoint::getGeneration).collect(Collectors.toList()));
+        assertTrue(checkpoints.stream().allMatch(checkpoint -> checkpoint.getRootId() == 1L));
+
+        // Generation 11 resumes from the checkpoint at 8
+        BoardResponse second = boardService.getStateAfterIterations(1L, 11);
+        assertEquals(13, computedGenerations());
+        assertEquals(11, second.getGeneration());
+        assertTrue(Arrays.deepEquals(engine.computeNextGeneration(first.getState()), second.getState()));
+
+        // A board of the same lineage shares its checkpoints; generation 8 needs no computation
+        BoardResponse child = boardService.getStateAfterIterations(first.getId(), 2);
+        assertEquals(15, computedGenerations());
+        assertEquals(Arrays.asList(4, 8, 12), checkpoints.stream().map(Checkpoint::getGeneration).collect(Collectors.toList()));
+        BoardResponse eighth = boardService.getStateAfterIterations(1L, 8);
+        assertEquals(15, computedGenerations());
+        assertEquals(8, eighth.getGeneration());
+        assertFalse(eighth.isFinalState());
+        assertEquals(12, child.getGeneration());
+    }
+
+    @Test
+    void testIterationsInTheCycleResumeFromCycleCheckpoints() {
+        checkpointInterval = 4;
+        createBoardService(gameService);
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        when(checkpointRepository.saveAndFlush(any(Checkpoint.class))).thenAnswer(invocation -> {
+            checkpoints.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(checkpointRepository.findFirstByRootIdAndGenerationBetweenOrderByGenerationDesc(anyLong(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> checkpoints.stream()
+                        .filter(checkpoint -> checkpoint.getGeneration() >= invocation.<Integer>getArgument(1)
+                                && checkpoint.getGeneration() <= invocation.<Integer>getArgument(2))
+                        .max(Comparator.comparingInt(Checkpoint::getGeneration)));
+
+        // A row of ten cells becomes a pentadecathlon, which has a period of 15
+        boolean[][] initialState = new boolean[20][20];
+        for (int col = 5; col < 15; col++) {
+            initialState[10][col] = true;
+        }
+        storeBoards(initialState, 0);
+        GameService engine = new GameServiceImpl();
+        useEngine(engine);
+
+        BoardResponse finalState = boardService.getFinalState(1L);
+        assertEquals(15, finalState.getPeriod());
+        ArgumentCaptor<BoardAnalysis> captor = ArgumentCaptor.forClass(BoardAnalysis.class);
+        verify(boardAnalysisRepository).save(captor.capture());
+        when(boardAnalysisRepository.findById(1L)).thenReturn(Optional.of(captor.getValue()));
+
+        // Any generation of the cycle is at most three generations past a checkpoint
+        boolean[][] expected = initialState;
+        for (int iterations = 1; iterations <= 1000; iterations++) {
+            expected = engine.computeNextGeneration(expected);
+            // 97 and the period are coprime, so these requests land all around the cycle
+            if (iterations > finalState.getGeneration() && iterations % 97 == 0) {
+                long generations = computedGenerations();
+                BoardResponse iterated = boardService.getStateAfterIterations(1L, iterations);
+                assertTrue(computedGenerations() - generations < 4);
+                assertTrue(Arrays.deepEquals(expected, iterated.getState()), "Generation " + iterations);
+            }
+        }
+    }
+
+    @Test
+    void testCheckpointIntervalIsInheritedFromRoot() {
+        checkpointInterval = 4;
+        createBoardService(gameService);
+
+        boolean[][] initialState = new boolean[40][40];
+        initialState[0][1] = true;
+        initialState[1][2] = true;
+        initialState[2][0] = true;
+        initialState[2][1] = true;
+        initialState[2][2] = true;
+        storeBoards(initialState, 0);
+        useEngine(new GameServiceImpl());
+
+        // The root board opts out of checkpoints
+        boardRepository.findById(1L).orElseThrow(AssertionError::new).setCheckpointInterval(0);
+        BoardResponse response = boardService.getStateAfterIterations(1L, 10);
+        boardService.getStateAfterIterations(response.getId(), 10);
+
+        verify(checkpointRepository, never()).saveAndFlush(any(Checkpoint.class));
+    }
+
+    @Test
+    void testCheckpointSavedByAnotherRequestIsIgnored() {
+        checkpointInterval = 4;
+        createBoardService(gameService);
+        // Another request simulating the lineage inserted the same generations first
+        when(checkpointRepository.saveAndFlush(any(Checkpoint.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation"));
+
+        boolean[][] initialState = new boolean[40][40];
+        initialState[0][1] = true;
+        initialState[1][2] = true;
+        initialState[2][0] = true;
+        initialState[2][1] = true;
+        initialState[2][2] = true;
+        storeBoards(initialState, 0);
+        useEngine(new GameServiceImpl());
+
+        BoardResponse response = boardService.getStateAfterIterations(1L, 10);
+
+        assertEquals(10, response.getGeneration());
+        verify(checkpointRepository, times(2)).saveAndFlush(any(Checkpoint.class));
+    }
+
+    /**
+     * Stores a board with id 1 and lets saved boards be found again under new ids.
+     */
+    private void storeBoards(boolean[][] initialState, int generation) {
+        Map<Long, Board> rows = new HashMap<>();
+        Board board = new Board();
+        board.setId(1L);
+        board.setGrid(initialState);
+        board.setGeneration(generation);
+        rows.put(1L, board);
+
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> {
+            Board saved = invocation.getArgument(0);
+            saved.setId(rows.size() + 1L);
+            rows.put(saved.getId(), saved);
+            return saved;
+        });
+        when(boardRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+    }
+
+    private long computedGenerations() {
+        return mockingDetails(gameService).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("computeNextGeneration"))
+                .count();
+    }
+
+    private void createBoardService(GameService... engines) {
+        BoardStateStore boardStateStore = new BoardStateStore(boardRepository, new BoardCache(1 << 20),
+                new StateBlobStore(stateBlobRepository), segmentStore, new BoardWriter(boardRepository), 16);
+        boardService = new BoardServiceImpl(boardStateStore,
+                new GameEngineRegistry(Arrays.asList(engines), GameEngineRegistry.AUTO), transitionCache,
+                boardAnalysisRepository, new CheckpointStore(checkpointRepository, checkpointInterval), segmentStore);
+        ReflectionTestUtils.setField(boardService, "maxIterations", 100);
+    }
+
+    /**
+     * Runs the mocked engine on a real implementation.
+     */
+    private void useEngine(GameService engine) {
+        when(gameService.computeNextGeneration(any(boolean[][].class), any(boolean[][].class)))
+                .thenAnswer(invocation -> engine.computeNextGeneration(
+                        (boolean[][]) invocation.getArgument(0), (boolean[][]) invocation.getArgument(1)));
+    }
+
+    /**
+     * Stubs the buffer-reusing computeNextGeneration so that successive calls
+     * write the given states into the output buffer (repeating the last one)
+     * and report whether the written state differs from the input.
+     */
+    private void stubGenerations(boolean[][]... states) {
+        AtomicInteger calls = new AtomicInteger();
+        when(gameService.computeNextGeneration(any(boolean[][].class), any(boolean[][].class))).thenAnswer(invocation -> {
+            boolean[][] current = invocation.getArgument(0);
+            boolean[][] next = invocation.getArgument(1);
+            boolean[][] state = states[Math.min(calls.getAndIncrement(), states.length - 1)];
+            for (int row = 0; row < state.length; row++) {
+                System.arraycopy(state[row], 0, next[row], 0, state[row].length);
+            }
+            return !Arrays.deepEquals(current, state);
+        });
+    }
+}
@@ -0,0 +1,278 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.Board;
+import com.gameoflife.model.StateBlob;
+import com.gameoflife.repository.BoardRepository;
+import com.gameoflife.repository.StateBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the delta-encoding BoardStateStore.
+ */
+class BoardStateStoreTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private StateBlobRepository stateBlobRepository;
+
+    private static final SegmentStore NO_SEGMENTS = new SegmentStore("segments", 0, 0);
+
+    private BoardStateStore store;
+
+    private StateBlobStore blobStore;
+
+    /**
+     * Rows as the database would hold them: only persisted fields survive a round trip.
+     */
+    private final Map<Long, Board> rows = new HashMap<>();
+
+    private final Map<String, StateBlob> blobs = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        blobStore = new StateBlobStore(stateBlobRepository);
+        // Without a cache every read decodes the rows
+        store = new BoardStateStore(boardRepository, new BoardCache(0), blobStore, NO_SEGMENTS,
+                new BoardWriter(boardRepository), 4);
+
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> {
+            Board board = invocation.getArgument(0);
+            board.setId((long) rows.size() + 1);
+            rows.put(board.getId(), board);
+            return board;
+        });
+        when(boardRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Board row = rows.get(invocation.<Long>getArgument(0));
+            if (row == null) {
+                return Optional.empty();
+            }
+            Board loaded = new Board();
+            loaded.setId(row.getId());
+            loaded.setWidth(row.getWidth());
+            loaded.setHeight(row.getHeight());
+            loaded.setStoredData(row.getStoredData());
+            loaded.setStateHash(row.getStateHash());
+            loaded.setCodec(row.getCodec());
+            loaded.setParentId(row.getParentId());
+            loaded.setRootId(row.getRootId());
+            loaded.setKeyframeId(row.getKeyframeId());
+            loaded.setKeyframeDistance(row.getKeyframeDistance());
+            loaded.setSegmentId(row.getSegmentId());
+            loaded.setSegmentOffset(row.getSegmentOffset());
+            return Optional.of(loaded);
+        });
+        when(stateBlobRepository.saveAndFlush(any(StateBlob.class))).thenAnswer(invocation -> {
+            StateBlob blob = invocation.getArgument(0);
+            blobs.put(blob.getHash(), blob);
+            return blob;
+        });
+        when(stateBlobRepository.existsById(anyString()))
+                .thenAnswer(invocation -> blobs.containsKey(invocation.<String>getArgument(0)));
+        when(stateBlobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(blobs.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    void testLineageIsStoredAsDeltasBetweenKeyframes() {
+        boolean[][] grid = new boolean[64][64];
+        grid[10][10] = true;
+        Board root = store.save(board(grid, 0));
+
+        Board parent = root;
+        boolean[][][] states = new boolean[10][][];
+        for (int generation = 1; generation < states.length; generation++) {
+            grid = copy(grid);
+            grid[generation][generation * 3] = true;
+            states[generation] = grid;
+            parent = store.save(board(grid, generation), parent);
+
+            assertEquals((long) generation, parent.getParentId());
+            assertEquals(root.getId(), parent.getRootId());
+        }
+
+        // Keyframe interval 4: generations 4 and 8 are stored in full again
+        for (int generation = 1; generation < states.length; generation++) {
+            Board row = rows.get(generation + 1L);
+            assertEquals(generation % 4 == 0, row.isKeyframe());
+            if (!row.isKeyframe()) {
+                assertTrue(blobs.get(row.getStateHash()).getData().length < row.getStateData().length);
+            }
+        }
+
+        // Every generation reads back with its full state
+        for (int generation = 1; generation < states.length; generation++) {
+            Board loaded = store.findById(generation + 1L).orElseThrow(AssertionError::new);
+            assertTrue(Arrays.deepEquals(states[generation], loaded.getGrid()));
+        }
+    }
+
+    @Test
+    void testCachedBoardsAreNotLoadedAgain() {
+        store = new BoardStateStore(boardRepository, new BoardCache(1 << 20), blobStore, NO_SEGMENTS,
+                new BoardWriter(boardRepository), 4);
+        boolean[][] grid = new boolean[16][16];
+        grid[3][4] = true;
+        Board root = store.save(board(grid, 0));
+        Board child = store.save(board(grid, 1), root);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(Arrays.deepEquals(grid, store.findById(child.getId()).orElseThrow(AssertionError::new).getGrid()));
+        }
+        verify(boardRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testBoardsAreCachedWhenTheirTransactionCommits() {
+        store = new BoardStateStore(boardRepository, new BoardCache(1 << 20), blobStore, NO_SEGMENTS,
+                new BoardWriter(boardRepository), 4);
+        boolean[][] grid = new boolean[16][16];
+        grid[3][4] = true;
+
+        Long rolledBack = inTransaction(() -> store.save(board(grid, 0)).getId(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        Long committed = inTransaction(() -> store.save(board(grid, 0)).getId(),
+                TransactionSynchronization.STATUS_COMMITTED);
+        rows.remove(rolledBack);
+
+        assertFalse(store.findById(rolledBack).isPresent());
+        assertTrue(store.findById(committed).isPresent());
+        verify(boardRepository, never()).findById(committed);
+    }
+
+    @Test
+    void testLargeBoardsAreStoredInSegments(@TempDir Path directory) {
+        SegmentStore segmentStore = new SegmentStore(directory.toString(), 64 * 64, 1 << 20);
+        store = new BoardStateStore(boardRepository, new BoardCache(1 << 20), blobStore, segmentStore,
+                new BoardWriter(boardRepository), 4);
+
+        boolean[][] small = new boolean[8][8];
+        small[1][1] = true;
+        boolean[][] large = new boolean[64][100];
+        large[0][0] = true;
+        large[63][99] = true;
+        Board smallBoard = store.save(board(small, 0));
+        Board root = store.save(board(large, 0));
+        Board child = store.save(board(copy(large), 1), root);
+
+        assertFalse(smallBoard.isMapped());
+        for (Board saved : Arrays.asList(root, child)) {
+            Board row = rows.get(saved.getId());
+            assertTrue(row.isMapped());
+            assertTrue(row.isKeyframe());
+            assertNull(row.getStoredData());
+            assertNull(row.getStateHash());
+            assertNull(row.getStateData());
+        }
+        assertEquals(root.getId(), child.getRootId());
+        assertNotEquals(root.getSegmentOffset(), child.getSegmentOffset());
+
+        // Reading a row maps its region again
+        Board loaded = store.findById(child.getId()).orElseThrow(AssertionError::new);
+        assertNotNull(loaded.getMappedState());
+        assertEquals(2, loaded.getMappedState().population());
+        assertTrue(Arrays.deepEquals(large, loaded.getGrid()));
+        segmentStore.close();
+    }
+
+    @Test
+    void testStableBoardsShareTheirParentsBlob() {
+        boolean[][] block = new boolean[16][16];
+        block[4][4] = block[4][5] = block[5][4] = block[5][5] = true;
+        Board parent = store.save(board(block, 0));
+        for (int generation = 1; generation <= 10; generation++) {
+            parent = store.save(board(block, generation), parent);
+        }
+
+        // Past the keyframe interval, too, every generation refers to the root's blob
+        assertEquals(1, blobs.size());
+        StateBlob blob = blobs.get(parent.getStateHash());
+        assertTrue(rows.values().stream().allMatch(row -> blob.getHash().equals(row.getStateHash())));
+        assertTrue(Arrays.deepEquals(block, store.findById(parent.getId()).orElseThrow(AssertionError::new).getGrid()));
+    }
+
+    @Test
+    void testRepeatingPayloadsAreStoredOnce() {
+        boolean[][] horizontal = new boolean[16][16];
+        horizontal[5][4] = horizontal[5][5] = horizontal[5][6] = true;
+        boolean[][] vertical = new boolean[16][16];
+        vertical[4][5] = vertical[5][5] = vertical[6][5] = true;
+
+        Board parent = store.save(board(horizontal, 0));
+        for (int generation = 1; generation <= 100; generation++) {
+            parent = store.save(board(generation % 2 == 0 ? horizontal : vertical, generation), parent);
+        }
+
+        // A blinker with keyframe interval 4 only ever stores the same keyframe,
+        // the delta to the other phase and the empty delta
+        assertEquals(3, blobs.size());
+        assertEquals(101, rows.values().stream().filter(row -> blobs.containsKey(row.getStateHash())).count());
+        for (long id = 95; id <= 101; id++) {
+            boolean[][] expected = (id - 1) % 2 == 0 ? horizontal : vertical;
+            assertTrue(Arrays.deepEquals(expected, store.findById(id).orElseThrow(AssertionError::new).getGrid()));
+        }
+    }
+
+    @Test
+    void testUnresolvedDeltaIsNotReadable() {
+        Board board = new Board();
+        board.setId(7L);
+        board.setKeyframeId(1L);
+        board.setStoredData(new byte[0]);
+
+        assertThrows(IllegalStateException.class, board::getGrid);
+    }
+
+    /**
+     * Runs an action with transaction synchronization active, then completes the
+     * transaction with the given status.
+     */
+    private static <T> T inTransaction(Supplier<T> action, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            T result = action.get();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), status);
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Board board(boolean[][] grid, int generation) {
+        Board board = new Board();
+        board.setGrid(grid);
+        board.setGeneration(generation);
+        return board;
+    }
+
+    private static boolean[][] copy(boolean[][] grid) {
+        boolean[][] copy = new boolean[grid.length][];
+        for (int row = 0; row < grid.length; row++) {
+            copy[row] = grid[row].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,182 @@
+package com.gameoflife.service;
+
+import com.gameoflife.exception.BoardProcessingException;
+import com.gameoflife.model.Board;
+import com.gameoflife.model.codec.CodecType;
+import com.gameoflife.repository.BoardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the write-behind BoardWriter against an embedded database.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BoardWriterTest {
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        boardRepository.deleteAll();
+    }
+
+    @Test
+    void testBoardsAreReadableBeforeAndAfterTheyAreWritten() throws Exception {
+        BoardWriter writer = startWriter();
+        List<Board> written = new ArrayList<>();
+        for (int generation = 0; generation < 120; generation++) {
+            Board board = writer.write(board(generation));
+            assertNotNull(board.getId());
+            written.add(board);
+            // Either still pending or already in the database
+            assertTrue(writer.findPending(board.getId()).isPresent() || boardRepository.existsById(board.getId()));
+        }
+        writer.stop();
+
+        assertEquals(0, writer.getPendingCount());
+        assertEquals(written.size(), boardRepository.count());
+        for (Board board : written) {
+            Board row = boardRepository.findById(board.getId()).orElseThrow(AssertionError::new);
+            assertEquals(board.getGeneration(), row.getGeneration());
+            assertEquals(7L, row.getParentId());
+            assertEquals(board.getGeneration() % 2 == 0, row.isFinalState());
+            assertEquals(CodecType.RAW, row.getCodec());
+            assertArrayEquals(board.getStoredData(), row.getStoredData());
+            assertNotNull(row.getCreatedAt());
+        }
+    }
+
+    @Test
+    void testReservedIdsDoNotCollideWithRepositoryInserts() throws Exception {
+        BoardWriter writer = startWriter();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(writer.write(board(i)).getId());
+            ids.add(boardRepository.save(board(i)).getId());
+        }
+        writer.stop();
+
+        assertEquals(120, ids.size());
+        assertEquals(120, boardRepository.count());
+    }
+
+    @Test
+    void testRolledBackBoardsAreNotWritten() throws Exception {
+        BoardWriter writer = startWriter();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long id = transaction.execute(status -> {
+            Board board = writer.write(board(1));
+            assertTrue(writer.findPending(board.getId()).isPresent());
+            status.setRollbackOnly();
+            return board.getId();
+        });
+        writer.stop();
+
+        assertFalse(writer.findPending(id).isPresent());
+        assertFalse(boardRepository.existsById(id));
+    }
+
+    @Test
+    void testBoardThatCannotBeWrittenIsKeptAndNewBoardsAreRefused() throws Exception {
+        BoardWriter writer = startWriter();
+        Board poison = board(0);
+        // Longer than the state_hash column
+        poison.setStateHash("x".repeat(65));
+        Long poisonId = writer.write(poison).getId();
+        List<Long> ids = new ArrayList<>();
+        for (int generation = 1; generation <= 5; generation++) {
+            ids.add(writer.write(board(generation)).getId());
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!writer.isFailing() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(writer.isFailing());
+        assertThrows(BoardProcessingException.class, () -> writer.write(board(6)));
+        // Boards of the failed batch are written around the bad one, which stays readable
+        assertEquals(1, writer.getPendingCount());
+        assertTrue(writer.findPending(poisonId).isPresent());
+        for (Long id : ids) {
+            assertTrue(boardRepository.existsById(id));
+        }
+
+        writer.stop();
+        assertFalse(boardRepository.existsById(poisonId));
+    }
+
+    @Test
+    void testStopWritesAroundABoardThatCannotBeWritten() throws Exception {
+        BoardWriter writer = new BoardWriter(boardRepository, new JdbcTemplate(dataSource), transactionManager,
+                true, 64, 8, 1000);
+        writer.start();
+        List<Long> ids = new ArrayList<>();
+        for (int generation = 0; generation < 40; generation++) {
+            Board board = board(generation);
+            if (generation == 5) {
+                board.setStateHash("x".repeat(65));
+            }
+            ids.add(writer.write(board).getId());
+        }
+        // The failed batch is still pending, waiting to be retried
+        writer.stop();
+
+        assertEquals(1, writer.getPendingCount());
+        assertEquals(39, boardRepository.count());
+        assertFalse(boardRepository.existsById(ids.get(5)));
+    }
+
+    @Test
+    void testSequenceMovesPastExistingRows() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // A row inserted while the table still had an identity column
+        jdbcTemplate.update("INSERT INTO boards (id, width, height, generation, final_state)"
+                + " VALUES (100000, 1, 1, 0, FALSE)");
+
+        BoardWriter writer = startWriter();
+        assertTrue(writer.write(board(0)).getId() > 100000);
+        writer.stop();
+    }
+
+    private BoardWriter startWriter() {
+        BoardWriter writer = new BoardWriter(boardRepository, new JdbcTemplate(dataSource), transactionManager,
+                true, 16, 8, 1000);
+        writer.start();
+        return writer;
+    }
+
+    private static Board board(int generation) {
+        Board board = new Board();
+        board.setWidth(8);
+        board.setHeight(2);
+        board.setStoredData(new byte[]{(byte) generation, 1});
+        board.setCodec(CodecType.RAW);
+        board.setParentId(7L);
+        board.setGeneration(generation);
+        board.setFinalState(generation % 2 == 0);
+        return board;
+    }
+}
@@ -0,0 +1,63 @@
+package com.gameoflife.service;
+
+import com.gameoflife.exception.UnknownEngineException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GameEngineRegistry.
+ */
+class GameEngineRegistryTest {
+
+    private final GameServiceImpl reference = new GameServiceImpl();
+    private final BitPackedGameServiceImpl bitPacked = new BitPackedGameServiceImpl();
+    private final SparseGameServiceImpl sparse = new SparseGameServiceImpl();
+    private final TileTrackingGameServiceImpl tileTracking = new TileTrackingGameServiceImpl(bitPacked);
+    private final HashLifeGameServiceImpl hashLife = new HashLifeGameServiceImpl(10_000);
+
+    private final List<GameService> engines = Arrays.asList(reference, bitPacked, sparse, tileTracking, hashLife);
+
+    @Test
+    void testSelectsCheapestSupportingEngine() {
+        GameEngineRegistry registry = new GameEngineRegistry(engines, GameEngineRegistry.AUTO);
+
+        // A single generation of a dense board
+        assertSame(bitPacked, registry.select(new EngineWorkload(256, 256, 30_000, 1, true), null));
+
+        // A nearly empty board
+        assertSame(sparse, registry.select(new EngineWorkload(1024, 1024, 50, 1, true), null));
+
+        // Many generations stepped one at a time
+        assertSame(tileTracking, registry.select(new EngineWorkload(256, 256, 30_000, 1000, true), null));
+
+        // A long jump where intermediate generations are not needed
+        assertSame(hashLife, registry.select(new EngineWorkload(256, 256, 30_000, 1_000_000, false), null));
+
+        // HashLife is never used when every generation is needed
+        assertNotSame(hashLife, registry.select(new EngineWorkload(256, 256, 30_000, 1_000_000, true), null));
+    }
+
+    @Test
+    void testRequestedEngineWins() {
+        GameEngineRegistry registry = new GameEngineRegistry(engines, "bit-packed");
+        EngineWorkload workload = new EngineWorkload(1024, 1024, 50, 1, true);
+
+        assertSame(bitPacked, registry.select(workload, null));
+        assertSame(bitPacked, registry.select(workload, "auto"));
+        assertSame(reference, registry.select(workload, "reference"));
+    }
+
+    @Test
+    void testUnknownEngine() {
+        GameEngineRegistry registry = new GameEngineRegistry(engines, GameEngineRegistry.AUTO);
+
+        assertThrows(UnknownEngineException.class,
+                () -> registry.select(new EngineWorkload(8, 8, 0, 1, true), "no-such-engine"));
+        assertThrows(UnknownEngineException.class, () -> new GameEngineRegistry(engines, "no-such-engine"));
+        assertEquals(5, registry.getEngineNames().size());
+    }
+}
@@ -1,8 +1,11 @@
 package com.gameoflife.service;
 
+import com.gameoflife.model.PackedGrid;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -14,7 +17,15 @@ class GameServiceTest {
 
     @BeforeEach
     void setUp() {
-        gameService = new GameServiceImpl();
+        gameService = createGameService();
+    }
+
+    /**
+     * Creates the implementation under test. Engine-specific test classes
+     * override this to run the same cases against another implementation.
+     */
+    protected GameService createGameService() {
+        return new GameServiceImpl();
     }
 
     @Test
@@ -151,4 +162,69 @@ class GameServiceTest {
         // Edge cell has 2 neighbors
         assertEquals(2, gameService.countLiveNeighbors(grid, 0, 1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testComputeIntoBufferReportsChanges() {
+        // A block is stable, so nothing changes
+        boolean[][] block = new boolean[4][4];
+        block[1][1] = true;
+        block[1][2] = true;
+        block[2][1] = true;
+        block[2][2] = true;
+
+        boolean[][] buffer = new boolean[4][4];
+        assertFalse(gameService.computeNextGeneration(block, buffer));
+        assertArrayEquals(block, buffer);
+
+        // A blinker changes every generation; stale buffer contents are overwritten
+        boolean[][] blinker = new boolean[5][5];
+        blinker[2][1] = true;
+        blinker[2][2] = true;
+        blinker[2][3] = true;
+
+        buffer = new boolean[5][5];
+        buffer[0][0] = true;
+        assertTrue(gameService.computeNextGeneration(blinker, buffer));
+        assertArrayEquals(gameService.computeNextGeneration(blinker), buffer);
+    }
+
+    @Test
+    void testSimulationCountsPopulation() {
+        boolean[][] glider = new boolean[8][8];
+        glider[0][1] = glider[1][2] = glider[2][0] = glider[2][1] = glider[2][2] = true;
+
+        Simulation buffered = gameService.startSimulation(glider);
+        Simulation packed = new BitPackedGameServiceImpl().startSimulation(PackedGrid.fromGrid(glider));
+        for (int generation = 0; generation < 4; generation++) {
+            assertEquals(5, buffered.population());
+            assertEquals(5, packed.population());
+            buffered.step();
+            packed.step();
+        }
+    }
+
+    @Test
+    void testMatchesReferenceOnRandomBoards() {
+        // Widths around word boundaries exercise the edge handling of packed engines
+        int[][] sizes = {{1, 1}, {1, 70}, {3, 63}, {5, 64}, {7, 65}, {17, 130}, {40, 200}};
+        GameService reference = new GameServiceImpl();
+        Random random = new Random(42);
+
+        for (int[] size : sizes) {
+            boolean[][] expected = new boolean[size[0]][size[1]];
+            for (boolean[] row : expected) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] = random.nextInt(3) == 0;
+                }
+            }
+            boolean[][] actual = expected;
+
+            for (int generation = 0; generation < 8; generation++) {
+                expected = reference.computeNextGeneration(expected);
+                actual = gameService.computeNextGeneration(actual);
+                assertArrayEquals(expected, actual,
+                        "Mismatch at generation " + generation + " for " + size[0] + "x" + size[1]);
+            }
+        }
+    }
+}
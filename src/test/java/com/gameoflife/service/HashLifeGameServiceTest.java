@@ -0,0 +1,90 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the GameService test cases against the HashLife engine and checks
+ * multi-generation jumps against the bit-packed engine.
+ */
+class HashLifeGameServiceTest extends GameServiceTest {
+
+    @Override
+    protected GameService createGameService() {
+        return new HashLifeGameServiceImpl(100_000);
+    }
+
+    @Test
+    void testJumpsMatchStepByStep() {
+        HashLifeGameServiceImpl hashLife = new HashLifeGameServiceImpl(100_000);
+        BitPackedGameServiceImpl reference = new BitPackedGameServiceImpl();
+        Random random = new Random(7);
+
+        int[][] sizes = {{5, 9}, {20, 33}, {64, 64}, {37, 100}};
+        for (int[] size : sizes) {
+            PackedGrid start = randomGrid(size[1], size[0], random);
+            PackedGrid expected = start.copy();
+            PackedGrid scratch = new PackedGrid(start.getWidth(), start.getHeight());
+
+            int generation = 0;
+            for (int target : new int[]{1, 2, 3, 7, 16, 37, 100, 129}) {
+                while (generation < target) {
+                    reference.step(expected, scratch);
+                    expected.copyFrom(scratch);
+                    generation++;
+                }
+                assertEquals(expected, hashLife.advance(start, target),
+                        "Mismatch after " + target + " generations for " + size[0] + "x" + size[1]);
+            }
+        }
+    }
+
+    @Test
+    void testGliderDiesAtBorder() {
+        HashLifeGameServiceImpl hashLife = new HashLifeGameServiceImpl(100_000);
+        PackedGrid glider = new PackedGrid(8, 8);
+        glider.set(0, 1, true);
+        glider.set(1, 2, true);
+        glider.set(2, 0, true);
+        glider.set(2, 1, true);
+        glider.set(2, 2, true);
+
+        // On a bounded board the glider turns into a block in the corner
+        PackedGrid result = hashLife.advance(glider, 1_000_000);
+        assertEquals(4, result.population());
+        assertTrue(result.get(6, 6));
+        assertTrue(result.get(7, 7));
+    }
+
+    @Test
+    void testCacheIsCollectedWhenFull() {
+        HashLifeGameServiceImpl hashLife = new HashLifeGameServiceImpl(500);
+        BitPackedGameServiceImpl reference = new BitPackedGameServiceImpl();
+        PackedGrid start = randomGrid(50, 50, new Random(3));
+
+        PackedGrid expected = start.copy();
+        PackedGrid scratch = new PackedGrid(50, 50);
+        for (int i = 0; i < 77; i++) {
+            reference.step(expected, scratch);
+            expected.copyFrom(scratch);
+        }
+
+        assertEquals(expected, hashLife.advance(start, 77));
+        assertTrue(hashLife.getStats().getEvictedNodes() > 0);
+        assertTrue(hashLife.getStats().getCacheHits() > 0);
+    }
+
+    private static PackedGrid randomGrid(int width, int height, Random random) {
+        PackedGrid grid = new PackedGrid(width, height);
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                grid.set(row, col, random.nextInt(3) == 0);
+            }
+        }
+        return grid;
+    }
+}
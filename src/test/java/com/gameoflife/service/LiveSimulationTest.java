@@ -0,0 +1,124 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LiveSimulation.
+ */
+class LiveSimulationTest {
+
+    private final GameService engine = new BitPackedGameServiceImpl();
+
+    @Test
+    void testStillLifeIsFinalAfterOneGeneration() {
+        boolean[][] block = {
+                {false, false, false, false},
+                {false, true, true, false},
+                {false, true, true, false},
+                {false, false, false, false}
+        };
+        LiveSimulation simulation = new LiveSimulation(7L, 3, engine, PackedGrid.fromGrid(block), false, 100);
+
+        assertTrue(simulation.step());
+        assertEquals(4, simulation.getGeneration());
+        assertTrue(simulation.isFinalState());
+        assertEquals(1, simulation.getPeriod());
+        assertTrue(simulation.getState().matches(block));
+        assertFalse(simulation.step());
+        assertEquals(4, simulation.getGeneration());
+    }
+
+    @Test
+    void testOscillatorIsFinalOnceItsCycleIsDetected() {
+        boolean[][] blinker = new boolean[5][5];
+        blinker[2][1] = blinker[2][2] = blinker[2][3] = true;
+        LiveSimulation simulation = new LiveSimulation(1L, 0, engine, PackedGrid.fromGrid(blinker), false, 100);
+
+        while (simulation.step()) {
+            assertEquals(simulation.isFinalState(), simulation.isFinished());
+        }
+        assertTrue(simulation.isFinalState());
+        assertEquals(2, simulation.getPeriod());
+        // Within a few periods of the start of the cycle
+        assertTrue(simulation.getGeneration() <= 4, "detected at " + simulation.getGeneration());
+        assertEquals(simulation.getGeneration() % 2 == 0, simulation.getState().matches(blinker));
+    }
+
+    @Test
+    void testTransientBeforeTheCycleIsSteppedThrough() {
+        // An R-pentomino on a small board settles after a transient of many generations
+        boolean[][] grid = new boolean[16][16];
+        grid[7][8] = grid[7][9] = grid[8][7] = grid[8][8] = grid[9][8] = true;
+        LiveSimulation simulation = new LiveSimulation(1L, 0, engine, PackedGrid.fromGrid(grid), false, 10_000);
+
+        PackedGrid previous = simulation.getState().copy();
+        int changes = 0;
+        while (simulation.step()) {
+            if (!simulation.getState().equals(previous)) {
+                changes++;
+            }
+            previous = simulation.getState().copy();
+        }
+        assertTrue(simulation.isFinalState());
+        assertTrue(changes > 2, "changed " + changes + " times");
+        assertNotNull(simulation.getPeriod());
+    }
+
+    @Test
+    void testStopsAtTheGenerationLimit() {
+        boolean[][] blinker = new boolean[5][5];
+        blinker[2][1] = blinker[2][2] = blinker[2][3] = true;
+        LiveSimulation simulation = new LiveSimulation(1L, 10, engine, PackedGrid.fromGrid(blinker), false, 1);
+
+        assertTrue(simulation.step());
+        assertFalse(simulation.step());
+        assertEquals(11, simulation.getGeneration());
+        assertTrue(simulation.isFinished());
+        assertFalse(simulation.isFinalState());
+        assertNull(simulation.getPeriod());
+    }
+
+    @Test
+    void testFinalBoardDoesNotStep() {
+        LiveSimulation simulation = new LiveSimulation(1L, 5, engine, new PackedGrid(4, 4), true, 100);
+
+        assertTrue(simulation.isFinished());
+        assertFalse(simulation.step());
+        assertEquals(5, simulation.getGeneration());
+    }
+
+    @Test
+    void testEditedCellsRestartTheSimulation() {
+        LiveSimulation simulation = new LiveSimulation(1L, 0, engine, new PackedGrid(5, 5), false, 100);
+        assertTrue(simulation.step());
+        assertTrue(simulation.isFinished());
+
+        assertEquals(3, simulation.setCells(new int[][] {{2, 1}, {2, 2}, {2, 3}, {2, 3}}, true));
+        assertEquals(1, simulation.getGeneration());
+        assertFalse(simulation.isFinalState());
+        assertNull(simulation.getPeriod());
+        assertEquals(3, simulation.getState().population());
+
+        while (simulation.step()) {
+            // Runs until the blinker's cycle is detected
+        }
+        assertTrue(simulation.isFinalState());
+        assertEquals(2, simulation.getPeriod());
+
+        assertEquals(0, simulation.setCells(new int[][] {{0, 0}}, false));
+        assertTrue(simulation.isFinalState());
+    }
+
+    @Test
+    void testCellOutsideTheBoardIsRejected() {
+        LiveSimulation simulation = new LiveSimulation(1L, 0, engine, new PackedGrid(5, 4), false, 100);
+
+        assertThrows(IllegalArgumentException.class, () -> simulation.setCells(new int[][] {{4, 0}}, true));
+        assertThrows(IllegalArgumentException.class, () -> simulation.setCells(new int[][] {{0, 5}}, true));
+        assertThrows(IllegalArgumentException.class, () -> simulation.setCells(new int[][] {{1}}, true));
+        assertEquals(0, simulation.getState().population());
+    }
+}
@@ -0,0 +1,46 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the GameService test cases against the lookup-table engine.
+ */
+class LookupTableGameServiceTest extends GameServiceTest {
+
+    @Override
+    protected GameService createGameService() {
+        return new LookupTableGameServiceImpl();
+    }
+
+    @Test
+    void testStepAcrossWordBoundaryWithOddDimensions() {
+        LookupTableGameServiceImpl engine = new LookupTableGameServiceImpl();
+
+        // A blinker on the word boundary of a board with odd width and height
+        PackedGrid blinker = new PackedGrid(129, 5);
+        blinker.set(2, 63, true);
+        blinker.set(2, 64, true);
+        blinker.set(2, 65, true);
+
+        PackedGrid next = new PackedGrid(129, 5);
+        assertTrue(engine.step(blinker, next));
+        assertTrue(next.get(1, 64));
+        assertTrue(next.get(2, 64));
+        assertTrue(next.get(3, 64));
+        assertEquals(3, next.population());
+
+        // A block in the bottom-right corner is a still life
+        PackedGrid block = new PackedGrid(129, 5);
+        block.set(3, 127, true);
+        block.set(3, 128, true);
+        block.set(4, 127, true);
+        block.set(4, 128, true);
+
+        next = new PackedGrid(129, 5);
+        assertFalse(engine.step(block, next));
+        assertEquals(block, next);
+    }
+}
@@ -0,0 +1,53 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the GameService test cases against the parallel engine. The threshold
+ * is set to zero so that even the small test boards are split into bands.
+ */
+class ParallelGameServiceTest extends GameServiceTest {
+
+    private ParallelGameServiceImpl engine;
+
+    @Override
+    protected GameService createGameService() {
+        engine = new ParallelGameServiceImpl(new BitPackedGameServiceImpl(), 0, 4);
+        return engine;
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void testParallelStepMatchesSingleThreaded() {
+        BitPackedGameServiceImpl reference = new BitPackedGameServiceImpl();
+        Random random = new Random(11);
+
+        PackedGrid current = new PackedGrid(300, 517);
+        for (int row = 0; row < current.getHeight(); row++) {
+            for (int col = 0; col < current.getWidth(); col++) {
+                current.set(row, col, random.nextInt(4) == 0);
+            }
+        }
+
+        PackedGrid expected = new PackedGrid(300, 517);
+        PackedGrid actual = new PackedGrid(300, 517);
+        for (int generation = 0; generation < 20; generation++) {
+            boolean expectedChanged = reference.step(current, expected);
+            boolean actualChanged = engine.step(current, actual);
+
+            assertEquals(expected, actual, "Mismatch at generation " + generation);
+            assertEquals(expectedChanged, actualChanged);
+            current.copyFrom(expected);
+        }
+    }
+}
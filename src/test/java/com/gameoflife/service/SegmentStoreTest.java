@@ -0,0 +1,103 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.Board;
+import com.gameoflife.model.MappedGrid;
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the memory-mapped SegmentStore.
+ */
+class SegmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOnlyLargeBoardsAreMapped() {
+        SegmentStore store = new SegmentStore(directory.toString(), 1000, 1 << 20);
+        assertFalse(store.isMapped(10, 10));
+        assertTrue(store.isMapped(100, 10));
+        assertFalse(new SegmentStore(directory.toString(), 0, 1 << 20).isMapped(10_000, 10_000));
+    }
+
+    @Test
+    void testRegionsArePageAlignedAndRollOverToNewSegments() {
+        // A 128x128 board takes 2 KiB, so two fit in each 8 KiB segment
+        SegmentStore store = new SegmentStore(directory.toString(), 1, 2 * SegmentStore.PAGE_SIZE);
+        Board[] boards = new Board[5];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = board(128, 128);
+            store.allocate(boards[i]).copyFrom(state(128, 128, i));
+        }
+
+        assertEquals(1, boards[0].getSegmentId());
+        assertEquals(0L, boards[0].getSegmentOffset());
+        assertEquals(1, boards[1].getSegmentId());
+        assertEquals(SegmentStore.PAGE_SIZE, boards[1].getSegmentOffset());
+        assertEquals(2, boards[2].getSegmentId());
+        assertEquals(0L, boards[2].getSegmentOffset());
+        assertEquals(3, boards[4].getSegmentId());
+        assertTrue(Files.exists(directory.resolve("segment-000003.seg")));
+
+        // Mapping a region again sees what was written
+        for (int i = 0; i < boards.length; i++) {
+            assertEquals(state(128, 128, i), store.map(boards[i]).toPackedGrid());
+        }
+        store.close();
+    }
+
+    @Test
+    void testRestartContinuesAfterTheLastSegment() {
+        SegmentStore store = new SegmentStore(directory.toString(), 1, 1 << 20);
+        Board first = board(100, 50);
+        store.allocate(first).copyFrom(state(100, 50, 1));
+        first.getMappedState().force();
+        store.close();
+
+        SegmentStore restarted = new SegmentStore(directory.toString(), 1, 1 << 20);
+        Board second = board(100, 50);
+        restarted.allocate(second);
+        assertEquals(first.getSegmentId(), second.getSegmentId());
+        assertEquals(SegmentStore.PAGE_SIZE, second.getSegmentOffset());
+        assertEquals(state(100, 50, 1), restarted.map(first).toPackedGrid());
+        restarted.close();
+    }
+
+    @Test
+    void testScratchRegionsLeaveNoFiles() throws Exception {
+        SegmentStore store = new SegmentStore(directory.toString(), 1, 1 << 20);
+        MappedGrid scratch = store.scratch(64, 64);
+        scratch.copyFrom(state(64, 64, 3));
+
+        assertEquals(state(64, 64, 3), scratch.toPackedGrid());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static Board board(int width, int height) {
+        Board board = new Board();
+        board.setWidth(width);
+        board.setHeight(height);
+        return board;
+    }
+
+    /**
+     * A diagonal line starting at the given column.
+     */
+    private static PackedGrid state(int width, int height, int offset) {
+        PackedGrid grid = new PackedGrid(width, height);
+        for (int row = 0; row < height; row++) {
+            grid.set(row, (row + offset) % width, true);
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,104 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.LiveCellSet;
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the GameService test cases against the sparse live-cell engine.
+ */
+class SparseGameServiceTest extends GameServiceTest {
+
+    @Override
+    protected GameService createGameService() {
+        return new SparseGameServiceImpl();
+    }
+
+    @Test
+    void testGliderOnHugeBoard() {
+        SparseGameServiceImpl engine = new SparseGameServiceImpl();
+
+        // 100k x 100k would be 10 billion cells as a boolean grid
+        int size = 100_000;
+        LiveCellSet live = new LiveCellSet();
+        live.add(50_000, 50_001);
+        live.add(50_001, 50_002);
+        live.add(50_002, 50_000);
+        live.add(50_002, 50_001);
+        live.add(50_002, 50_002);
+
+        // A glider moves one cell diagonally every four generations
+        for (int i = 0; i < 400; i++) {
+            live = engine.step(live, size, size);
+        }
+
+        LiveCellSet expected = new LiveCellSet();
+        expected.add(50_100, 50_101);
+        expected.add(50_101, 50_102);
+        expected.add(50_102, 50_100);
+        expected.add(50_102, 50_101);
+        expected.add(50_102, 50_102);
+        assertEquals(expected, live);
+    }
+
+    @Test
+    void testCellsAtBoardEdge() {
+        SparseGameServiceImpl engine = new SparseGameServiceImpl();
+
+        // A blinker on the last row loses its out-of-board half
+        LiveCellSet live = new LiveCellSet();
+        live.add(9, 3);
+        live.add(9, 4);
+        live.add(9, 5);
+
+        LiveCellSet next = engine.step(live, 10, 10);
+        assertEquals(2, next.size());
+        assertTrue(next.contains(8, 4));
+        assertTrue(next.contains(9, 4));
+    }
+
+    @Test
+    void testSimulationMatchesReference() {
+        Random random = new Random(7);
+        boolean[][] expected = new boolean[20][70];
+        for (boolean[] row : expected) {
+            for (int col = 0; col < row.length; col++) {
+                row[col] = random.nextInt(4) == 0;
+            }
+        }
+        GameService reference = new GameServiceImpl();
+        Simulation simulation = new SparseGameServiceImpl().startSimulation(PackedGrid.fromGrid(expected));
+
+        for (int generation = 0; generation < 40; generation++) {
+            boolean[][] next = reference.computeNextGeneration(expected);
+            assertEquals(!Arrays.deepEquals(expected, next), simulation.step());
+            expected = next;
+
+            // Every other generation runs without materializing the board
+            if (generation % 2 == 1) {
+                PackedGrid state = simulation.getPackedState();
+                assertTrue(state.matches(expected), "Mismatch at generation " + generation);
+                assertArrayEquals(expected, simulation.getState());
+                assertEquals(state.population(), simulation.population());
+                assertTrue(simulation.matches(simulation.snapshot()));
+            }
+        }
+    }
+
+    @Test
+    void testStillLifeReportsNoChange() {
+        boolean[][] block = new boolean[4][4];
+        block[1][1] = block[1][2] = block[2][1] = block[2][2] = true;
+        Simulation simulation = new SparseGameServiceImpl().startSimulation(PackedGrid.fromGrid(block));
+
+        long fingerprint = simulation.fingerprint();
+        assertFalse(simulation.step());
+        assertEquals(fingerprint, simulation.fingerprint());
+        assertEquals(1, simulation.getStepCount());
+    }
+}
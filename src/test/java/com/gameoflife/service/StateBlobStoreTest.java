@@ -0,0 +1,95 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.Board;
+import com.gameoflife.model.codec.CodecType;
+import com.gameoflife.model.codec.EncodedState;
+import com.gameoflife.repository.BoardRepository;
+import com.gameoflife.repository.StateBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the StateBlobStore against an embedded database.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StateBlobStoreTest {
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private StateBlobRepository stateBlobRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StateBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        boardRepository.deleteAll();
+        stateBlobRepository.deleteAll();
+        store = new StateBlobStore(stateBlobRepository, new JdbcTemplate(dataSource), transactionManager);
+    }
+
+    @Test
+    void testIdenticalPayloadsShareOneBlob() {
+        String first = store.acquire(new EncodedState(CodecType.RLE, new byte[] {3, 4}));
+        String second = store.acquire(new EncodedState(CodecType.RLE, new byte[] {3, 4}));
+
+        assertEquals(first, second);
+        assertEquals(1, stateBlobRepository.count());
+        assertArrayEquals(new byte[] {3, 4}, store.load(first).getData());
+    }
+
+    @Test
+    void testBlobOfARolledBackRequestIsDeletedAtStartup() {
+        String kept = store.acquire(new EncodedState(CodecType.RLE, new byte[] {1}));
+        Board board = new Board();
+        board.setWidth(8);
+        board.setHeight(1);
+        board.setStateHash(kept);
+        board.setCodec(CodecType.RLE);
+        boardRepository.save(board);
+
+        // The blob is inserted in its own transaction and outlives the request's
+        TransactionTemplate request = new TransactionTemplate(transactionManager);
+        String orphan = request.execute(status -> {
+            status.setRollbackOnly();
+            return store.acquire(new EncodedState(CodecType.RLE, new byte[] {2}));
+        });
+        assertTrue(stateBlobRepository.existsById(orphan));
+
+        store.start();
+
+        assertTrue(stateBlobRepository.existsById(kept));
+        assertFalse(stateBlobRepository.existsById(orphan));
+    }
+
+    @Test
+    void testReferenceCountOfOlderDatabasesIsDropped() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("ALTER TABLE state_blobs ADD COLUMN ref_count BIGINT NOT NULL DEFAULT 0");
+        jdbcTemplate.execute("ALTER TABLE state_blobs ALTER COLUMN ref_count DROP DEFAULT");
+
+        store.start();
+
+        String hash = store.acquire(new EncodedState(CodecType.RAW, new byte[] {7}));
+        assertTrue(stateBlobRepository.existsById(hash));
+    }
+}
@@ -0,0 +1,34 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the content digests of board states.
+ */
+class StateDigestTest {
+
+    @Test
+    void testEqualStatesHaveEqualDigests() {
+        PackedGrid grid = new PackedGrid(300, 200);
+        grid.set(150, 299, true);
+        PackedGrid copy = grid.copy();
+
+        assertEquals(StateDigest.of(grid), StateDigest.of(copy));
+        assertEquals(StateDigest.of(grid).hashCode(), StateDigest.of(copy).hashCode());
+        assertEquals(64, StateDigest.of(grid).toString().length());
+    }
+
+    @Test
+    void testDigestCoversCellsAndDimensions() {
+        PackedGrid grid = new PackedGrid(300, 200);
+        PackedGrid changed = grid.copy();
+        changed.set(199, 0, true);
+
+        assertNotEquals(StateDigest.of(grid), StateDigest.of(changed));
+        // Same (empty) words, different shape
+        assertNotEquals(StateDigest.of(new PackedGrid(64, 2)), StateDigest.of(new PackedGrid(128, 1)));
+    }
+}
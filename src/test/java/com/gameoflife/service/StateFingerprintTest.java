@@ -0,0 +1,47 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StateFingerprint.
+ */
+class StateFingerprintTest {
+
+    @Test
+    void testBooleanAndPackedGridsAgree() {
+        Random random = new Random(7);
+        int[][] sizes = {{1, 1}, {3, 5}, {64, 2}, {65, 3}, {130, 9}};
+
+        for (int[] size : sizes) {
+            boolean[][] grid = new boolean[size[1]][size[0]];
+            for (boolean[] row : grid) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] = random.nextBoolean();
+                }
+            }
+            assertEquals(StateFingerprint.of(PackedGrid.fromGrid(grid)), StateFingerprint.of(grid));
+        }
+    }
+
+    @Test
+    void testFingerprintDependsOnCellsAndDimensions() {
+        boolean[][] grid = new boolean[8][8];
+        long empty = StateFingerprint.of(grid);
+
+        grid[3][4] = true;
+        long single = StateFingerprint.of(grid);
+        assertNotEquals(empty, single);
+
+        grid[3][4] = false;
+        grid[4][3] = true;
+        assertNotEquals(single, StateFingerprint.of(grid));
+
+        // Empty boards of different shapes with the same word count
+        assertNotEquals(StateFingerprint.of(new boolean[2][10]), StateFingerprint.of(new boolean[2][20]));
+    }
+}
@@ -0,0 +1,72 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the GameService test cases against the tile-tracking engine and checks
+ * that skipping quiescent tiles never changes the result.
+ */
+class TileTrackingGameServiceTest extends GameServiceTest {
+
+    @Override
+    protected GameService createGameService() {
+        return new TileTrackingGameServiceImpl(new BitPackedGameServiceImpl());
+    }
+
+    @Test
+    void testSimulationMatchesFullRecompute() {
+        TileTrackingGameServiceImpl engine = new TileTrackingGameServiceImpl(new BitPackedGameServiceImpl());
+        BitPackedGameServiceImpl reference = new BitPackedGameServiceImpl();
+
+        // A dense soup in one corner of a mostly empty board settles over time
+        PackedGrid expected = new PackedGrid(300, 200);
+        Random random = new Random(5);
+        for (int row = 0; row < 60; row++) {
+            for (int col = 0; col < 90; col++) {
+                expected.set(row, col, random.nextBoolean());
+            }
+        }
+
+        TileTrackingGameServiceImpl.TileSimulation simulation = engine.startSimulation(expected);
+        PackedGrid scratch = new PackedGrid(300, 200);
+
+        for (int generation = 1; generation <= 300; generation++) {
+            boolean expectedChanged = reference.step(expected, scratch);
+            expected.copyFrom(scratch);
+
+            assertEquals(expectedChanged, simulation.step());
+            assertEquals(expected, simulation.getPackedState(), "Mismatch at generation " + generation);
+        }
+        assertTrue(simulation.getTotalSkippedTiles() > 0);
+    }
+
+    @Test
+    void testQuiescentTilesAreSkipped() {
+        TileTrackingGameServiceImpl engine = new TileTrackingGameServiceImpl(new BitPackedGameServiceImpl());
+
+        // A single blinker in the middle of a 10x10 tile board
+        boolean[][] grid = new boolean[640][640];
+        grid[320][319] = true;
+        grid[320][320] = true;
+        grid[320][321] = true;
+
+        Simulation simulation = engine.startSimulation(grid);
+        simulation.step();
+        simulation.step();
+
+        TileTrackingGameServiceImpl.TileSimulation tiles = (TileTrackingGameServiceImpl.TileSimulation) simulation;
+        assertEquals(100, tiles.getTileCount());
+
+        // Only the tiles touched by the blinker (and their neighbors) are recomputed
+        assertTrue(tiles.getLastSkippedTiles() >= 100 - 16);
+        assertTrue(simulation.getState()[320][319]);
+        assertTrue(simulation.getState()[320][320]);
+        assertTrue(simulation.getState()[320][321]);
+        assertFalse(simulation.getState()[319][320]);
+    }
+}
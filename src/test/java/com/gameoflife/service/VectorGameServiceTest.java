@@ -0,0 +1,66 @@
+package com.gameoflife.service;
+
+import com.gameoflife.model.PackedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the GameService test cases against the Vector API engine.
+ */
+class VectorGameServiceTest extends GameServiceTest {
+
+    @Override
+    protected GameService createGameService() {
+        return new VectorGameServiceImpl(new BitPackedGameServiceImpl());
+    }
+
+    @Test
+    void testVectorModuleIsEnabledForTests() {
+        assertTrue(new VectorGameServiceImpl(new BitPackedGameServiceImpl()).isVectorized());
+    }
+
+    @Test
+    void testMatchesBitPackedKernelOnWideBoards() {
+        BitPackedGameServiceImpl bitPacked = new BitPackedGameServiceImpl();
+        VectorGameServiceImpl vector = new VectorGameServiceImpl(bitPacked);
+        VectorGameServiceImpl fallback = new VectorGameServiceImpl(bitPacked, false);
+        Random random = new Random(11);
+
+        // Widths around multiples of the vector length, with and without a partial last word
+        for (int width : new int[]{64, 500, 1024, 1100, 2049}) {
+            PackedGrid grid = new PackedGrid(width, 9);
+            for (int row = 0; row < grid.getHeight(); row++) {
+                for (int col = 0; col < width; col++) {
+                    grid.set(row, col, random.nextInt(3) == 0);
+                }
+            }
+
+            PackedGrid expected = new PackedGrid(width, 9);
+            PackedGrid actual = new PackedGrid(width, 9);
+            PackedGrid scalar = new PackedGrid(width, 9);
+            assertEquals(bitPacked.step(grid, expected), vector.step(grid, actual));
+            assertEquals(expected, actual);
+            fallback.step(grid, scalar);
+            assertEquals(expected, scalar);
+        }
+    }
+
+    @Test
+    void testReportsNoChangeForStillLife() {
+        VectorGameServiceImpl vector = new VectorGameServiceImpl(new BitPackedGameServiceImpl());
+
+        // A block in the middle of a row that is processed by vector lanes
+        PackedGrid block = new PackedGrid(2048, 4);
+        block.set(1, 1000, true);
+        block.set(1, 1001, true);
+        block.set(2, 1000, true);
+        block.set(2, 1001, true);
+
+        PackedGrid next = new PackedGrid(2048, 4);
+        assertFalse(vector.step(block, next));
+        assertEquals(block, next);
+    }
+}